@@ -1843,6 +1843,10 @@ public class C extends ANY
   {
     var res = _fuir.clazzResultClazz(cl);
     var resultType = _types.resultClazz(res);
+    if (_fuir.clazzIsInlineCandidate(cl))
+      {
+        resultType = "static inline " + resultType;
+      }
     var argts = new List<String>();
     var argns = new List<CIdent>();
     var or = _fuir.clazzOuterRef(cl);
@@ -256,6 +256,22 @@ public class Boxed extends ValueWithClazz
   }
 
 
+  /**
+   * Load a value of numeric or bool type at the given offset within this
+   * without creating an LValue.
+   *
+   * @param c the clazz of the value, must be numeric or bool
+   *
+   * @param off the offset of the value within this
+   *
+   * @return the loaded value, see Interpreter.loadScalar
+   */
+  public Value scalarAt(int c, int off)
+  {
+    return _contents.scalarAt(c, off);
+  }
+
+
   /**
    * toString
    *
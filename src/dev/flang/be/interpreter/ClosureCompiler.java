@@ -0,0 +1,1220 @@
+/*
+
+This file is part of the Fuzion language implementation.
+
+The Fuzion language implementation is free software: you can redistribute it
+and/or modify it under the terms of the GNU General Public License as published
+by the Free Software Foundation, version 3 of the License.
+
+The Fuzion language implementation is distributed in the hope that it will be
+useful, but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public
+License for more details.
+
+You should have received a copy of the GNU General Public License along with The
+Fuzion language implementation.  If not, see <https://www.gnu.org/licenses/>.
+
+*/
+
+/*-----------------------------------------------------------------------
+ *
+ * Tokiwa Software GmbH, Germany
+ *
+ * Source of class ClosureCompiler
+ *
+ *---------------------------------------------------------------------*/
+
+package dev.flang.be.interpreter;
+
+import static dev.flang.ir.IR.NO_CLAZZ;
+import static dev.flang.ir.IR.NO_SITE;
+
+import java.util.Arrays;
+import java.util.Stack;
+
+import dev.flang.fuir.FUIR;
+import dev.flang.fuir.SpecialClazzes;
+import dev.flang.fuir.analysis.AbstractInterpreter;
+import dev.flang.fuir.analysis.TailCall;
+
+import dev.flang.ir.IR.FeatureKind;
+
+import dev.flang.util.ANY;
+import dev.flang.util.Errors;
+import dev.flang.util.List;
+
+
+/**
+ * ClosureCompiler translates the FUIR code of a clazz into a tree of Nodes
+ * that have all FUIR lookups resolved at compile time.  The code of a clazz is
+ * compiled lazily on its first call and cached, further calls execute the
+ * Nodes directly instead of walking the sites again using an
+ * AbstractInterpreter.
+ *
+ * FUIR code is stack based while Nodes form a tree that is evaluated when the
+ * value is consumed.  To preserve the evaluation order, values that are still
+ * on the stack when an expression with side-effects is compiled are spilled
+ * into temporary slots of the Frame first.
+ */
+public class ClosureCompiler extends ANY
+{
+
+
+  /*-----------------------------  classes  -----------------------------*/
+
+
+  /**
+   * Frame holds the state of one execution of the code of a clazz.
+   */
+  static final class Frame
+  {
+    /**
+     * The current instance.
+     */
+    Instance _cur;
+
+    /**
+     * The outer instance, the target of the call.
+     */
+    Value _outer;
+
+    /**
+     * The actual arguments of the call.
+     */
+    List<Value> _args;
+
+    /**
+     * Temporary slots for spilled values.
+     */
+    final Value[] _temps;
+
+    /**
+     * Set by a self tail call after _outer and _args were replaced by the
+     * target and the arguments of that call.  No further code is executed in
+     * this frame until the code is restarted.
+     */
+    boolean _tailCall;
+
+    Frame(Instance cur, Value outer, List<Value> args, int temps)
+    {
+      _cur = cur;
+      _outer = outer;
+      _args = args;
+      _temps = temps == 0 ? NO_TEMPS : new Value[temps];
+    }
+  }
+
+
+  /**
+   * Code is the result of compiling the code of one clazz.
+   */
+  static final class Code
+  {
+    /**
+     * The compiled code.
+     */
+    final Node _body;
+
+    /**
+     * The number of temporary slots required in a Frame to execute _body.
+     */
+    final int _temps;
+
+    Code(Node body, int temps)
+    {
+      _body = body;
+      _temps = temps;
+    }
+  }
+
+
+  /**
+   * Node is a compiled expression.
+   *
+   * All fields of Nodes are final such that Code that is compiled by one
+   * thread may safely be used by another one.
+   */
+  static abstract class Node extends ANY
+  {
+
+    /**
+     * Execute this Node.
+     *
+     * @param f the frame of the current call
+     *
+     * @return the value produced by this Node, null if this Node does not
+     * produce a value.
+     */
+    abstract Value execute(Frame f);
+
+    /**
+     * Is this Node free of side-effects and does it produce an equivalent
+     * value independent of the point in time it is executed?  Only pure Nodes
+     * may remain on the stack while code with side-effects is compiled.
+     */
+    boolean isPure()
+    {
+      return false;
+    }
+  }
+
+
+  /**
+   * A sequence of Nodes executed for their side-effects.
+   */
+  static final class Block extends Node
+  {
+    final Node[] _nodes;
+    Block(List<Node> nodes)
+    {
+      _nodes = nodes.toArray(new Node[nodes.size()]);
+    }
+    Value execute(Frame f)
+    {
+      for (var n : _nodes)
+        {
+          n.execute(f);
+          if (f._tailCall)
+            {
+              break;
+            }
+        }
+      return null;
+    }
+  }
+
+
+  /**
+   * A constant value that can be shared, e.g., unit or an i32 constant.
+   */
+  static final class Constant extends Node
+  {
+    final Value _value;
+    Constant(Value v)
+    {
+      _value = v;
+    }
+    Value execute(Frame f)
+    {
+      return _value;
+    }
+    boolean isPure()
+    {
+      return true;
+    }
+  }
+
+
+  /**
+   * A constant that needs to be created freshly on every execution.
+   */
+  final class ConstData extends Node
+  {
+    final int _site;
+    final int _constCl;
+    final byte[] _data;
+    ConstData(int s, int constCl, byte[] d)
+    {
+      _site = s;
+      _constCl = constCl;
+      _data = d;
+    }
+    Value execute(Frame f)
+    {
+      return _executor.constData(_site, _constCl, _data).v0();
+    }
+    boolean isPure()
+    {
+      return true;
+    }
+  }
+
+
+  /**
+   * The current instance.
+   */
+  static final class Current extends Node
+  {
+    Value execute(Frame f)
+    {
+      return f._cur;
+    }
+    boolean isPure()
+    {
+      return true;
+    }
+  }
+
+
+  /**
+   * The outer instance.
+   */
+  static final class Outer extends Node
+  {
+    Value execute(Frame f)
+    {
+      return f._outer;
+    }
+    boolean isPure()
+    {
+      return true;
+    }
+  }
+
+
+  /**
+   * An actual argument.
+   */
+  static final class Arg extends Node
+  {
+    final int _i;
+    Arg(int i)
+    {
+      _i = i;
+    }
+    Value execute(Frame f)
+    {
+      return f._args.get(_i);
+    }
+    boolean isPure()
+    {
+      return true;
+    }
+  }
+
+
+  /**
+   * Read a temporary slot that was written by StoreTemp.
+   */
+  static final class LoadTemp extends Node
+  {
+    final int _i;
+    LoadTemp(int i)
+    {
+      _i = i;
+    }
+    Value execute(Frame f)
+    {
+      return f._temps[_i];
+    }
+    boolean isPure()
+    {
+      return true;
+    }
+  }
+
+
+  /**
+   * Evaluate a Node and store the result in a temporary slot.
+   */
+  static final class StoreTemp extends Node
+  {
+    final int _i;
+    final Node _value;
+    StoreTemp(int i, Node value)
+    {
+      _i = i;
+      _value = value;
+    }
+    Value execute(Frame f)
+    {
+      f._temps[_i] = _value.execute(f);
+      return null;
+    }
+  }
+
+
+  /**
+   * Box a value.
+   */
+  static final class Box extends Node
+  {
+    final int _vc, _rc;
+    final Node _value;
+    Box(int vc, int rc, Node value)
+    {
+      _vc = vc;
+      _rc = rc;
+      _value = value;
+    }
+    Value execute(Frame f)
+    {
+      var v = _value.execute(f);
+      return f._tailCall ? null : new Boxed(_rc, _vc, v);
+    }
+    boolean isPure()
+    {
+      return _value.isPure();
+    }
+  }
+
+
+  /**
+   * Tag a value to create a choice.
+   */
+  static final class Tag extends Node
+  {
+    final int _newcl, _tc, _tagNum;
+    final Node _value;
+    Tag(int newcl, int tc, int tagNum, Node value)
+    {
+      _newcl = newcl;
+      _tc = tc;
+      _tagNum = tagNum;
+      _value = value;
+    }
+    Value execute(Frame f)
+    {
+      return Interpreter.tag(_newcl, _tc, _value.execute(f), _tagNum);
+    }
+  }
+
+
+  /**
+   * Assign the value of a field of the current instance, used for the outer
+   * ref and argument fields in the prolog of a clazz' code.
+   */
+  static final class AssignStatic extends Node
+  {
+    final int _field, _cl;
+    final Node _value;
+    AssignStatic(int field, int cl, Node value)
+    {
+      _field = field;
+      _cl = cl;
+      _value = value;
+    }
+    Value execute(Frame f)
+    {
+      Interpreter.setField(_field, _cl, f._cur, _value.execute(f));
+      return null;
+    }
+  }
+
+
+  /**
+   * Assign a value to a field, the field may be accessed dynamically.
+   */
+  static final class Assign extends Node
+  {
+    final int _site, _tt, _cc;
+    final boolean _dynamic;
+    final Node _value, _target;
+    Assign(int s, boolean dynamic, int tt, int cc, Node value, Node target)
+    {
+      _site = s;
+      _dynamic = dynamic;
+      _tt = tt;
+      _cc = cc;
+      _value = value;
+      _target = target;
+    }
+    Value execute(Frame f)
+    {
+      var av = _value.execute(f);
+      if (f._tailCall)
+        {
+          return null;
+        }
+      var tv = _target.execute(f);
+      // NYI: better check clazz containing field is universe
+      if (tv == Value.UNIT)
+        {
+          tv = Executor.universe();
+        }
+      if (av != Value.UNIT)
+        {
+          var tt = _tt;
+          var cc = _cc;
+          if (_dynamic)
+            {
+              tt = ((ValueWithClazz)tv)._clazz;
+              cc = Executor.dynamicCallee(_site, tt);
+            }
+          Interpreter.setField(cc, tt, tv, av);
+        }
+      return null;
+    }
+  }
+
+
+  /**
+   * Parent of all calls, evaluates target and actual arguments.
+   */
+  static abstract class Call extends Node
+  {
+    final int _site;
+    final Node _target;
+    final Node[] _args;
+    Call(int s, Node target, Node[] args)
+    {
+      _site = s;
+      _target = target;
+      _args = args;
+    }
+    List<Value> args(Frame f)
+    {
+      var result = new List<Value>();
+      for (var a : _args)
+        {
+          result.add(a.execute(f));
+        }
+      return result;
+    }
+  }
+
+
+  /**
+   * A call to a routine.
+   */
+  final class RoutineCall extends Call
+  {
+    final int _cc, _rfc;
+    final boolean _unbox;
+    RoutineCall(int s, int cc, int rfc, boolean unbox, Node target, Node[] args)
+    {
+      super(s, target, args);
+      _cc = cc;
+      _rfc = rfc;
+      _unbox = unbox;
+    }
+    Value execute(Frame f)
+    {
+      var tv = _target.execute(f);
+      var args = args(f);
+      if (_unbox)
+        {
+          tv = ((Boxed)tv)._contents;
+        }
+      var cur = _executor.callOnNewInstance(_site, _cc, tv, args);
+      return _rfc == NO_CLAZZ ? cur : Interpreter.getField(_rfc, _cc, cur, false);
+    }
+  }
+
+
+  /**
+   * A tail call to the current routine.  Instead of performing a call, this
+   * stores target and arguments in the frame such that the code of the
+   * current routine is restarted by ClosureCompiler.execute.
+   */
+  static final class SelfTailCall extends Call
+  {
+    final boolean _unbox;
+    SelfTailCall(int s, boolean unbox, Node target, Node[] args)
+    {
+      super(s, target, args);
+      _unbox = unbox;
+    }
+    Value execute(Frame f)
+    {
+      var tv = _target.execute(f);
+      var args = args(f);
+      if (_unbox)
+        {
+          tv = ((Boxed)tv)._contents;
+        }
+      f._outer = tv;
+      f._args = args;
+      f._tailCall = true;
+      return null;
+    }
+  }
+
+
+  /**
+   * A read of a field.
+   */
+  final class FieldRead extends Call
+  {
+    final int _fc, _tt;
+    final boolean _unbox, _unitResult;
+    FieldRead(int s, int fc, int tt, boolean unbox, boolean unitResult, Node target)
+    {
+      super(s, target, NO_NODES);
+      _fc = fc;
+      _tt = tt;
+      _unbox = unbox;
+      _unitResult = unitResult;
+    }
+    Value execute(Frame f)
+    {
+      var tv = _target.execute(f);
+      var tt = _tt;
+      if (_unbox)
+        {
+          var b = (Boxed)tv;
+          tt = b._valueClazz;
+          tv = b._contents;
+        }
+      return _unitResult ? Value.UNIT
+                         : Interpreter.getField(_fc, tt, tt == _fuir.clazzUniverse() ? Executor.universe() : tv, false);
+    }
+  }
+
+
+  /**
+   * A call to an intrinsic.
+   */
+  final class IntrinsicCall extends Call
+  {
+    final int _cc;
+    final boolean _unbox;
+
+    /**
+     * The Callable for the intrinsic, determined on first execution since
+     * Intrinsics.call reports an error for unsupported intrinsics.
+     *
+     * Races are benign since any thread will determine the same result.
+     */
+    Callable _callable;
+
+    IntrinsicCall(int s, int cc, boolean unbox, Node target, Node[] args)
+    {
+      super(s, target, args);
+      _cc = cc;
+      _unbox = unbox;
+    }
+    Value execute(Frame f)
+    {
+      var tv = _target.execute(f);
+      var args = args(f);
+      if (_unbox)
+        {
+          tv = ((Boxed)tv)._contents;
+        }
+      var c = _callable;
+      if (c == null)
+        {
+          c = Intrinsics.call(_executor, _site, _cc);
+          _callable = c;
+        }
+      return c.call(new List<>(tv, args));
+    }
+  }
+
+
+  /**
+   * A call to a native feature.
+   */
+  static final class NativeCall extends Call
+  {
+    final int _cc0, _cc;
+    NativeCall(int s, int cc0, int cc, Node target, Node[] args)
+    {
+      super(s, target, args);
+      _cc0 = cc0;
+      _cc = cc;
+    }
+    Value execute(Frame f)
+    {
+      _target.execute(f);
+      return Executor.callNative(_cc0, _cc, args(f));
+    }
+  }
+
+
+  /**
+   * A call whose called clazz is determined at runtime.  This is also used
+   * for static calls of kinds not handled by any other Node.
+   */
+  final class ResolvingCall extends Call
+  {
+    final boolean _dynamic;
+    final int _tt, _cc, _cl;
+    ResolvingCall(int s, boolean dynamic, int tt, int cc, Node target, Node[] args)
+    {
+      super(s, target, args);
+      _dynamic = dynamic;
+      _tt = tt;
+      _cc = cc;
+      _cl = _fuir.clazzAt(s);
+    }
+    Value execute(Frame f)
+    {
+      var tv = _target.execute(f);
+      var args = args(f);
+      var tt = _tt;
+      var cc = _cc;
+      if (_dynamic)
+        {
+          tt = ((ValueWithClazz)tv)._clazz;
+          cc = Executor.dynamicCallee(_site, tt);
+        }
+      if (cc == _cl && _tailCall.callIsTailCall(_cl, _site))
+        {
+          f._outer = _fuir.clazzIsBoxed(tt) && !_fuir.clazzIsRef(_fuir.clazzOuterClazz(cc))
+            ? ((Boxed)tv)._contents
+            : tv;
+          f._args = args;
+          f._tailCall = true;
+          return null;
+        }
+      return _executor.callResolved(_site, tt, cc, tv, args);
+    }
+  }
+
+
+  /**
+   * A match expression.
+   */
+  static final class Match extends Node
+  {
+    final Node _subject;
+    final int _boolClazz;
+
+    /**
+     * For each tag, the index of the case that handles this tag, -1 if none.
+     */
+    final int[] _caseForTag;
+
+    /**
+     * For each case, the field that receives the matched value or NO_CLAZZ.
+     */
+    final int[] _fields;
+
+    /**
+     * For each case, the compiled code.
+     */
+    final Node[] _cases;
+
+    Match(Node subject, int boolClazz, int[] caseForTag, int[] fields, Node[] cases)
+    {
+      _subject = subject;
+      _boolClazz = boolClazz;
+      _caseForTag = caseForTag;
+      _fields = fields;
+      _cases = cases;
+    }
+    Value execute(Frame f)
+    {
+      var subv = _subject.execute(f);
+      var staticSubjectClazz = subv instanceof boolValue ? _boolClazz : ((ValueWithClazz)subv)._clazz;
+      var tagAndChoiceElement = Executor.tagAndVal(staticSubjectClazz, subv);
+      var tag = tagAndChoiceElement.v0();
+      var cix = tag < _caseForTag.length ? _caseForTag[tag] : -1;
+      if (CHECKS) check
+        (cix != -1);
+      var field = _fields[cix];
+      if (field != NO_CLAZZ)
+        {
+          Interpreter.setField(field, f._cur.clazz(), f._cur, tagAndChoiceElement.v1());
+        }
+      return _cases[cix].execute(f);
+    }
+  }
+
+
+  /**
+   * Code that should be unreachable.
+   */
+  static final class Unreachable extends Node
+  {
+    final String _msg;
+    Unreachable(String msg)
+    {
+      _msg = msg;
+    }
+    Value execute(Frame f)
+    {
+      Errors.fatal(_msg);
+      return null;
+    }
+  }
+
+
+  /*----------------------------  constants  ----------------------------*/
+
+
+  /**
+   * Empty array of Nodes.
+   */
+  static final Node[] NO_NODES = new Node[0];
+
+
+  /**
+   * Empty array of temporary values.
+   */
+  static final Value[] NO_TEMPS = new Value[0];
+
+
+  /**
+   * Shared Node for unit values.
+   */
+  static final Node UNIT = new Constant(Value.UNIT);
+
+
+  /*----------------------------  variables  ----------------------------*/
+
+
+  /**
+   * The fuir to be used for executing the code.
+   */
+  private final FUIR _fuir;
+
+
+  /**
+   * The executor to be used for calls, intrinsics and constants.
+   */
+  private final Executor _executor;
+
+
+  /**
+   * The tail call analysis.
+   */
+  private final TailCall _tailCall;
+
+
+  /**
+   * The compiled code, indexed by clazzId2num, null if not compiled yet.
+   */
+  private final Code[] _code;
+
+
+  /**
+   * Number of temporary slots used by the code that is currently being
+   * compiled.
+   */
+  private int _temps;
+
+
+  /*---------------------------  constructors  ---------------------------*/
+
+
+  /**
+   * Create ClosureCompiler for given intermediate code.
+   *
+   * @param fuir the intermediate code.
+   *
+   * @param executor the executor used for calls.
+   *
+   * @param tailCall the tail call analysis.
+   */
+  ClosureCompiler(FUIR fuir, Executor executor, TailCall tailCall)
+  {
+    _fuir = fuir;
+    _executor = executor;
+    _tailCall = tailCall;
+    _code = new Code[fuir.lastClazz() - fuir.firstClazz() + 1];
+  }
+
+
+  /*-----------------------------  methods  -----------------------------*/
+
+
+  /**
+   * Execute the code of clazz cl.
+   *
+   * @param cl the clazz whose code should be executed
+   *
+   * @param cur the current instance
+   *
+   * @param outer the target of the call
+   *
+   * @param args the actual arguments
+   *
+   * @return the current instance, a new instance in case the code ended in a
+   * self tail call.
+   */
+  Instance execute(int cl, Instance cur, Value outer, List<Value> args)
+  {
+    var c = code(cl);
+    var f = new Frame(cur, outer, args, c._temps);
+    c._body.execute(f);
+    while (f._tailCall)
+      { // self tail call: reuse the frame to execute the code again
+        f._tailCall = false;
+        f._cur = new Instance(cl);
+        c._body.execute(f);
+      }
+    return f._cur;
+  }
+
+
+  /**
+   * Get the compiled code for clazz cl, compile it if this has not been done
+   * yet.
+   *
+   * @param cl a clazz id
+   */
+  Code code(int cl)
+  {
+    var result = _code[_fuir.clazzId2num(cl)];
+    if (result == null)
+      {
+        result = compile(cl);
+      }
+    return result;
+  }
+
+
+  /**
+   * Compile the code of clazz cl unless another thread did this already.
+   *
+   * @param cl a clazz id
+   */
+  private synchronized Code compile(int cl)
+  {
+    var n = _fuir.clazzId2num(cl);
+    var result = _code[n];
+    if (result == null)
+      {
+        _temps = 0;
+        var l = new List<Node>();
+        var s = _fuir.clazzCode(cl);
+        if (s != NO_SITE)
+          {
+            prolog(l, cl);
+          }
+        compileCode(l, s);
+        result = new Code(new Block(l), _temps);
+        _code[n] = result;
+      }
+    return result;
+  }
+
+
+  /**
+   * Check if the given clazz has a unit value that is not pushed onto the
+   * stack.
+   */
+  private boolean clazzHasUnitValue(int cl)
+  {
+    return AbstractInterpreter.clazzHasUnitValue(_fuir, cl);
+  }
+
+
+  /**
+   * Push the given Node to the stack unless it is of unit type.
+   */
+  private void push(Stack<Node> stack, int cl, Node n)
+  {
+    if (!clazzHasUnitValue(cl))
+      {
+        stack.push(n);
+      }
+  }
+
+
+  /**
+   * Pop a Node from the stack unless cl is of unit type.
+   */
+  private Node pop(Stack<Node> stack, int cl)
+  {
+    return clazzHasUnitValue(cl) ? UNIT : stack.pop();
+  }
+
+
+  /**
+   * Pop the actual arguments of a call to cc from the stack.
+   */
+  private Node[] args(int cc, Stack<Node> stack)
+  {
+    var ac = _fuir.clazzArgCount(cc);
+    var result = ac == 0 ? NO_NODES : new Node[ac];
+    for (var i = ac - 1; i >= 0; i--)
+      {
+        result[i] = pop(stack, _fuir.clazzArgClazz(cc, i));
+      }
+    return result;
+  }
+
+
+  /**
+   * Add a Node with side-effects to l.  Before this is done, all impure
+   * values that are on the stack are spilled to temporary slots such that
+   * they are evaluated before n.
+   */
+  private void statement(List<Node> l, Stack<Node> stack, Node n)
+  {
+    for (var i = 0; i < stack.size(); i++)
+      {
+        var v = stack.get(i);
+        if (!v.isPure())
+          {
+            var t = _temps++;
+            l.add(new StoreTemp(t, v));
+            stack.set(i, new LoadTemp(t));
+          }
+      }
+    l.add(n);
+  }
+
+
+  /**
+   * Compile the initialization of the outer ref and the argument fields of
+   * clazz cl.
+   */
+  private void prolog(List<Node> l, int cl)
+  {
+    var or = _fuir.clazzOuterRef(cl);
+    if (or != NO_CLAZZ && _fuir.hasData(_fuir.clazzResultClazz(or)))
+      {
+        l.add(new AssignStatic(or, cl, new Outer()));
+      }
+    var ac = _fuir.clazzArgCount(cl);
+    for (int i = 0; i < ac; i++)
+      {
+        if (_fuir.hasData(_fuir.clazzArgClazz(cl, i)))
+          {
+            l.add(new AssignStatic(_fuir.clazzArg(cl, i), cl, new Arg(i)));
+          }
+      }
+  }
+
+
+  /**
+   * Compile the code starting at site s0 and add the result to l.
+   */
+  private void compileCode(List<Node> l, int s0)
+  {
+    var stack = new Stack<Node>();
+    int last_s = NO_SITE;
+    var diverges = false;
+    for (var s = s0; !diverges && _fuir.withinCode(s) && !_fuir.alwaysResultsInVoid(last_s); s = s + _fuir.codeSizeAt(s))
+      {
+        diverges = compileExpression(l, stack, s);
+        last_s = s;
+      }
+
+    // values with side-effects that remain on the stack when code diverges
+    // still need to be executed:
+    for (var n : stack)
+      {
+        if (!n.isPure())
+          {
+            l.add(n);
+          }
+      }
+
+    if (last_s > 0 && _fuir.alwaysResultsInVoid(last_s))
+      {
+        l.add(new Unreachable("Severe compiler bug! This code should be unreachable:\n" +
+                              _fuir.siteAsString(last_s)));
+      }
+  }
+
+
+  /**
+   * Compile the expression at site s.
+   *
+   * @param l list receiving Nodes with side-effects
+   *
+   * @param stack the stack of values produced but not consumed yet
+   *
+   * @param s site of the expression to compile
+   *
+   * @return true iff the expression at s never returns normally (a call
+   * resulting in void or a tail call), i.e., code following s is unreachable.
+   */
+  private boolean compileExpression(List<Node> l, Stack<Node> stack, int s)
+  {
+    var diverges = false;
+    switch (_fuir.codeAt(s))
+      {
+      case Assign:
+        {
+          var ft = _fuir.assignedType(s);
+          var tc = _fuir.accessTargetClazz(s);
+          var target = pop(stack, tc);
+          var value = pop(stack, ft);
+          var f = _fuir.accessedClazz(s);
+          if (f != NO_CLAZZ)  // field we are assigning to may be unused, i.e., -1
+            {
+              var dynamic = _fuir.accessIsDynamic(s);
+              statement(l, stack, new Assign(s,
+                                             dynamic,
+                                             dynamic ? NO_CLAZZ : _fuir.clazzOuterClazz(f),
+                                             dynamic ? NO_CLAZZ : f,
+                                             value,
+                                             target));
+            }
+          else
+            {
+              if (!value .isPure()) { statement(l, stack, value ); }
+              if (!target.isPure()) { statement(l, stack, target); }
+            }
+          break;
+        }
+      case Box:
+        {
+          var vc = _fuir.boxValueClazz(s);
+          var rc = _fuir.boxResultClazz(s);
+          if (!_fuir.clazzIsRef(vc) && _fuir.clazzIsRef(rc))
+            {
+              var val = pop(stack, vc);
+              push(stack, rc, new Box(vc, rc, val));
+            }
+          break;
+        }
+      case Call:
+        {
+          var cc0 = _fuir.accessedClazz(s);
+          var args = args(cc0, stack);
+          var tc = _fuir.accessTargetClazz(s);
+          var target = pop(stack, tc);
+          var rt = _fuir.clazzResultClazz(cc0);
+          if (_fuir.clazzKind(cc0) == FeatureKind.TypeParameter)
+            {
+              if (!target.isPure())
+                {
+                  statement(l, stack, target);
+                }
+              push(stack, rt, UNIT);
+            }
+          else
+            {
+              var c = call(s, target, args);
+              diverges = _fuir.clazzIsVoidType(rt) || c instanceof SelfTailCall;
+              if (diverges || clazzHasUnitValue(rt))
+                {
+                  statement(l, stack, c);
+                }
+              else
+                {
+                  push(stack, rt, c);
+                }
+            }
+          break;
+        }
+      case Comment:
+        {
+          break;
+        }
+      case Current:
+        {
+          push(stack, _fuir.clazzAt(s), new Current());
+          break;
+        }
+      case Const:
+        {
+          var constCl = _fuir.constClazz(s);
+          var d = _fuir.constData(s);
+          Node n;
+          if (_fuir.isScalar(constCl))
+            { // primitive values are immutable, so we can share them
+              n = new Constant(_executor.constData(s, constCl, d).v0());
+            }
+          else
+            {
+              n = new ConstData(s, constCl, d);
+            }
+          push(stack, constCl, n);
+          break;
+        }
+      case Match:
+        {
+          var subjClazz = _fuir.matchStaticSubject(s);
+          var subject = pop(stack, subjClazz);
+          var cases = new Node[_fuir.matchCaseCount(s)];
+          var fields = new int[cases.length];
+          var maxTag = -1;
+          for (var cix = 0; cix < cases.length; cix++)
+            {
+              for (var t : _fuir.matchCaseTags(s, cix))
+                {
+                  maxTag = Math.max(maxTag, t);
+                }
+            }
+          var caseForTag = new int[maxTag + 1];
+          Arrays.fill(caseForTag, -1);
+          for (var cix = 0; cix < cases.length; cix++)
+            {
+              var tags = _fuir.matchCaseTags(s, cix);
+              for (var t : tags)
+                {
+                  caseForTag[t] = cix;
+                }
+              var field = _fuir.matchCaseField(s, cix);
+              fields[cix] = field != NO_CLAZZ && !_fuir.clazzIsUnitType(_fuir.clazzResultClazz(field))
+                ? field
+                : NO_CLAZZ;
+              var cl = new List<Node>();
+              if (tags.length > 0)  // cases without tags are never executed and might contain unresolved calls
+                {
+                  compileCode(cl, _fuir.matchCaseCode(s, cix));
+                }
+              cases[cix] = new Block(cl);
+            }
+          statement(l, stack, new Match(subject, _fuir.clazz(SpecialClazzes.c_bool), caseForTag, fields, cases));
+          diverges = _fuir.alwaysResultsInVoid(s);
+          break;
+        }
+      case Tag:
+        {
+          var valuecl = _fuir.tagValueClazz(s);  // static clazz of value
+          var value   = pop(stack, valuecl);     // value that will be tagged
+          var newcl   = _fuir.tagNewClazz  (s);  // static clazz of result
+          int tagNum  = _fuir.tagTagNum(s);
+          push(stack, newcl, new Tag(newcl, _fuir.clazzChoice(newcl, tagNum), tagNum, value));
+          break;
+        }
+      case Pop:
+        {
+          var cc = _fuir.accessedClazz(s-1);
+          var rt = _fuir.clazzResultClazz(cc);
+          var v = pop(stack, rt);
+          if (!v.isPure())
+            {
+              statement(l, stack, v);
+            }
+          break;
+        }
+      default:
+        {
+          Errors.fatal("ClosureCompiler does not handle expressions of type " + _fuir.codeAt(s));
+          break;
+        }
+      }
+    return diverges;
+  }
+
+
+  /**
+   * Create the Node for a call at site s.
+   *
+   * @param s site of the call
+   *
+   * @param target Node producing the target value
+   *
+   * @param args Nodes producing the actual arguments
+   */
+  private Node call(int s, Node target, Node[] args)
+  {
+    if (_fuir.accessIsDynamic(s))
+      {
+        return new ResolvingCall(s, true, NO_CLAZZ, NO_CLAZZ, target, args);
+      }
+    var cc0 = _fuir.accessedClazz(s);
+    var cc = cc0;
+    var tt = _fuir.clazzOuterClazz(cc);
+    var unbox = _fuir.clazzIsBoxed(tt) && !_fuir.clazzIsRef(_fuir.clazzOuterClazz(cc));
+    var cl = _fuir.clazzAt(s);
+    if (cc == cl && _tailCall.callIsTailCall(cl, s))
+      {
+        return new SelfTailCall(s, unbox, target, args);
+      }
+    return switch (_fuir.clazzKind(cc))
+      {
+      case Routine ->
+        {
+          var rfc = NO_CLAZZ;
+          if (!_fuir.isConstructor(cc))
+            {
+              var f = _fuir.clazzResultField(cc);
+              if (f != NO_CLAZZ && !clazzHasUnitValue(_fuir.clazzResultClazz(f)))  // NO_CLAZZ for routines resulting in void
+                {
+                  rfc = f;
+                }
+            }
+          yield new RoutineCall(s, cc, rfc, unbox, target, args);
+        }
+      case Field     -> new FieldRead(s, cc, tt, unbox, clazzHasUnitValue(_fuir.clazzResultClazz(cc0)), target);
+      case Intrinsic -> new IntrinsicCall(s, cc, unbox, target, args);
+      case Native    -> new NativeCall(s, cc0, cc, target, args);
+      default        -> new ResolvingCall(s, false, tt, cc, target, args);
+      };
+  }
+
+}
+
+/* end of file */
@@ -28,18 +28,19 @@ package dev.flang.be.interpreter;
 
 import static dev.flang.ir.IR.NO_CLAZZ;
 import static dev.flang.ir.IR.NO_SITE;
+import static dev.flang.ir.IR.SITE_BASE;
 
 import java.lang.foreign.Arena;
 import java.lang.foreign.FunctionDescriptor;
 import java.lang.foreign.Linker;
 import java.lang.foreign.MemoryLayout;
-import java.lang.foreign.MemorySegment;
 import java.lang.foreign.SymbolLookup;
 import java.lang.foreign.ValueLayout;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import dev.flang.fuir.FUIR;
 import dev.flang.fuir.SpecialClazzes;
@@ -89,6 +90,43 @@ public class Executor extends ProcessExpression<Value, Object>
   private static FuzionOptions _options_;
 
 
+  /**
+   * The closure compiler used to execute code in case closure compilation is
+   * enabled, null otherwise.
+   */
+  private static ClosureCompiler _closures_;
+
+
+  /**
+   * Maximum number of target clazz / accessed clazz pairs that are cached per
+   * site for dynamic accesses.
+   */
+  private static final int INLINE_CACHE_SIZE = 4;
+
+
+  /**
+   * Inline caches for dynamic accesses, indexed by site - SITE_BASE.  Each
+   * entry is null if no dynamic access was performed at that site yet, or an
+   * array of pairs of target clazz and accessed clazz.
+   *
+   * Entry arrays are never modified once published, a miss replaces the entry
+   * by a new array using compareAndSet.  Once an entry holds INLINE_CACHE_SIZE
+   * pairs, the site is megamorphic and its entry is no longer replaced.
+   *
+   * The array is replaced by a larger copy when a site beyond its end is
+   * accessed.  An entry added to the old array concurrently might get lost,
+   * which is fine since it will be added again on the next miss.
+   */
+  private static volatile AtomicReferenceArray<int[]> _inlineCaches_ = new AtomicReferenceArray<>(0);
+
+
+  /**
+   * The resolved downcall handles of native clazzes, indexed by clazzId2num,
+   * null if the native clazz was not called yet.
+   */
+  private static NativeHandle[] _nativeHandles_;
+
+
 
   /*-----------------------------  instance fields  -----------------------------*/
 
@@ -112,6 +150,20 @@ public class Executor extends ProcessExpression<Value, Object>
   private final Value _outer;
 
 
+  /**
+   * In case the code executed by this Executor ended in a self tail call, the
+   * target of that call, null otherwise.
+   */
+  private Value _tailCallTarget;
+
+
+  /**
+   * In case the code executed by this Executor ended in a self tail call, the
+   * actual arguments of that call, null otherwise.
+   */
+  private List<Value> _tailCallArgs;
+
+
   /*-----------------------------  constructors  -----------------------------*/
 
 
@@ -119,12 +171,15 @@ public class Executor extends ProcessExpression<Value, Object>
    * The constructor to initialize the Executor
    * at the start of the application.
    */
-  public Executor(FUIR fuir, FuzionOptions opt)
+  public Executor(FUIR fuir, InterpreterOptions opt)
   {
     _fuir = fuir;
     _options_ = opt;
     _universe = new Instance(_fuir.clazzUniverse());
     _tailCall = new TailCall(fuir);
+    _closures_ = opt._closures ? new ClosureCompiler(fuir, this, _tailCall) : null;
+    _inlineCaches_ = new AtomicReferenceArray<>(0);
+    _nativeHandles_ = new NativeHandle[_fuir.lastClazz() - _fuir.firstClazz() + 1];
     this._cur = _fuir.mainClazz() == _fuir.clazzUniverse() ? _universe : new Instance(_fuir.mainClazz());
     this._outer = _universe;
     this._args = new List<>();
@@ -151,6 +206,33 @@ public class Executor extends ProcessExpression<Value, Object>
   /*-----------------------------  methods  -----------------------------*/
 
 
+  /**
+   * The universe instance.
+   */
+  static Instance universe()
+  {
+    return _universe;
+  }
+
+
+  /**
+   * Run the code of the main clazz.
+   *
+   * @param ai the abstract interpreter to use unless closure compilation is
+   * enabled.
+   */
+  void runMain(AbstractInterpreter<Value, Object> ai)
+  {
+    if (_closures_ != null)
+      {
+        _closures_.execute(_fuir.mainClazz(), _cur, _outer, _args);
+      }
+    else
+      {
+        ai.processClazz(_fuir.mainClazz());
+      }
+  }
+
 
   /*
    * For obtaining the current FUIR by
@@ -223,6 +305,10 @@ public class Executor extends ProcessExpression<Value, Object>
   @Override
   public Object assign(int s, Value tvalue, Value avalue)
   {
+    if (_tailCallArgs != null)
+      { // code following a tail call is not executed
+        return null;
+      }
     // NYI: better check clazz containing field is universe
     if (tvalue == unitValue())
       {
@@ -276,26 +362,60 @@ public class Executor extends ProcessExpression<Value, Object>
 
 
   @Override
-  @SuppressWarnings("restricted")
   public Pair<Value, Object> call(int s, Value tvalue, List<Value> args)
   {
-    var cc0 = _fuir.accessedClazz(s);
-    var rt = _fuir.clazzResultClazz(cc0);
+    if (_tailCallArgs != null)
+      { // code following a tail call is not executed
+        return new Pair<>(null, null);
+      }
+
     var ttcc = ttcc(s, tvalue);
     var tt = ttcc.v0();
     var cc = ttcc.v1();
 
-    if(_fuir.clazzIsBoxed(tt) && !_fuir.clazzIsRef(_fuir.clazzOuterClazz(cc)))
-      {
-        tt = ((Boxed)tvalue)._valueClazz;
-        tvalue = ((Boxed)tvalue)._contents;
-      }
-
     var cl = _fuir.clazzAt(s);
     if (cc == cl // calling myself
         && _tailCall.callIsTailCall(cl, s))
       {
-        throw new TailCallException(tvalue, args);
+        // record the call and return null, which makes the AbstractInterpreter
+        // stop processing the current block, callOnNewInstance will then
+        // restart the code of cl:
+        _tailCallTarget = _fuir.clazzIsBoxed(tt) && !_fuir.clazzIsRef(_fuir.clazzOuterClazz(cc))
+          ? ((Boxed)tvalue)._contents
+          : tvalue;
+        _tailCallArgs = args;
+        return new Pair<>(null, null);
+      }
+
+    return pair(callResolved(s, tt, cc, tvalue, args));
+  }
+
+
+  /**
+   * Perform a call at site s after the target clazz and the called clazz have
+   * been determined.  Self tail calls must be handled by the caller.
+   *
+   * @param s site of the call
+   *
+   * @param tt the target clazz
+   *
+   * @param cc the called clazz
+   *
+   * @param tvalue target value the call is performed on
+   *
+   * @param args argument values passed to the call
+   *
+   * @return the result of the call
+   */
+  Value callResolved(int s, int tt, int cc, Value tvalue, List<Value> args)
+  {
+    var cc0 = _fuir.accessedClazz(s);
+    var rt = _fuir.clazzResultClazz(cc0);
+
+    if(_fuir.clazzIsBoxed(tt) && !_fuir.clazzIsRef(_fuir.clazzOuterClazz(cc)))
+      {
+        tt = ((Boxed)tvalue)._valueClazz;
+        tvalue = ((Boxed)tvalue)._contents;
       }
 
     var result = switch (_fuir.clazzKind(cc))
@@ -313,55 +433,21 @@ public class Executor extends ProcessExpression<Value, Object>
                 rres = Interpreter.getField(rfc, cc, cur, false);
               }
           }
-        yield pair(rres);
+        yield rres;
       case Field :
         var fc = cc;
         var fres = AbstractInterpreter.clazzHasUnitValue(_fuir, rt)
-          ? pair(unitValue())
-          : pair(Interpreter.getField(fc, tt, tt == _fuir.clazzUniverse() ? _universe : tvalue, false));
+          ? unitValue()
+          : Interpreter.getField(fc, tt, tt == _fuir.clazzUniverse() ? _universe : tvalue, false);
 
         if (CHECKS)
-          check(fres != null, AbstractInterpreter.clazzHasUnitValue(_fuir, rt) || fres.v0() != unitValue());
+          check(fres != null, AbstractInterpreter.clazzHasUnitValue(_fuir, rt) || fres != unitValue());
 
         yield fres;
       case Intrinsic :
-        yield pair(Intrinsics.call(this, s, cc).call(new List<>(tvalue, args)));
+        yield Intrinsics.call(this, s, cc).call(new List<>(tvalue, args));
       case Native:
-        var llu = libs;
-        var mh = Linker.nativeLinker()
-          .downcallHandle(
-            llu
-              .find(_fuir.clazzNativeName(cc))
-              .orElseThrow(() -> new UnsatisfiedLinkError(
-              "Unresolved symbol: " + _fuir.clazzBaseName(cc) + ". " +
-              (true
-                ? "NYI: interpreter does not yet support libraries. You probably forgot to use the -Libraries option."
-                : "Likely causes: Either your native method is misspelled or you forgot to include a library in the -Libraries option.")
-              )),
-
-              _fuir.clazzIsUnitType(rt)
-                ? FunctionDescriptor.ofVoid(layoutArgs(cc0))
-                : FunctionDescriptor.of(layout(rt), layoutArgs(cc0)));
-
-        var arguments = args.stream().map(arg -> arg.toNative()).toList();
-        Object tmp = null;
-        try
-          {
-            tmp = mh.invokeWithArguments(arguments);
-          }
-        catch (Throwable e)
-          {
-            Errors.fatal(e);
-            yield null;
-          }
-        for (int i = 0; i < args.size(); i++)
-         {
-            if (args.get(i) instanceof ArrayData ad)
-              {
-                ad.set((MemorySegment)arguments.get(i));
-              }
-          }
-        yield pair(JavaInterface.javaObjectToPlainInstance(tmp, rt));
+        yield callNative(cc0, cc, args);
       default:
         throw new Error("Calling " + _fuir.clazzKind(cc) + " not possible: " + _fuir.codeAtAsString(s));
       };
@@ -370,10 +456,71 @@ public class Executor extends ProcessExpression<Value, Object>
   }
 
 
+  /**
+   * Call native feature cc.
+   *
+   * @param cc0 the statically accessed clazz of the call
+   *
+   * @param cc the called native clazz
+   *
+   * @param args argument values passed to the call
+   *
+   * @return the result of the native call converted to a Value.
+   */
+  static Value callNative(int cc0, int cc, List<Value> args)
+  {
+    var n = _fuir.clazzId2num(cc);
+    var nh = _nativeHandles_[n];
+    if (nh == null)
+      { // racy, but handles created concurrently are equivalent
+        nh = nativeHandle(cc0, cc);
+        _nativeHandles_[n] = nh;
+      }
+    return nh.call(args);
+  }
+
+
+  /**
+   * Resolve the symbol of native feature cc and create the downcall handle
+   * for it.
+   *
+   * @param cc0 the statically accessed clazz of the call
+   *
+   * @param cc the called native clazz
+   */
+  @SuppressWarnings("restricted")
+  private static NativeHandle nativeHandle(int cc0, int cc)
+  {
+    var rt = _fuir.clazzResultClazz(cc0);
+    var llu = libs;
+    var mh = Linker.nativeLinker()
+      .downcallHandle(
+        llu
+          .find(_fuir.clazzNativeName(cc))
+          .orElseThrow(() -> new UnsatisfiedLinkError(
+          "Unresolved symbol: " + _fuir.clazzBaseName(cc) + ". " +
+          (true
+            ? "NYI: interpreter does not yet support libraries. You probably forgot to use the -Libraries option."
+            : "Likely causes: Either your native method is misspelled or you forgot to include a library in the -Libraries option.")
+          )),
+
+          _fuir.clazzIsUnitType(rt)
+            ? FunctionDescriptor.ofVoid(layoutArgs(cc0))
+            : FunctionDescriptor.of(layout(rt), layoutArgs(cc0)));
+
+    var argKinds = new SpecialClazzes[_fuir.clazzArgCount(cc0)];
+    for (int i = 0; i < argKinds.length; i++)
+      {
+        argKinds[i] = _fuir.getSpecialClazz(_fuir.clazzArgClazz(cc0, i));
+      }
+    return new NativeHandle(mh, argKinds, rt);
+  }
+
+
   /*
    * get MemoryLayout/ValueLayout of args of cc.
    */
-  private MemoryLayout[] layoutArgs(int cc)
+  private static MemoryLayout[] layoutArgs(int cc)
   {
     var result = new MemoryLayout[_fuir.clazzArgCount(cc)];
     for (int i = 0; i < _fuir.clazzArgCount(cc); i++)
@@ -387,7 +534,7 @@ public class Executor extends ProcessExpression<Value, Object>
   /*
    * get MemoryLayout/ValueLayout for clazz c.
    */
-  private MemoryLayout layout(int c)
+  private static MemoryLayout layout(int c)
   {
     return switch (_fuir.getSpecialClazz(c))
       {
@@ -417,16 +564,8 @@ public class Executor extends ProcessExpression<Value, Object>
     int cc, tt;
     if (_fuir.accessIsDynamic(s))
       {
-        cc = NO_CLAZZ;
         tt = ((ValueWithClazz)tvalue)._clazz;
-        var ccs = _fuir.accessedClazzes(s);
-        for (var cci = 0; cci < ccs.length && cc==NO_CLAZZ; cci += 2)
-          {
-            if (ccs[cci] == tt)
-              {
-                cc = ccs[cci+1];
-              }
-          }
+        cc = dynamicCallee(s, tt);
       }
     else
       {
@@ -441,6 +580,119 @@ public class Executor extends ProcessExpression<Value, Object>
   }
 
 
+  /**
+   * For a dynamic access at site s with the given dynamic target clazz, find
+   * the clazz that is actually accessed.
+   *
+   * @param s site of a dynamic call or assignment
+   *
+   * @param tt the dynamic clazz of the target value
+   *
+   * @return the accessed clazz, NO_CLAZZ if none was found.
+   */
+  static int dynamicCallee(int s, int tt)
+  {
+    if (PRECONDITIONS) require
+      (_fuir.accessIsDynamic(s));
+
+    var i = s - SITE_BASE;
+    var caches = _inlineCaches_;
+    var cache = i < caches.length() ? caches.get(i) : null;
+    if (cache != null)
+      {
+        for (var ci = 0; ci < cache.length; ci += 2)
+          {
+            if (cache[ci] == tt)
+              {
+                return cache[ci+1];
+              }
+          }
+      }
+
+    var cc = NO_CLAZZ;
+    var ccs = _fuir.accessedClazzes(s);
+    for (var cci = 0; cci < ccs.length && cc==NO_CLAZZ; cci += 2)
+      {
+        if (ccs[cci] == tt)
+          {
+            cc = ccs[cci+1];
+          }
+      }
+    if (cc != NO_CLAZZ && (cache == null || cache.length < 2 * INLINE_CACHE_SIZE))
+      {
+        addToInlineCache(i, tt, cc);
+      }
+    return cc;
+  }
+
+
+  /**
+   * Add the pair tt / cc to the inline cache for site number i unless the cache
+   * already contains tt or the site is megamorphic, i.e., its cache is full.
+   *
+   * @param i the site number, i.e., site - SITE_BASE
+   *
+   * @param tt the dynamic clazz of the target value
+   *
+   * @param cc the accessed clazz for tt
+   */
+  private static void addToInlineCache(int i, int tt, int cc)
+  {
+    var caches = inlineCaches(i);
+    var done = false;
+    while (!done)
+      {
+        var old = caches.get(i);
+        var oldLen = old == null ? 0 : old.length;
+        var found = false;
+        for (var ci = 0; ci < oldLen; ci += 2)
+          {
+            found = found || old[ci] == tt;
+          }
+        if (found || oldLen >= 2 * INLINE_CACHE_SIZE)
+          {
+            done = true;
+          }
+        else
+          {
+            var cache = old == null ? new int[2] : Arrays.copyOf(old, oldLen + 2);
+            cache[oldLen  ] = tt;
+            cache[oldLen+1] = cc;
+            done = caches.compareAndSet(i, old, cache);
+          }
+      }
+  }
+
+
+  /**
+   * Get the inline caches array, enlarged such that it contains index i.
+   *
+   * @param i the site number, i.e., site - SITE_BASE
+   */
+  private static AtomicReferenceArray<int[]> inlineCaches(int i)
+  {
+    var caches = _inlineCaches_;
+    if (i >= caches.length())
+      {
+        synchronized (Executor.class)
+          {
+            caches = _inlineCaches_;
+            if (i >= caches.length())
+              {
+                var n = new AtomicReferenceArray<int[]>(Math.max(i + 1, 2 * caches.length()));
+                for (var j = 0; j < caches.length(); j++)
+                  {
+                    n.set(j, caches.get(j));
+                  }
+                _inlineCaches_ = n;
+                caches = n;
+              }
+          }
+      }
+    return caches;
+  }
+
+
   /**
    * wrap {@code v} into a {@code Pair<>(v, null)}
    *
@@ -490,14 +742,14 @@ public class Executor extends ProcessExpression<Value, Object>
         .boxedConstString(new String(Arrays.copyOfRange(d, 4, ByteBuffer.wrap(d).order(ByteOrder.LITTLE_ENDIAN).getInt() + 4), StandardCharsets.UTF_8));
       case c_f32 -> new f32Value(ByteBuffer.wrap(d).position(4).order(ByteOrder.LITTLE_ENDIAN).getFloat());
       case c_f64 -> new f64Value(ByteBuffer.wrap(d).position(4).order(ByteOrder.LITTLE_ENDIAN).getDouble());
-      case c_i16 -> new i16Value(ByteBuffer.wrap(d).position(4).order(ByteOrder.LITTLE_ENDIAN).getShort());
-      case c_i32 -> new i32Value(ByteBuffer.wrap(d).position(4).order(ByteOrder.LITTLE_ENDIAN).getInt());
-      case c_i64 -> new i64Value(ByteBuffer.wrap(d).position(4).order(ByteOrder.LITTLE_ENDIAN).getLong());
-      case c_i8  -> new i8Value (ByteBuffer.wrap(d).position(4).order(ByteOrder.LITTLE_ENDIAN).get());
-      case c_u16 -> new u16Value(ByteBuffer.wrap(d).position(4).order(ByteOrder.LITTLE_ENDIAN).getChar());
-      case c_u32 -> new u32Value(ByteBuffer.wrap(d).position(4).order(ByteOrder.LITTLE_ENDIAN).getInt());
-      case c_u64 -> new u64Value(ByteBuffer.wrap(d).position(4).order(ByteOrder.LITTLE_ENDIAN).getLong());
-      case c_u8  -> new u8Value (ByteBuffer.wrap(d).position(4).order(ByteOrder.LITTLE_ENDIAN).get() & 0xff);
+      case c_i16 -> i16Value.of(ByteBuffer.wrap(d).position(4).order(ByteOrder.LITTLE_ENDIAN).getShort());
+      case c_i32 -> i32Value.of(ByteBuffer.wrap(d).position(4).order(ByteOrder.LITTLE_ENDIAN).getInt());
+      case c_i64 -> i64Value.of(ByteBuffer.wrap(d).position(4).order(ByteOrder.LITTLE_ENDIAN).getLong());
+      case c_i8  -> i8Value.of (ByteBuffer.wrap(d).position(4).order(ByteOrder.LITTLE_ENDIAN).get());
+      case c_u16 -> u16Value.of(ByteBuffer.wrap(d).position(4).order(ByteOrder.LITTLE_ENDIAN).getChar());
+      case c_u32 -> u32Value.of(ByteBuffer.wrap(d).position(4).order(ByteOrder.LITTLE_ENDIAN).getInt());
+      case c_u64 -> u64Value.of(ByteBuffer.wrap(d).position(4).order(ByteOrder.LITTLE_ENDIAN).getLong());
+      case c_u8  -> u8Value.of (ByteBuffer.wrap(d).position(4).order(ByteOrder.LITTLE_ENDIAN).get() & 0xff);
       default -> {
         if (_fuir.clazzIsArray(constCl))
           {
@@ -520,7 +772,7 @@ public class Executor extends ProcessExpression<Value, Object>
               }
 
             Instance sa = new Instance(saCl);
-            Interpreter.setField(_fuir.clazzArg(saCl, 1), saCl,                               sa,     new i32Value(elCount));
+            Interpreter.setField(_fuir.clazzArg(saCl, 1), saCl,                               sa,     i32Value.of(elCount));
             Interpreter.setField(_fuir.clazzArg(saCl, 0)  , saCl,                               sa,     arrayData);
             Interpreter.setField(internalArray                                          , constCl,                            result, sa);
             yield result;
@@ -585,19 +837,19 @@ public class Executor extends ProcessExpression<Value, Object>
    *
    * @return pair where first value is the tag, the second value the extracted value.
    */
-  private Pair<Integer, Value> tagAndVal(int staticSubjectClazz, Value sub)
+  static Pair<Integer, Value> tagAndVal(int staticSubjectClazz, Value sub)
   {
     if (PRECONDITIONS) require
-      (fuir().clazzIsChoice(staticSubjectClazz));
+      (_fuir.clazzIsChoice(staticSubjectClazz));
 
     var tag = -1;
     Value val = null;
-    if (fuir().clazzIsChoiceOfOnlyRefs(staticSubjectClazz))
+    if (_fuir.clazzIsChoiceOfOnlyRefs(staticSubjectClazz))
       {
         val = Interpreter.getChoiceRefVal(staticSubjectClazz, staticSubjectClazz, sub);
         tag = ChoiceIdAsRef.tag(staticSubjectClazz, val);
       }
-    else if (staticSubjectClazz == fuir().clazz(SpecialClazzes.c_bool))
+    else if (staticSubjectClazz == _fuir.clazz(SpecialClazzes.c_bool))
       {
         tag = sub.boolValue() ? 1 : 0;
         val = sub;
@@ -661,22 +913,20 @@ public class Executor extends ProcessExpression<Value, Object>
     FuzionThread.current()._callStackFrames.push(cc);
     FuzionThread.current()._callSiteStack.push(s);
 
-    var o = outer;
-    var a = args;
     var cur = new Instance(cc);
-    while (o != null)
+    if (_closures_ != null)
       {
-        try
-          {
-            new AbstractInterpreter<>(_fuir, new Executor(cur, o, a))
-              .processClazz(cc);
-            o = null;
-          }
-        catch(TailCallException tce)
-          {
+        cur = _closures_.execute(cc, cur, outer, args);
+      }
+    else
+      {
+        var ex = new Executor(cur, outer, args);
+        new AbstractInterpreter<>(_fuir, ex).processClazz(cc);
+        while (ex._tailCallArgs != null)
+          { // self tail call: execute code of cc again with a new instance
             cur = new Instance(cc);
-            o = tce.tvalue;
-            a = tce.args;
+            ex = new Executor(cur, ex._tailCallTarget, ex._tailCallArgs);
+            new AbstractInterpreter<>(_fuir, ex).processClazz(cc);
           }
       }
 
@@ -366,6 +366,23 @@ public class Instance extends ValueWithClazz
   }
 
 
+  /**
+   * Load a value of numeric or bool type at the given offset within this
+   * without creating an LValue.
+   *
+   * @param c the clazz of the value, must be numeric or bool
+   *
+   * @param off the offset of the value within this
+   *
+   * @return the loaded value, see Interpreter.loadScalar
+   */
+  @Override
+  public Value scalarAt(int c, int off)
+  {
+    return Interpreter.loadScalar(c, nonrefs, off);
+  }
+
+
   /**
    * Store this value in a field
    *
@@ -27,6 +27,8 @@ Fuzion language implementation.  If not, see <https://www.gnu.org/licenses/>.
 
 package dev.flang.be.interpreter;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.nio.charset.StandardCharsets;
 
 import dev.flang.fuir.SpecialClazzes;
@@ -37,7 +39,6 @@ import dev.flang.ir.IR.FeatureKind;
 
 import dev.flang.util.Errors;
 import dev.flang.util.FatalError;
-import dev.flang.util.FuzionOptions;
 
 
 /**
@@ -47,15 +48,16 @@ import dev.flang.util.FuzionOptions;
 public class Interpreter extends FUIRContext
 {
   private final AbstractInterpreter<Value, Object> _ai;
+  private final Executor _processor;
   private final FUIR _fuir;
-  private final FuzionOptions _options_;
-  public Interpreter(FuzionOptions options, FUIR fuir)
+  private final InterpreterOptions _options_;
+  public Interpreter(InterpreterOptions options, FUIR fuir)
   {
     this._options_ = options;
     this._fuir = fuir;
     FUIRContext.set_fuir(fuir);
-    var processor = new Executor(_fuir, _options_);
-    _ai = new AbstractInterpreter<Value, Object>(_fuir, processor);
+    _processor = new Executor(_fuir, _options_);
+    _ai = new AbstractInterpreter<Value, Object>(_fuir, _processor);
   }
 
 
@@ -71,7 +73,7 @@ public class Interpreter extends FUIRContext
     try
       {
         FuzionThread.current()._callStackFrames.push(_fuir.mainClazz());
-        _ai.processClazz(_fuir.mainClazz());
+        _processor.runMain(_ai);
       }
     catch (FatalError e)
       {
@@ -116,7 +118,7 @@ public class Interpreter extends FUIRContext
     Instance arr = new Instance(clArr);
     var saCl = fuir().clazzFuzionSysArrayU8();
     Instance sa = new Instance(saCl);
-    setField(fuir().clazzFuzionSysArrayU8Length(), saCl, sa, new i32Value(bytes.length));
+    setField(fuir().clazzFuzionSysArrayU8Length(), saCl, sa, i32Value.of(bytes.length));
     var arrayData = new ArrayData(bytes, saCl);
     setField(fuir().clazzFuzionSysArrayU8Data(), saCl, sa, arrayData);
     setField(fuir().clazzArg(clArr,0), clArr, arr, sa);
@@ -243,8 +245,9 @@ public class Interpreter extends FUIRContext
       default ->
         {
           int fclazz = clazzForField(thiz);
-          LValue slot = fieldSlot(thiz, staticClazz, fclazz, curValue);
-          yield loadField(thiz, fclazz, slot, allowUninitializedRefField);
+          yield isNumericOrBool(fclazz)
+            ? fieldSlotOrScalar(thiz, staticClazz, fclazz, curValue, true)
+            : loadField(thiz, fclazz, fieldSlot(thiz, staticClazz, fclazz, curValue), allowUninitializedRefField);
         }
       };
 
@@ -283,6 +286,296 @@ public class Interpreter extends FUIRContext
   }
 
 
+  /**
+   * VarHandle used for lock-free atomic accesses to reference fields, i.e.,
+   * to elements of Instance.refs.
+   */
+  private static final VarHandle REFS = MethodHandles.arrayElementVarHandle(Value[].class);
+
+
+  /**
+   * VarHandle used for lock-free atomic accesses to fields of numeric or bool
+   * type that fit into one element of Instance.nonrefs.
+   */
+  private static final VarHandle NONREFS = MethodHandles.arrayElementVarHandle(int[].class);
+
+
+  /**
+   * Number of locks used for atomic accesses to fields of value type, must be
+   * a power of two.
+   */
+  private static final int ATOMIC_LOCK_STRIPES = 64;
+
+
+  /**
+   * Locks used for atomic accesses to fields of value type.  The lock for a
+   * field is chosen by the identity of the instance containing the field and
+   * the field's offset, see atomicLock(), so unrelated atomic fields are
+   * usually protected by different locks.
+   */
+  private static final Object[] ATOMIC_LOCKS = new Object[ATOMIC_LOCK_STRIPES];
+  static
+  {
+    for (var i = 0; i < ATOMIC_LOCK_STRIPES; i++)
+      {
+        ATOMIC_LOCKS[i] = new Object();
+      }
+  }
+
+
+  /**
+   * Get the lock that protects atomic accesses to the field at the given slot.
+   */
+  private static Object atomicLock(LValue slot)
+  {
+    var h = System.identityHashCode(slot.container) * 31 + slot.offset;
+    return ATOMIC_LOCKS[(h ^ (h >>> 16)) & (ATOMIC_LOCK_STRIPES - 1)];
+  }
+
+
+  /**
+   * Is fclazz a numeric or bool type whose values are stored in one element of
+   * Instance.nonrefs such that atomic accesses can use NONREFS?
+   */
+  private static boolean isSingleSlotScalar(int fclazz)
+  {
+    return switch (fuir().getSpecialClazz(fclazz))
+      {
+      case c_i8, c_i16, c_i32, c_u8, c_u16, c_u32, c_f32, c_bool -> true;
+      default                                                    -> false;
+      };
+  }
+
+
+  /**
+   * For a value v of a type with isSingleSlotScalar(fclazz), get the int that
+   * v.storeNonRef() would store in Instance.nonrefs.
+   */
+  private static int singleSlotBits(int fclazz, Value v)
+  {
+    return switch (fuir().getSpecialClazz(fclazz))
+      {
+      case c_i8   -> v.i8Value ();
+      case c_i16  -> v.i16Value();
+      case c_i32  -> v.i32Value();
+      case c_u8   -> v.u8Value ();
+      case c_u16  -> v.u16Value();
+      case c_u32  -> v.u32Value();
+      case c_f32  -> Float.floatToRawIntBits(v.f32Value());
+      case c_bool -> v.boolValue() ? 1 : 0;
+      default     -> throw new Error("Interpreter.singleSlotBits called for " + fuir().clazzName(fclazz));
+      };
+  }
+
+
+  /**
+   * For a type with isSingleSlotScalar(fclazz), create the value of that type
+   * that is stored as bits in Instance.nonrefs.
+   */
+  private static Value singleSlotValue(int fclazz, int bits)
+  {
+    return switch (fuir().getSpecialClazz(fclazz))
+      {
+      case c_i8   -> i8Value  .of(bits);
+      case c_i16  -> i16Value .of(bits);
+      case c_i32  -> i32Value .of(bits);
+      case c_u8   -> u8Value  .of(bits);
+      case c_u16  -> u16Value .of(bits);
+      case c_u32  -> u32Value .of(bits);
+      case c_f32  -> new f32Value(Float.intBitsToFloat(bits));
+      case c_bool -> boolValue.of(bits != 0);
+      default     -> throw new Error("Interpreter.singleSlotValue called for " + fuir().clazzName(fclazz));
+      };
+  }
+
+
+  /**
+   * Atomically read a field.  Reference fields and fields of numeric or bool
+   * types that fit into one int are read using a volatile access, other fields
+   * of value type are read while holding the field's lock and copied such that
+   * the result is not affected by later writes.
+   *
+   * @param thiz the field
+   *
+   * @param staticClazz is the static type of the clazz that contains the field
+   *
+   * @param curValue the Instance or LValue of that contains the field
+   *
+   * @return the value of the field.
+   */
+  static Value atomicGetField(int thiz, int staticClazz, Value curValue)
+  {
+    int  fclazz = clazzForField(thiz);
+    if (fclazz == FUIR.NO_CLAZZ)
+      {
+        return Value.UNIT;
+      }
+    LValue slot = fieldSlot(thiz, staticClazz, fclazz, curValue);
+    if (fuir().clazzIsRef(fclazz))
+      {
+        return (Value) REFS.getVolatile(slot.container.refs, slot.offset);
+      }
+    else if (isSingleSlotScalar(fclazz))
+      {
+        return singleSlotValue(fclazz, (int) NONREFS.getVolatile(slot.container.nonrefs, slot.offset));
+      }
+    else
+      {
+        synchronized (atomicLock(slot))
+          {
+            return loadField(thiz, fclazz, slot, false).cloneValue(fclazz);
+          }
+      }
+  }
+
+
+  /**
+   * Atomically write a field.
+   *
+   * @param thiz the field
+   *
+   * @param staticClazz is the static type of the clazz that contains the field
+   *
+   * @param curValue the Instance or LValue of that contains the field
+   *
+   * @param v the value to be stored in the field
+   */
+  static void atomicSetField(int thiz, int staticClazz, Value curValue, Value v)
+  {
+    int  fclazz = clazzForField(thiz);
+    if (fclazz != FUIR.NO_CLAZZ)
+      {
+        LValue slot = fieldSlot(thiz, staticClazz, fclazz, curValue);
+        if (fuir().clazzIsRef(fclazz))
+          {
+            if (PRECONDITIONS) require
+              (valueTypeMatches(thiz, v, false));
+
+            REFS.setVolatile(slot.container.refs, slot.offset, v);
+          }
+        else if (isSingleSlotScalar(fclazz))
+          {
+            NONREFS.setVolatile(slot.container.nonrefs, slot.offset, singleSlotBits(fclazz, v));
+          }
+        else
+          {
+            synchronized (atomicLock(slot))
+              {
+                setNonRefField(thiz, fclazz, slot, v);
+              }
+          }
+      }
+  }
+
+
+  /**
+   * Atomically compare a field to an expected value and, if they are bitwise
+   * equal, set it to a new value.
+   *
+   * @param thiz the field
+   *
+   * @param staticClazz is the static type of the clazz that contains the field
+   *
+   * @param curValue the Instance or LValue of that contains the field
+   *
+   * @param expected the value to compare the field to
+   *
+   * @param v the new value to be stored in the field
+   *
+   * @return the old value of the field, which is bitwise equal to expected iff
+   * v was stored.
+   */
+  static Value atomicCompareAndSwapField(int thiz, int staticClazz, Value curValue, Value expected, Value v)
+  {
+    int  fclazz = clazzForField(thiz);
+    if (fclazz == FUIR.NO_CLAZZ)
+      {
+        return expected;
+      }
+    LValue slot = fieldSlot(thiz, staticClazz, fclazz, curValue);
+    if (fuir().clazzIsRef(fclazz))
+      {
+        if (PRECONDITIONS) require
+          (valueTypeMatches(thiz, v, false));
+
+        return (Value) REFS.compareAndExchange(slot.container.refs, slot.offset, expected, v);
+      }
+    else if (isSingleSlotScalar(fclazz))
+      {
+        var old = (int) NONREFS.compareAndExchange(slot.container.nonrefs,
+                                                   slot.offset,
+                                                   singleSlotBits(fclazz, expected),
+                                                   singleSlotBits(fclazz, v));
+        return singleSlotValue(fclazz, old);
+      }
+    else
+      {
+        synchronized (atomicLock(slot))
+          {
+            var result = loadField(thiz, fclazz, slot, false).cloneValue(fclazz);
+            if (compareFieldSlot(thiz, fclazz, slot, expected))
+              {
+                setNonRefField(thiz, fclazz, slot, v);
+              }
+            return result;
+          }
+      }
+  }
+
+
+  /**
+   * Atomically compare a field to an expected value and, if they are bitwise
+   * equal, set it to a new value.
+   *
+   * @param thiz the field
+   *
+   * @param staticClazz is the static type of the clazz that contains the field
+   *
+   * @param curValue the Instance or LValue of that contains the field
+   *
+   * @param expected the value to compare the field to
+   *
+   * @param v the new value to be stored in the field
+   *
+   * @return true iff v was stored.
+   */
+  static boolean atomicCompareAndSetField(int thiz, int staticClazz, Value curValue, Value expected, Value v)
+  {
+    int  fclazz = clazzForField(thiz);
+    if (fclazz == FUIR.NO_CLAZZ)
+      {
+        return true;
+      }
+    LValue slot = fieldSlot(thiz, staticClazz, fclazz, curValue);
+    if (fuir().clazzIsRef(fclazz))
+      {
+        if (PRECONDITIONS) require
+          (valueTypeMatches(thiz, v, false));
+
+        return REFS.compareAndSet(slot.container.refs, slot.offset, expected, v);
+      }
+    else if (isSingleSlotScalar(fclazz))
+      {
+        return NONREFS.compareAndSet(slot.container.nonrefs,
+                                     slot.offset,
+                                     singleSlotBits(fclazz, expected),
+                                     singleSlotBits(fclazz, v));
+      }
+    else
+      {
+        synchronized (atomicLock(slot))
+          {
+            var result = compareFieldSlot(thiz, fclazz, slot, expected);
+            if (result)
+              {
+                setNonRefField(thiz, fclazz, slot, v);
+              }
+            return result;
+          }
+      }
+  }
+
+
   /**
    * Read a value slot within a choice clazz.
    *
@@ -355,6 +648,51 @@ public class Interpreter extends FUIRContext
   }
 
 
+  /**
+   * Is cl one of the numeric types or bool, i.e., are fields of type cl loaded
+   * by getField using loadScalar?
+   */
+  private static boolean isNumericOrBool(int cl)
+  {
+    return fuir().isScalar(cl) || fuir().getSpecialClazz(cl) == SpecialClazzes.c_bool;
+  }
+
+
+  /**
+   * Load the value of a field of numeric or bool type into an immutable value
+   * such that later changes of the field do not affect the loaded value.  Small
+   * integers and bools are shared and do not require allocation, other values
+   * require one allocation just like the LValue that would otherwise be used to
+   * access the field.
+   *
+   * @param fclazz the static type of the field
+   *
+   * @param nonrefs the non-reference data of the instance containing the field
+   *
+   * @param off the offset of the field in nonrefs
+   *
+   * @return the loaded value.
+   */
+  static Value loadScalar(int fclazz, int[] nonrefs, int off)
+  {
+    return switch (fuir().getSpecialClazz(fclazz))
+      {
+      case c_i8   -> i8Value  .of(nonrefs[off]);
+      case c_i16  -> i16Value .of(nonrefs[off]);
+      case c_i32  -> i32Value .of(nonrefs[off]);
+      case c_i64  -> i64Value .of(nonrefs[off] & 0xFFFFffffL | (nonrefs[off + 1] & 0xFFFFffffL) << 32);
+      case c_u8   -> u8Value  .of(nonrefs[off]);
+      case c_u16  -> u16Value .of(nonrefs[off]);
+      case c_u32  -> u32Value .of(nonrefs[off]);
+      case c_u64  -> u64Value .of(nonrefs[off] & 0xFFFFffffL | (nonrefs[off + 1] & 0xFFFFffffL) << 32);
+      case c_f32  -> new f32Value(Float.intBitsToFloat(nonrefs[off]));
+      case c_f64  -> new f64Value(Double.longBitsToDouble(nonrefs[off] & 0xFFFFffffL | (nonrefs[off + 1] & 0xFFFFffffL) << 32));
+      case c_bool -> boolValue.of(nonrefs[off] != 0);
+      default     -> throw new Error("Interpreter.loadScalar called for " + fuir().clazzName(fclazz));
+      };
+  }
+
+
   /**
    * Store a value in this choice type and set the proper tag. This is not
    * intended only for assigning a value of one specific generic parameter type
@@ -397,7 +735,7 @@ public class Interpreter extends FUIRContext
     else
       { // store tag and value separately
         LValue slot   = choice.at(vclazz, 0);
-        (new i32Value(tagNum)).storeNonRef(slot, 1);
+        (i32Value.of(tagNum)).storeNonRef(slot, 1);
       }
 
     setFieldSlot(thiz, vclazz, valSlot, v);
@@ -424,6 +762,32 @@ public class Interpreter extends FUIRContext
    * @return an LValue that refers directly to the memory for the field.
    */
   private static LValue fieldSlot(int thiz, int staticClazz, int fclazz, Value curValue)
+  {
+    return (LValue) fieldSlotOrScalar(thiz, staticClazz, fclazz, curValue, false);
+  }
+
+
+  /**
+   * Create an LValue that refers to the slot that contains this field or, for
+   * a field of numeric or bool type, load its value without creating an LValue.
+   *
+   * @param thiz the field to access.
+   *
+   * @param staticClazz is the static type of the clazz that contains the
+   * this field
+   *
+   * @param fclazz is the static type of the field
+   *
+   * @param curValue the Instance or LValue of the object that contains the
+   * loaded field
+   *
+   * @param scalar true to load the value using loadScalar, false to create an
+   * LValue.
+   *
+   * @return an LValue that refers directly to the memory for the field if
+   * !scalar, the loaded value otherwise.
+   */
+  private static Value fieldSlotOrScalar(int thiz, int staticClazz, int fclazz, Value curValue, boolean scalar)
   {
     var clazz = staticClazz;
     if (fuir().clazzIsRef(staticClazz))
@@ -439,7 +803,8 @@ public class Interpreter extends FUIRContext
         curValue = ((Boxed)curValue)._contents;
       }
     int off = Layout.get(clazz).offset(thiz);
-    return curValue.at(fclazz, off);
+    return scalar ? curValue.scalarAt(fclazz, off)
+                  : curValue.at(fclazz, off);
   }
 
 
@@ -576,6 +941,17 @@ public class Interpreter extends FUIRContext
        v instanceof u64Value ||
        v instanceof f32Value ||
        v instanceof f64Value   ) && fuir().clazzIsOuterRef(thiz)        /* e.g. outerref in integer.infix /-/ */ ||
+      (v instanceof i8Value ||
+       v instanceof i16Value ||
+       v instanceof i32Value ||
+       v instanceof i64Value ||
+       v instanceof u8Value ||
+       v instanceof u16Value ||
+       v instanceof u32Value ||
+       v instanceof u64Value ||
+       v instanceof f32Value ||
+       v instanceof f64Value ||
+       v instanceof boolValue  ) && isNumericOrBool(clazzForField(thiz))   /* see loadScalar */ ||
       v == null                  && fuir().clazzIsChoice(thiz)          /* Nil/Null boxed choice tag */ ||
       v == null                  && allowUninitializedRefField;
   }
@@ -20,22 +20,50 @@ Fuzion language implementation.  If not, see <https://www.gnu.org/licenses/>.
  *
  * Tokiwa Software GmbH, Germany
  *
- * Source of class TailCallException
+ * Source of class InterpreterOptions
  *
  *---------------------------------------------------------------------*/
 
 package dev.flang.be.interpreter;
 
-import dev.flang.util.List;
+import dev.flang.util.FuzionOptions;
 
-public class TailCallException extends RuntimeException {
 
-  public final Value tvalue;
-  public final List<Value> args;
+/**
+ * InterpreterOptions specify the configuration of the interpreter back end
+ */
+public class InterpreterOptions extends FuzionOptions
+{
 
-  public TailCallException(Value tvalue, List<Value> args)
+
+  /*----------------------------  variables  ----------------------------*/
+
+
+  /**
+   * Should the code of each clazz be compiled into a tree of closures on its
+   * first call instead of re-walking the FUIR sites on every call?
+   */
+  final boolean _closures;
+
+
+  /*--------------------------  constructors  ---------------------------*/
+
+
+  /**
+   * Constructor initializing fields as given.
+   */
+  public InterpreterOptions(FuzionOptions fo,
+                            boolean closures)
   {
-    this.tvalue = tvalue;
-    this.args = args;
+    super(fo);
+
+    setBackendArgs(fo.getBackendArgs());
+    _closures = closures;
   }
+
+
+  /*-----------------------------  methods  -----------------------------*/
+
 }
+
+/* end of file */
@@ -27,6 +27,7 @@ Fuzion language implementation.  If not, see <https://www.gnu.org/licenses/>.
 package dev.flang.be.interpreter;
 
 import java.io.IOException;
+import java.lang.invoke.VarHandle;
 import java.lang.reflect.Array;
 import java.net.InetSocketAddress;
 import java.nio.channels.DatagramChannel;
@@ -177,16 +178,6 @@ public class Intrinsics extends ANY
   }
 
 
-  /**
-   * Atomic intrinsics are made atomic using this lock.
-   *
-   * NYI: OPTIMIZATION: For atomic instances of types ref, i32, etc., we might
-   * implement this using jdk.internal.misc.Unsafe or
-   * java.util.concurrent.atomic.* to make these operations lock-free.
-   */
-  static final Object LOCK_FOR_ATOMIC = new Object();
-
-
   static
   {
     put("Type.name"            , (executor, innerClazz) -> args ->
@@ -199,16 +190,7 @@ public class Intrinsics extends ANY
           var thiz      = args.get(0);
           var expected  = args.get(1);
           var new_value = args.get(2);
-          synchronized (LOCK_FOR_ATOMIC)
-            {
-              var res = Interpreter.getField(f, a, thiz, false); // NYI: HACK: We must clone this!
-              if (Interpreter.compareField(f, a, thiz, expected))
-                {
-                  res = expected;   // NYI: HACK: workaround since res was not cloned
-                  Interpreter.setField(f, a, thiz, new_value);
-                }
-              return res;
-            }
+          return Interpreter.atomicCompareAndSwapField(f, a, thiz, expected, new_value);
         });
     put("concur.atomic.compare_and_set0",  (executor, innerClazz) -> args ->
         {
@@ -217,20 +199,12 @@ public class Intrinsics extends ANY
           var thiz      = args.get(0);
           var expected  = args.get(1);
           var new_value = args.get(2);
-          synchronized (LOCK_FOR_ATOMIC)
-            {
-              if (Interpreter.compareField(f, a, thiz, expected))
-                {
-                  Interpreter.setField(f, a, thiz, new_value);
-                  return new boolValue(true);
-                }
-              return new boolValue(false);
-            }
+          return boolValue.of(Interpreter.atomicCompareAndSetField(f, a, thiz, expected, new_value));
         });
     put("concur.atomic.racy_accesses_supported",  (executor, innerClazz) -> args ->
         {
           var t = executor.fuir().clazzActualGeneric(executor.fuir().clazzOuterClazz(innerClazz), 0);
-          return new boolValue
+          return boolValue.of
             (executor.fuir().clazzIsRef(t)                            ||
              (t == executor.fuir().clazz(SpecialClazzes.c_i8  )) ||
              (t == executor.fuir().clazz(SpecialClazzes.c_i16 )) ||
@@ -246,36 +220,32 @@ public class Intrinsics extends ANY
           var a = executor.fuir().clazzOuterClazz(innerClazz);
           var f = executor.fuir().lookupAtomicValue(a);
           var thiz = args.get(0);
-          synchronized (LOCK_FOR_ATOMIC)
-            {
-              return Interpreter.getField(f, a, thiz, false);
-            }
+          return Interpreter.atomicGetField(f, a, thiz);
         });
     put("concur.atomic.write0", (executor, innerClazz) -> args ->
         {
           var a = executor.fuir().clazzOuterClazz(innerClazz);
           var f = executor.fuir().lookupAtomicValue(a);
           var thiz = args.get(0);
-          synchronized (LOCK_FOR_ATOMIC)
-            {
-              Interpreter.setField(f, a, thiz, args.get(1));
-            }
+          Interpreter.atomicSetField(f, a, thiz, args.get(1));
           return Value.UNIT;
         });
 
+    // both fences need to order earlier stores with later loads, which only a
+    // full fence does
     put("concur.util.load_fence",   (executor, innerClazz) -> args ->
         {
-          synchronized (LOCK_FOR_ATOMIC) { };
+          VarHandle.fullFence();
           return Value.UNIT;
         });
 
     put("concur.util.store_fence",  (executor, innerClazz) -> args ->
         {
-          synchronized (LOCK_FOR_ATOMIC) { };
+          VarHandle.fullFence();
           return Value.UNIT;
         });
 
-    put("fuzion.sys.args.count", (executor, innerClazz) -> args -> new i32Value(executor.options().getBackendArgs().size() + 1));
+    put("fuzion.sys.args.count", (executor, innerClazz) -> args -> i32Value.of(executor.options().getBackendArgs().size() + 1));
     put("fuzion.sys.args.get"  , (executor, innerClazz) -> args ->
         {
           var i = args.get(1).i32Value();
@@ -307,7 +277,7 @@ public class Intrinsics extends ANY
     put("fuzion.jvm.is_null0", (executor, innerClazz) -> args ->
         {
           Object thiz = ((JavaRef)args.get(1))._javaRef;
-          return new boolValue(thiz == null);
+          return boolValue.of(thiz == null);
         });
     put("fuzion.jvm.get_static_field0",
         "fuzion.jvm.get_field0"      , (executor, innerClazz) ->
@@ -373,7 +343,7 @@ public class Intrinsics extends ANY
         });
     put("fuzion.jvm.array_length",  (executor, innerClazz) -> args ->
         {
-          return new i32Value(Array.getLength(((JavaRef) args.get(1))._javaRef));
+          return i32Value.of(Array.getLength(((JavaRef) args.get(1))._javaRef));
         });
     put("fuzion.jvm.array_get", (executor, innerClazz) -> args ->
         {
@@ -393,7 +363,7 @@ public class Intrinsics extends ANY
             ._data;
           return new JavaRef(res);
         });
-    put("fuzion.jvm.create_jvm", (executor, innerClazz) -> args -> new i32Value(0));
+    put("fuzion.jvm.create_jvm", (executor, innerClazz) -> args -> i32Value.of(0));
     put("fuzion.jvm.destroy_jvm", (executor, innerClazz) -> args -> Value.UNIT);
     put("fuzion.jvm.string_to_java_object0", (executor, innerClazz) -> args ->
         {
@@ -457,7 +427,7 @@ public class Intrinsics extends ANY
         {
           return Value.UNIT;
         });
-    put("fuzion.sys.env_vars.has0", (executor, innerClazz) -> args -> new boolValue(System.getenv(utf8ByteArrayDataToString(args.get(1))) != null));
+    put("fuzion.sys.env_vars.has0", (executor, innerClazz) -> args -> boolValue.of(System.getenv(utf8ByteArrayDataToString(args.get(1))) != null));
     put("fuzion.sys.env_vars.get0", (executor, innerClazz) -> args -> Interpreter.boxedConstString(System.getenv(utf8ByteArrayDataToString(args.get(1)))));
     put("fuzion.sys.thread.current", (executor, innerClazz) -> args ->
         {
@@ -494,171 +464,171 @@ public class Intrinsics extends ANY
                 }
             }
           while (!result);
-          return new i32Value(0);
+          return i32Value.of(0);
         });
     put("fuzion.sys.thread.set_policy", (executor, innerClazz) -> args ->
         {
-          return new i32Value(38 /* ENOSYS - Function not implemented */);
+          return i32Value.of(38 /* ENOSYS - Function not implemented */);
         });
     put("fuzion.sys.thread.set_affinity0", (executor, innerClazz) -> args ->
         {
-          return new i32Value(38 /* ENOSYS - Function not implemented */);
-        });
-
-    put("safety"                , (executor, innerClazz) -> args -> new boolValue(executor.options().fuzionSafety()));
-    put("debug"                 , (executor, innerClazz) -> args -> new boolValue(executor.options().fuzionDebug()));
-    put("debug_level"           , (executor, innerClazz) -> args -> new i32Value (executor.options().fuzionDebugLevel()));
-    put("i8.as_i32"             , (executor, innerClazz) -> args -> new i32Value (              (                           args.get(0).i8Value() )));
-    put("i8.cast_to_u8"         , (executor, innerClazz) -> args -> new u8Value  (       0xff & (                           args.get(0).i8Value() )));
-    put("i8.prefix -°"          , (executor, innerClazz) -> args -> new i8Value  ((int) (byte)  (                       -   args.get(0).i8Value() )));
-    put("i8.infix +°"           , (executor, innerClazz) -> args -> new i8Value  ((int) (byte)  (args.get(0).i8Value()  +   args.get(1).i8Value() )));
-    put("i8.infix -°"           , (executor, innerClazz) -> args -> new i8Value  ((int) (byte)  (args.get(0).i8Value()  -   args.get(1).i8Value() )));
-    put("i8.infix *°"           , (executor, innerClazz) -> args -> new i8Value  ((int) (byte)  (args.get(0).i8Value()  *   args.get(1).i8Value() )));
-    put("i8.div"                , (executor, innerClazz) -> args -> new i8Value  ((int) (byte)  (args.get(0).i8Value()  /   args.get(1).i8Value() )));
-    put("i8.mod"                , (executor, innerClazz) -> args -> new i8Value  ((int) (byte)  (args.get(0).i8Value()  %   args.get(1).i8Value() )));
-    put("i8.infix &"            , (executor, innerClazz) -> args -> new i8Value  (              (args.get(0).i8Value()  &   args.get(1).i8Value() )));
-    put("i8.infix |"            , (executor, innerClazz) -> args -> new i8Value  (              (args.get(0).i8Value()  |   args.get(1).i8Value() )));
-    put("i8.infix ^"            , (executor, innerClazz) -> args -> new i8Value  (              (args.get(0).i8Value()  ^   args.get(1).i8Value() )));
-    put("i8.infix >>"           , (executor, innerClazz) -> args -> new i8Value  (              (args.get(0).i8Value()  >>  args.get(1).i8Value() )));
-    put("i8.infix <<"           , (executor, innerClazz) -> args -> new i8Value  ((int) (byte)  (args.get(0).i8Value()  <<  args.get(1).i8Value() )));
-    put("i8.type.equality"      , (executor, innerClazz) -> args -> new boolValue(              (args.get(1).i8Value()  ==  args.get(2).i8Value() )));
-    put("i8.type.lteq"          , (executor, innerClazz) -> args -> new boolValue(              (args.get(1).i8Value()  <=  args.get(2).i8Value() )));
-    put("i16.as_i32"            , (executor, innerClazz) -> args -> new i32Value (              (                           args.get(0).i16Value())));
-    put("i16.cast_to_u16"       , (executor, innerClazz) -> args -> new u16Value (     0xffff & (                           args.get(0).i16Value())));
-    put("i16.prefix -°"         , (executor, innerClazz) -> args -> new i16Value ((int) (short) (                       -   args.get(0).i16Value())));
-    put("i16.infix +°"          , (executor, innerClazz) -> args -> new i16Value ((int) (short) (args.get(0).i16Value() +   args.get(1).i16Value())));
-    put("i16.infix -°"          , (executor, innerClazz) -> args -> new i16Value ((int) (short) (args.get(0).i16Value() -   args.get(1).i16Value())));
-    put("i16.infix *°"          , (executor, innerClazz) -> args -> new i16Value ((int) (short) (args.get(0).i16Value() *   args.get(1).i16Value())));
-    put("i16.div"               , (executor, innerClazz) -> args -> new i16Value ((int) (short) (args.get(0).i16Value() /   args.get(1).i16Value())));
-    put("i16.mod"               , (executor, innerClazz) -> args -> new i16Value ((int) (short) (args.get(0).i16Value() %   args.get(1).i16Value())));
-    put("i16.infix &"           , (executor, innerClazz) -> args -> new i16Value (              (args.get(0).i16Value() &   args.get(1).i16Value())));
-    put("i16.infix |"           , (executor, innerClazz) -> args -> new i16Value (              (args.get(0).i16Value() |   args.get(1).i16Value())));
-    put("i16.infix ^"           , (executor, innerClazz) -> args -> new i16Value (              (args.get(0).i16Value() ^   args.get(1).i16Value())));
-    put("i16.infix >>"          , (executor, innerClazz) -> args -> new i16Value (              (args.get(0).i16Value() >>  args.get(1).i16Value())));
-    put("i16.infix <<"          , (executor, innerClazz) -> args -> new i16Value ((int) (short) (args.get(0).i16Value() <<  args.get(1).i16Value())));
-    put("i16.type.equality"     , (executor, innerClazz) -> args -> new boolValue(              (args.get(1).i16Value() ==  args.get(2).i16Value())));
-    put("i16.type.lteq"         , (executor, innerClazz) -> args -> new boolValue(              (args.get(1).i16Value() <=  args.get(2).i16Value())));
-    put("i32.as_i64"            , (executor, innerClazz) -> args -> new i64Value ((long)        (                           args.get(0).i32Value())));
-    put("i32.cast_to_u32"       , (executor, innerClazz) -> args -> new u32Value (              (                           args.get(0).i32Value())));
+          return i32Value.of(38 /* ENOSYS - Function not implemented */);
+        });
+
+    put("safety"                , (executor, innerClazz) -> args -> boolValue.of(executor.options().fuzionSafety()));
+    put("debug"                 , (executor, innerClazz) -> args -> boolValue.of(executor.options().fuzionDebug()));
+    put("debug_level"           , (executor, innerClazz) -> args -> i32Value.of (executor.options().fuzionDebugLevel()));
+    put("i8.as_i32"             , (executor, innerClazz) -> args -> i32Value.of (              (                           args.get(0).i8Value() )));
+    put("i8.cast_to_u8"         , (executor, innerClazz) -> args -> u8Value.of  (       0xff & (                           args.get(0).i8Value() )));
+    put("i8.prefix -°"          , (executor, innerClazz) -> args -> i8Value.of  ((int) (byte)  (                       -   args.get(0).i8Value() )));
+    put("i8.infix +°"           , (executor, innerClazz) -> args -> i8Value.of  ((int) (byte)  (args.get(0).i8Value()  +   args.get(1).i8Value() )));
+    put("i8.infix -°"           , (executor, innerClazz) -> args -> i8Value.of  ((int) (byte)  (args.get(0).i8Value()  -   args.get(1).i8Value() )));
+    put("i8.infix *°"           , (executor, innerClazz) -> args -> i8Value.of  ((int) (byte)  (args.get(0).i8Value()  *   args.get(1).i8Value() )));
+    put("i8.div"                , (executor, innerClazz) -> args -> i8Value.of  ((int) (byte)  (args.get(0).i8Value()  /   args.get(1).i8Value() )));
+    put("i8.mod"                , (executor, innerClazz) -> args -> i8Value.of  ((int) (byte)  (args.get(0).i8Value()  %   args.get(1).i8Value() )));
+    put("i8.infix &"            , (executor, innerClazz) -> args -> i8Value.of  (              (args.get(0).i8Value()  &   args.get(1).i8Value() )));
+    put("i8.infix |"            , (executor, innerClazz) -> args -> i8Value.of  (              (args.get(0).i8Value()  |   args.get(1).i8Value() )));
+    put("i8.infix ^"            , (executor, innerClazz) -> args -> i8Value.of  (              (args.get(0).i8Value()  ^   args.get(1).i8Value() )));
+    put("i8.infix >>"           , (executor, innerClazz) -> args -> i8Value.of  (              (args.get(0).i8Value()  >>  args.get(1).i8Value() )));
+    put("i8.infix <<"           , (executor, innerClazz) -> args -> i8Value.of  ((int) (byte)  (args.get(0).i8Value()  <<  args.get(1).i8Value() )));
+    put("i8.type.equality"      , (executor, innerClazz) -> args -> boolValue.of(              (args.get(1).i8Value()  ==  args.get(2).i8Value() )));
+    put("i8.type.lteq"          , (executor, innerClazz) -> args -> boolValue.of(              (args.get(1).i8Value()  <=  args.get(2).i8Value() )));
+    put("i16.as_i32"            , (executor, innerClazz) -> args -> i32Value.of (              (                           args.get(0).i16Value())));
+    put("i16.cast_to_u16"       , (executor, innerClazz) -> args -> u16Value.of (     0xffff & (                           args.get(0).i16Value())));
+    put("i16.prefix -°"         , (executor, innerClazz) -> args -> i16Value.of ((int) (short) (                       -   args.get(0).i16Value())));
+    put("i16.infix +°"          , (executor, innerClazz) -> args -> i16Value.of ((int) (short) (args.get(0).i16Value() +   args.get(1).i16Value())));
+    put("i16.infix -°"          , (executor, innerClazz) -> args -> i16Value.of ((int) (short) (args.get(0).i16Value() -   args.get(1).i16Value())));
+    put("i16.infix *°"          , (executor, innerClazz) -> args -> i16Value.of ((int) (short) (args.get(0).i16Value() *   args.get(1).i16Value())));
+    put("i16.div"               , (executor, innerClazz) -> args -> i16Value.of ((int) (short) (args.get(0).i16Value() /   args.get(1).i16Value())));
+    put("i16.mod"               , (executor, innerClazz) -> args -> i16Value.of ((int) (short) (args.get(0).i16Value() %   args.get(1).i16Value())));
+    put("i16.infix &"           , (executor, innerClazz) -> args -> i16Value.of (              (args.get(0).i16Value() &   args.get(1).i16Value())));
+    put("i16.infix |"           , (executor, innerClazz) -> args -> i16Value.of (              (args.get(0).i16Value() |   args.get(1).i16Value())));
+    put("i16.infix ^"           , (executor, innerClazz) -> args -> i16Value.of (              (args.get(0).i16Value() ^   args.get(1).i16Value())));
+    put("i16.infix >>"          , (executor, innerClazz) -> args -> i16Value.of (              (args.get(0).i16Value() >>  args.get(1).i16Value())));
+    put("i16.infix <<"          , (executor, innerClazz) -> args -> i16Value.of ((int) (short) (args.get(0).i16Value() <<  args.get(1).i16Value())));
+    put("i16.type.equality"     , (executor, innerClazz) -> args -> boolValue.of(              (args.get(1).i16Value() ==  args.get(2).i16Value())));
+    put("i16.type.lteq"         , (executor, innerClazz) -> args -> boolValue.of(              (args.get(1).i16Value() <=  args.get(2).i16Value())));
+    put("i32.as_i64"            , (executor, innerClazz) -> args -> i64Value.of ((long)        (                           args.get(0).i32Value())));
+    put("i32.cast_to_u32"       , (executor, innerClazz) -> args -> u32Value.of (              (                           args.get(0).i32Value())));
     put("i32.as_f64"            , (executor, innerClazz) -> args -> new f64Value ((double)      (                           args.get(0).i32Value())));
-    put("i32.prefix -°"         , (executor, innerClazz) -> args -> new i32Value (              (                       -   args.get(0).i32Value())));
-    put("i32.infix +°"          , (executor, innerClazz) -> args -> new i32Value (              (args.get(0).i32Value() +   args.get(1).i32Value())));
-    put("i32.infix -°"          , (executor, innerClazz) -> args -> new i32Value (              (args.get(0).i32Value() -   args.get(1).i32Value())));
-    put("i32.infix *°"          , (executor, innerClazz) -> args -> new i32Value (              (args.get(0).i32Value() *   args.get(1).i32Value())));
-    put("i32.div"               , (executor, innerClazz) -> args -> new i32Value (              (args.get(0).i32Value() /   args.get(1).i32Value())));
-    put("i32.mod"               , (executor, innerClazz) -> args -> new i32Value (              (args.get(0).i32Value() %   args.get(1).i32Value())));
-    put("i32.infix &"           , (executor, innerClazz) -> args -> new i32Value (              (args.get(0).i32Value() &   args.get(1).i32Value())));
-    put("i32.infix |"           , (executor, innerClazz) -> args -> new i32Value (              (args.get(0).i32Value() |   args.get(1).i32Value())));
-    put("i32.infix ^"           , (executor, innerClazz) -> args -> new i32Value (              (args.get(0).i32Value() ^   args.get(1).i32Value())));
-    put("i32.infix >>"          , (executor, innerClazz) -> args -> new i32Value (              (args.get(0).i32Value() >>  args.get(1).i32Value())));
-    put("i32.infix <<"          , (executor, innerClazz) -> args -> new i32Value (              (args.get(0).i32Value() <<  args.get(1).i32Value())));
-    put("i32.type.equality"     , (executor, innerClazz) -> args -> new boolValue(              (args.get(1).i32Value() ==  args.get(2).i32Value())));
-    put("i32.type.lteq"         , (executor, innerClazz) -> args -> new boolValue(              (args.get(1).i32Value() <=  args.get(2).i32Value())));
-    put("i64.cast_to_u64"       , (executor, innerClazz) -> args -> new u64Value (              (                           args.get(0).i64Value())));
+    put("i32.prefix -°"         , (executor, innerClazz) -> args -> i32Value.of (              (                       -   args.get(0).i32Value())));
+    put("i32.infix +°"          , (executor, innerClazz) -> args -> i32Value.of (              (args.get(0).i32Value() +   args.get(1).i32Value())));
+    put("i32.infix -°"          , (executor, innerClazz) -> args -> i32Value.of (              (args.get(0).i32Value() -   args.get(1).i32Value())));
+    put("i32.infix *°"          , (executor, innerClazz) -> args -> i32Value.of (              (args.get(0).i32Value() *   args.get(1).i32Value())));
+    put("i32.div"               , (executor, innerClazz) -> args -> i32Value.of (              (args.get(0).i32Value() /   args.get(1).i32Value())));
+    put("i32.mod"               , (executor, innerClazz) -> args -> i32Value.of (              (args.get(0).i32Value() %   args.get(1).i32Value())));
+    put("i32.infix &"           , (executor, innerClazz) -> args -> i32Value.of (              (args.get(0).i32Value() &   args.get(1).i32Value())));
+    put("i32.infix |"           , (executor, innerClazz) -> args -> i32Value.of (              (args.get(0).i32Value() |   args.get(1).i32Value())));
+    put("i32.infix ^"           , (executor, innerClazz) -> args -> i32Value.of (              (args.get(0).i32Value() ^   args.get(1).i32Value())));
+    put("i32.infix >>"          , (executor, innerClazz) -> args -> i32Value.of (              (args.get(0).i32Value() >>  args.get(1).i32Value())));
+    put("i32.infix <<"          , (executor, innerClazz) -> args -> i32Value.of (              (args.get(0).i32Value() <<  args.get(1).i32Value())));
+    put("i32.type.equality"     , (executor, innerClazz) -> args -> boolValue.of(              (args.get(1).i32Value() ==  args.get(2).i32Value())));
+    put("i32.type.lteq"         , (executor, innerClazz) -> args -> boolValue.of(              (args.get(1).i32Value() <=  args.get(2).i32Value())));
+    put("i64.cast_to_u64"       , (executor, innerClazz) -> args -> u64Value.of (              (                           args.get(0).i64Value())));
     put("i64.as_f64"            , (executor, innerClazz) -> args -> new f64Value ((double)      (                           args.get(0).i64Value())));
-    put("i64.prefix -°"         , (executor, innerClazz) -> args -> new i64Value (              (                       -   args.get(0).i64Value())));
-    put("i64.infix +°"          , (executor, innerClazz) -> args -> new i64Value (              (args.get(0).i64Value() +   args.get(1).i64Value())));
-    put("i64.infix -°"          , (executor, innerClazz) -> args -> new i64Value (              (args.get(0).i64Value() -   args.get(1).i64Value())));
-    put("i64.infix *°"          , (executor, innerClazz) -> args -> new i64Value (              (args.get(0).i64Value() *   args.get(1).i64Value())));
-    put("i64.div"               , (executor, innerClazz) -> args -> new i64Value (              (args.get(0).i64Value() /   args.get(1).i64Value())));
-    put("i64.mod"               , (executor, innerClazz) -> args -> new i64Value (              (args.get(0).i64Value() %   args.get(1).i64Value())));
-    put("i64.infix &"           , (executor, innerClazz) -> args -> new i64Value (              (args.get(0).i64Value() &   args.get(1).i64Value())));
-    put("i64.infix |"           , (executor, innerClazz) -> args -> new i64Value (              (args.get(0).i64Value() |   args.get(1).i64Value())));
-    put("i64.infix ^"           , (executor, innerClazz) -> args -> new i64Value (              (args.get(0).i64Value() ^   args.get(1).i64Value())));
-    put("i64.infix >>"          , (executor, innerClazz) -> args -> new i64Value (              (args.get(0).i64Value() >>  args.get(1).i64Value())));
-    put("i64.infix <<"          , (executor, innerClazz) -> args -> new i64Value (              (args.get(0).i64Value() <<  args.get(1).i64Value())));
-    put("i64.type.equality"     , (executor, innerClazz) -> args -> new boolValue(              (args.get(1).i64Value() ==  args.get(2).i64Value())));
-    put("i64.type.lteq"         , (executor, innerClazz) -> args -> new boolValue(              (args.get(1).i64Value() <=  args.get(2).i64Value())));
-    put("u8.as_i32"             , (executor, innerClazz) -> args -> new i32Value (              (                           args.get(0).u8Value() )));
-    put("u8.cast_to_i8"         , (executor, innerClazz) -> args -> new i8Value  ((int) (byte)  (                           args.get(0).u8Value() )));
-    put("u8.prefix -°"          , (executor, innerClazz) -> args -> new u8Value  (       0xff & (                       -   args.get(0).u8Value() )));
-    put("u8.infix +°"           , (executor, innerClazz) -> args -> new u8Value  (       0xff & (args.get(0).u8Value()  +   args.get(1).u8Value() )));
-    put("u8.infix -°"           , (executor, innerClazz) -> args -> new u8Value  (       0xff & (args.get(0).u8Value()  -   args.get(1).u8Value() )));
-    put("u8.infix *°"           , (executor, innerClazz) -> args -> new u8Value  (       0xff & (args.get(0).u8Value()  *   args.get(1).u8Value() )));
-    put("u8.div"                , (executor, innerClazz) -> args -> new u8Value  (Integer.divideUnsigned   (args.get(0).u8Value(), args.get(1).u8Value())));
-    put("u8.mod"                , (executor, innerClazz) -> args -> new u8Value  (Integer.remainderUnsigned(args.get(0).u8Value(), args.get(1).u8Value())));
-    put("u8.infix &"            , (executor, innerClazz) -> args -> new u8Value  (              (args.get(0).u8Value()  &   args.get(1).u8Value() )));
-    put("u8.infix |"            , (executor, innerClazz) -> args -> new u8Value  (              (args.get(0).u8Value()  |   args.get(1).u8Value() )));
-    put("u8.infix ^"            , (executor, innerClazz) -> args -> new u8Value  (              (args.get(0).u8Value()  ^   args.get(1).u8Value() )));
-    put("u8.infix >>"           , (executor, innerClazz) -> args -> new u8Value  (              (args.get(0).u8Value()  >>> args.get(1).u8Value() )));
-    put("u8.infix <<"           , (executor, innerClazz) -> args -> new u8Value  (       0xff & (args.get(0).u8Value()  <<  args.get(1).u8Value() )));
-    put("u8.type.equality"      , (executor, innerClazz) -> args -> new boolValue(              (args.get(1).u8Value()  ==  args.get(2).u8Value() )));
-    put("u8.type.lteq"          , (executor, innerClazz) -> args -> new boolValue(Integer.compareUnsigned(args.get(1).u8Value(), args.get(2).u8Value()) <= 0));
-    put("u16.as_i32"            , (executor, innerClazz) -> args -> new i32Value (              (                           args.get(0).u16Value())));
-    put("u16.low8bits"          , (executor, innerClazz) -> args -> new u8Value  (       0xff & (                           args.get(0).u16Value())));
-    put("u16.cast_to_i16"       , (executor, innerClazz) -> args -> new i16Value ((short)       (                           args.get(0).u16Value())));
-    put("u16.prefix -°"         , (executor, innerClazz) -> args -> new u16Value (     0xffff & (                       -   args.get(0).u16Value())));
-    put("u16.infix +°"          , (executor, innerClazz) -> args -> new u16Value (     0xffff & (args.get(0).u16Value() +   args.get(1).u16Value())));
-    put("u16.infix -°"          , (executor, innerClazz) -> args -> new u16Value (     0xffff & (args.get(0).u16Value() -   args.get(1).u16Value())));
-    put("u16.infix *°"          , (executor, innerClazz) -> args -> new u16Value (     0xffff & (args.get(0).u16Value() *   args.get(1).u16Value())));
-    put("u16.div"               , (executor, innerClazz) -> args -> new u16Value (Integer.divideUnsigned   (args.get(0).u16Value(), args.get(1).u16Value())));
-    put("u16.mod"               , (executor, innerClazz) -> args -> new u16Value (Integer.remainderUnsigned(args.get(0).u16Value(), args.get(1).u16Value())));
-    put("u16.infix &"           , (executor, innerClazz) -> args -> new u16Value (              (args.get(0).u16Value() &   args.get(1).u16Value())));
-    put("u16.infix |"           , (executor, innerClazz) -> args -> new u16Value (              (args.get(0).u16Value() |   args.get(1).u16Value())));
-    put("u16.infix ^"           , (executor, innerClazz) -> args -> new u16Value (              (args.get(0).u16Value() ^   args.get(1).u16Value())));
-    put("u16.infix >>"          , (executor, innerClazz) -> args -> new u16Value (              (args.get(0).u16Value() >>> args.get(1).u16Value())));
-    put("u16.infix <<"          , (executor, innerClazz) -> args -> new u16Value (     0xffff & (args.get(0).u16Value() <<  args.get(1).u16Value())));
-    put("u16.type.equality"     , (executor, innerClazz) -> args -> new boolValue(              (args.get(1).u16Value() ==  args.get(2).u16Value())));
-    put("u16.type.lteq"         , (executor, innerClazz) -> args -> new boolValue(Integer.compareUnsigned(args.get(1).u16Value(), args.get(2).u16Value()) <= 0));
-    put("u32.as_i64"            , (executor, innerClazz) -> args -> new i64Value (Integer.toUnsignedLong(args.get(0).u32Value())));
-    put("u32.low8bits"          , (executor, innerClazz) -> args -> new u8Value  (       0xff & (                           args.get(0).u32Value())));
-    put("u32.low16bits"         , (executor, innerClazz) -> args -> new u16Value (     0xffff & (                           args.get(0).u32Value())));
-    put("u32.cast_to_i32"       , (executor, innerClazz) -> args -> new i32Value (              (                           args.get(0).u32Value())));
+    put("i64.prefix -°"         , (executor, innerClazz) -> args -> i64Value.of (              (                       -   args.get(0).i64Value())));
+    put("i64.infix +°"          , (executor, innerClazz) -> args -> i64Value.of (              (args.get(0).i64Value() +   args.get(1).i64Value())));
+    put("i64.infix -°"          , (executor, innerClazz) -> args -> i64Value.of (              (args.get(0).i64Value() -   args.get(1).i64Value())));
+    put("i64.infix *°"          , (executor, innerClazz) -> args -> i64Value.of (              (args.get(0).i64Value() *   args.get(1).i64Value())));
+    put("i64.div"               , (executor, innerClazz) -> args -> i64Value.of (              (args.get(0).i64Value() /   args.get(1).i64Value())));
+    put("i64.mod"               , (executor, innerClazz) -> args -> i64Value.of (              (args.get(0).i64Value() %   args.get(1).i64Value())));
+    put("i64.infix &"           , (executor, innerClazz) -> args -> i64Value.of (              (args.get(0).i64Value() &   args.get(1).i64Value())));
+    put("i64.infix |"           , (executor, innerClazz) -> args -> i64Value.of (              (args.get(0).i64Value() |   args.get(1).i64Value())));
+    put("i64.infix ^"           , (executor, innerClazz) -> args -> i64Value.of (              (args.get(0).i64Value() ^   args.get(1).i64Value())));
+    put("i64.infix >>"          , (executor, innerClazz) -> args -> i64Value.of (              (args.get(0).i64Value() >>  args.get(1).i64Value())));
+    put("i64.infix <<"          , (executor, innerClazz) -> args -> i64Value.of (              (args.get(0).i64Value() <<  args.get(1).i64Value())));
+    put("i64.type.equality"     , (executor, innerClazz) -> args -> boolValue.of(              (args.get(1).i64Value() ==  args.get(2).i64Value())));
+    put("i64.type.lteq"         , (executor, innerClazz) -> args -> boolValue.of(              (args.get(1).i64Value() <=  args.get(2).i64Value())));
+    put("u8.as_i32"             , (executor, innerClazz) -> args -> i32Value.of (              (                           args.get(0).u8Value() )));
+    put("u8.cast_to_i8"         , (executor, innerClazz) -> args -> i8Value.of  ((int) (byte)  (                           args.get(0).u8Value() )));
+    put("u8.prefix -°"          , (executor, innerClazz) -> args -> u8Value.of  (       0xff & (                       -   args.get(0).u8Value() )));
+    put("u8.infix +°"           , (executor, innerClazz) -> args -> u8Value.of  (       0xff & (args.get(0).u8Value()  +   args.get(1).u8Value() )));
+    put("u8.infix -°"           , (executor, innerClazz) -> args -> u8Value.of  (       0xff & (args.get(0).u8Value()  -   args.get(1).u8Value() )));
+    put("u8.infix *°"           , (executor, innerClazz) -> args -> u8Value.of  (       0xff & (args.get(0).u8Value()  *   args.get(1).u8Value() )));
+    put("u8.div"                , (executor, innerClazz) -> args -> u8Value.of  (Integer.divideUnsigned   (args.get(0).u8Value(), args.get(1).u8Value())));
+    put("u8.mod"                , (executor, innerClazz) -> args -> u8Value.of  (Integer.remainderUnsigned(args.get(0).u8Value(), args.get(1).u8Value())));
+    put("u8.infix &"            , (executor, innerClazz) -> args -> u8Value.of  (              (args.get(0).u8Value()  &   args.get(1).u8Value() )));
+    put("u8.infix |"            , (executor, innerClazz) -> args -> u8Value.of  (              (args.get(0).u8Value()  |   args.get(1).u8Value() )));
+    put("u8.infix ^"            , (executor, innerClazz) -> args -> u8Value.of  (              (args.get(0).u8Value()  ^   args.get(1).u8Value() )));
+    put("u8.infix >>"           , (executor, innerClazz) -> args -> u8Value.of  (              (args.get(0).u8Value()  >>> args.get(1).u8Value() )));
+    put("u8.infix <<"           , (executor, innerClazz) -> args -> u8Value.of  (       0xff & (args.get(0).u8Value()  <<  args.get(1).u8Value() )));
+    put("u8.type.equality"      , (executor, innerClazz) -> args -> boolValue.of(              (args.get(1).u8Value()  ==  args.get(2).u8Value() )));
+    put("u8.type.lteq"          , (executor, innerClazz) -> args -> boolValue.of(Integer.compareUnsigned(args.get(1).u8Value(), args.get(2).u8Value()) <= 0));
+    put("u16.as_i32"            , (executor, innerClazz) -> args -> i32Value.of (              (                           args.get(0).u16Value())));
+    put("u16.low8bits"          , (executor, innerClazz) -> args -> u8Value.of  (       0xff & (                           args.get(0).u16Value())));
+    put("u16.cast_to_i16"       , (executor, innerClazz) -> args -> i16Value.of ((short)       (                           args.get(0).u16Value())));
+    put("u16.prefix -°"         , (executor, innerClazz) -> args -> u16Value.of (     0xffff & (                       -   args.get(0).u16Value())));
+    put("u16.infix +°"          , (executor, innerClazz) -> args -> u16Value.of (     0xffff & (args.get(0).u16Value() +   args.get(1).u16Value())));
+    put("u16.infix -°"          , (executor, innerClazz) -> args -> u16Value.of (     0xffff & (args.get(0).u16Value() -   args.get(1).u16Value())));
+    put("u16.infix *°"          , (executor, innerClazz) -> args -> u16Value.of (     0xffff & (args.get(0).u16Value() *   args.get(1).u16Value())));
+    put("u16.div"               , (executor, innerClazz) -> args -> u16Value.of (Integer.divideUnsigned   (args.get(0).u16Value(), args.get(1).u16Value())));
+    put("u16.mod"               , (executor, innerClazz) -> args -> u16Value.of (Integer.remainderUnsigned(args.get(0).u16Value(), args.get(1).u16Value())));
+    put("u16.infix &"           , (executor, innerClazz) -> args -> u16Value.of (              (args.get(0).u16Value() &   args.get(1).u16Value())));
+    put("u16.infix |"           , (executor, innerClazz) -> args -> u16Value.of (              (args.get(0).u16Value() |   args.get(1).u16Value())));
+    put("u16.infix ^"           , (executor, innerClazz) -> args -> u16Value.of (              (args.get(0).u16Value() ^   args.get(1).u16Value())));
+    put("u16.infix >>"          , (executor, innerClazz) -> args -> u16Value.of (              (args.get(0).u16Value() >>> args.get(1).u16Value())));
+    put("u16.infix <<"          , (executor, innerClazz) -> args -> u16Value.of (     0xffff & (args.get(0).u16Value() <<  args.get(1).u16Value())));
+    put("u16.type.equality"     , (executor, innerClazz) -> args -> boolValue.of(              (args.get(1).u16Value() ==  args.get(2).u16Value())));
+    put("u16.type.lteq"         , (executor, innerClazz) -> args -> boolValue.of(Integer.compareUnsigned(args.get(1).u16Value(), args.get(2).u16Value()) <= 0));
+    put("u32.as_i64"            , (executor, innerClazz) -> args -> i64Value.of (Integer.toUnsignedLong(args.get(0).u32Value())));
+    put("u32.low8bits"          , (executor, innerClazz) -> args -> u8Value.of  (       0xff & (                           args.get(0).u32Value())));
+    put("u32.low16bits"         , (executor, innerClazz) -> args -> u16Value.of (     0xffff & (                           args.get(0).u32Value())));
+    put("u32.cast_to_i32"       , (executor, innerClazz) -> args -> i32Value.of (              (                           args.get(0).u32Value())));
     put("u32.as_f64"            , (executor, innerClazz) -> args -> new f64Value ((double)      Integer.toUnsignedLong(     args.get(0).u32Value())));
     put("u32.cast_to_f32"       , (executor, innerClazz) -> args -> new f32Value (              Float.intBitsToFloat(       args.get(0).u32Value())));
-    put("u32.prefix -°"         , (executor, innerClazz) -> args -> new u32Value (              (                       -   args.get(0).u32Value())));
-    put("u32.infix +°"          , (executor, innerClazz) -> args -> new u32Value (              (args.get(0).u32Value() +   args.get(1).u32Value())));
-    put("u32.infix -°"          , (executor, innerClazz) -> args -> new u32Value (              (args.get(0).u32Value() -   args.get(1).u32Value())));
-    put("u32.infix *°"          , (executor, innerClazz) -> args -> new u32Value (              (args.get(0).u32Value() *   args.get(1).u32Value())));
-    put("u32.div"               , (executor, innerClazz) -> args -> new u32Value (Integer.divideUnsigned   (args.get(0).u32Value(), args.get(1).u32Value())));
-    put("u32.mod"               , (executor, innerClazz) -> args -> new u32Value (Integer.remainderUnsigned(args.get(0).u32Value(), args.get(1).u32Value())));
-    put("u32.infix &"           , (executor, innerClazz) -> args -> new u32Value (              (args.get(0).u32Value() &   args.get(1).u32Value())));
-    put("u32.infix |"           , (executor, innerClazz) -> args -> new u32Value (              (args.get(0).u32Value() |   args.get(1).u32Value())));
-    put("u32.infix ^"           , (executor, innerClazz) -> args -> new u32Value (              (args.get(0).u32Value() ^   args.get(1).u32Value())));
-    put("u32.infix >>"          , (executor, innerClazz) -> args -> new u32Value (              (args.get(0).u32Value() >>> args.get(1).u32Value())));
-    put("u32.infix <<"          , (executor, innerClazz) -> args -> new u32Value (              (args.get(0).u32Value() <<  args.get(1).u32Value())));
-    put("u32.type.equality"     , (executor, innerClazz) -> args -> new boolValue(              (args.get(1).u32Value() ==  args.get(2).u32Value())));
-    put("u32.type.lteq"         , (executor, innerClazz) -> args -> new boolValue(Integer.compareUnsigned(args.get(1).u32Value(), args.get(2).u32Value()) <= 0));
-    put("u64.low8bits"          , (executor, innerClazz) -> args -> new u8Value  (       0xff & ((int)                      args.get(0).u64Value())));
-    put("u64.low16bits"         , (executor, innerClazz) -> args -> new u16Value (     0xffff & ((int)                      args.get(0).u64Value())));
-    put("u64.low32bits"         , (executor, innerClazz) -> args -> new u32Value ((int)         (                           args.get(0).u64Value())));
-    put("u64.cast_to_i64"       , (executor, innerClazz) -> args -> new i64Value (              (                           args.get(0).u64Value())));
+    put("u32.prefix -°"         , (executor, innerClazz) -> args -> u32Value.of (              (                       -   args.get(0).u32Value())));
+    put("u32.infix +°"          , (executor, innerClazz) -> args -> u32Value.of (              (args.get(0).u32Value() +   args.get(1).u32Value())));
+    put("u32.infix -°"          , (executor, innerClazz) -> args -> u32Value.of (              (args.get(0).u32Value() -   args.get(1).u32Value())));
+    put("u32.infix *°"          , (executor, innerClazz) -> args -> u32Value.of (              (args.get(0).u32Value() *   args.get(1).u32Value())));
+    put("u32.div"               , (executor, innerClazz) -> args -> u32Value.of (Integer.divideUnsigned   (args.get(0).u32Value(), args.get(1).u32Value())));
+    put("u32.mod"               , (executor, innerClazz) -> args -> u32Value.of (Integer.remainderUnsigned(args.get(0).u32Value(), args.get(1).u32Value())));
+    put("u32.infix &"           , (executor, innerClazz) -> args -> u32Value.of (              (args.get(0).u32Value() &   args.get(1).u32Value())));
+    put("u32.infix |"           , (executor, innerClazz) -> args -> u32Value.of (              (args.get(0).u32Value() |   args.get(1).u32Value())));
+    put("u32.infix ^"           , (executor, innerClazz) -> args -> u32Value.of (              (args.get(0).u32Value() ^   args.get(1).u32Value())));
+    put("u32.infix >>"          , (executor, innerClazz) -> args -> u32Value.of (              (args.get(0).u32Value() >>> args.get(1).u32Value())));
+    put("u32.infix <<"          , (executor, innerClazz) -> args -> u32Value.of (              (args.get(0).u32Value() <<  args.get(1).u32Value())));
+    put("u32.type.equality"     , (executor, innerClazz) -> args -> boolValue.of(              (args.get(1).u32Value() ==  args.get(2).u32Value())));
+    put("u32.type.lteq"         , (executor, innerClazz) -> args -> boolValue.of(Integer.compareUnsigned(args.get(1).u32Value(), args.get(2).u32Value()) <= 0));
+    put("u64.low8bits"          , (executor, innerClazz) -> args -> u8Value.of  (       0xff & ((int)                      args.get(0).u64Value())));
+    put("u64.low16bits"         , (executor, innerClazz) -> args -> u16Value.of (     0xffff & ((int)                      args.get(0).u64Value())));
+    put("u64.low32bits"         , (executor, innerClazz) -> args -> u32Value.of ((int)         (                           args.get(0).u64Value())));
+    put("u64.cast_to_i64"       , (executor, innerClazz) -> args -> i64Value.of (              (                           args.get(0).u64Value())));
     put("u64.as_f64"            , (executor, innerClazz) -> args -> new f64Value (Double.parseDouble(Long.toUnsignedString(args.get(0).u64Value()))));
     put("u64.cast_to_f64"       , (executor, innerClazz) -> args -> new f64Value (              Double.longBitsToDouble(    args.get(0).u64Value())));
-    put("u64.prefix -°"         , (executor, innerClazz) -> args -> new u64Value (              (                       -   args.get(0).u64Value())));
-    put("u64.infix +°"          , (executor, innerClazz) -> args -> new u64Value (              (args.get(0).u64Value() +   args.get(1).u64Value())));
-    put("u64.infix -°"          , (executor, innerClazz) -> args -> new u64Value (              (args.get(0).u64Value() -   args.get(1).u64Value())));
-    put("u64.infix *°"          , (executor, innerClazz) -> args -> new u64Value (              (args.get(0).u64Value() *   args.get(1).u64Value())));
-    put("u64.div"               , (executor, innerClazz) -> args -> new u64Value (Long.divideUnsigned   (args.get(0).u64Value(), args.get(1).u64Value())));
-    put("u64.mod"               , (executor, innerClazz) -> args -> new u64Value (Long.remainderUnsigned(args.get(0).u64Value(), args.get(1).u64Value())));
-    put("u64.infix &"           , (executor, innerClazz) -> args -> new u64Value (              (args.get(0).u64Value() &   args.get(1).u64Value())));
-    put("u64.infix |"           , (executor, innerClazz) -> args -> new u64Value (              (args.get(0).u64Value() |   args.get(1).u64Value())));
-    put("u64.infix ^"           , (executor, innerClazz) -> args -> new u64Value (              (args.get(0).u64Value() ^   args.get(1).u64Value())));
-    put("u64.infix >>"          , (executor, innerClazz) -> args -> new u64Value (              (args.get(0).u64Value() >>> args.get(1).u64Value())));
-    put("u64.infix <<"          , (executor, innerClazz) -> args -> new u64Value (              (args.get(0).u64Value() <<  args.get(1).u64Value())));
-    put("u64.type.equality"     , (executor, innerClazz) -> args -> new boolValue(              (args.get(1).u64Value() ==  args.get(2).u64Value())));
-    put("u64.type.lteq"         , (executor, innerClazz) -> args -> new boolValue(Long.compareUnsigned(args.get(1).u64Value(), args.get(2).u64Value()) <= 0));
+    put("u64.prefix -°"         , (executor, innerClazz) -> args -> u64Value.of (              (                       -   args.get(0).u64Value())));
+    put("u64.infix +°"          , (executor, innerClazz) -> args -> u64Value.of (              (args.get(0).u64Value() +   args.get(1).u64Value())));
+    put("u64.infix -°"          , (executor, innerClazz) -> args -> u64Value.of (              (args.get(0).u64Value() -   args.get(1).u64Value())));
+    put("u64.infix *°"          , (executor, innerClazz) -> args -> u64Value.of (              (args.get(0).u64Value() *   args.get(1).u64Value())));
+    put("u64.div"               , (executor, innerClazz) -> args -> u64Value.of (Long.divideUnsigned   (args.get(0).u64Value(), args.get(1).u64Value())));
+    put("u64.mod"               , (executor, innerClazz) -> args -> u64Value.of (Long.remainderUnsigned(args.get(0).u64Value(), args.get(1).u64Value())));
+    put("u64.infix &"           , (executor, innerClazz) -> args -> u64Value.of (              (args.get(0).u64Value() &   args.get(1).u64Value())));
+    put("u64.infix |"           , (executor, innerClazz) -> args -> u64Value.of (              (args.get(0).u64Value() |   args.get(1).u64Value())));
+    put("u64.infix ^"           , (executor, innerClazz) -> args -> u64Value.of (              (args.get(0).u64Value() ^   args.get(1).u64Value())));
+    put("u64.infix >>"          , (executor, innerClazz) -> args -> u64Value.of (              (args.get(0).u64Value() >>> args.get(1).u64Value())));
+    put("u64.infix <<"          , (executor, innerClazz) -> args -> u64Value.of (              (args.get(0).u64Value() <<  args.get(1).u64Value())));
+    put("u64.type.equality"     , (executor, innerClazz) -> args -> boolValue.of(              (args.get(1).u64Value() ==  args.get(2).u64Value())));
+    put("u64.type.lteq"         , (executor, innerClazz) -> args -> boolValue.of(Long.compareUnsigned(args.get(1).u64Value(), args.get(2).u64Value()) <= 0));
     put("f32.prefix -"          , (executor, innerClazz) -> args -> new f32Value (                (                       -  args.get(0).f32Value())));
     put("f32.infix +"           , (executor, innerClazz) -> args -> new f32Value (                (args.get(0).f32Value() +  args.get(1).f32Value())));
     put("f32.infix -"           , (executor, innerClazz) -> args -> new f32Value (                (args.get(0).f32Value() -  args.get(1).f32Value())));
     put("f32.infix *"           , (executor, innerClazz) -> args -> new f32Value (                (args.get(0).f32Value() *  args.get(1).f32Value())));
     put("f32.infix /"           , (executor, innerClazz) -> args -> new f32Value (                (args.get(0).f32Value() /  args.get(1).f32Value())));
-    put("f32.type.equal"        , (executor, innerClazz) -> args -> new boolValue(                (args.get(1).f32Value() == args.get(2).f32Value())));
+    put("f32.type.equal"        , (executor, innerClazz) -> args -> boolValue.of(                (args.get(1).f32Value() == args.get(2).f32Value())));
     put("f32.type.lower_than_or_equal"
-                                , (executor, innerClazz) -> args -> new boolValue(                (args.get(1).f32Value() <= args.get(2).f32Value())));
+                                , (executor, innerClazz) -> args -> boolValue.of(                (args.get(1).f32Value() <= args.get(2).f32Value())));
     put("f32.as_f64"            , (executor, innerClazz) -> args -> new f64Value((double)                                    args.get(0).f32Value() ));
-    put("f32.cast_to_u32"       , (executor, innerClazz) -> args -> new u32Value (    Float.floatToIntBits(                  args.get(0).f32Value())));
+    put("f32.cast_to_u32"       , (executor, innerClazz) -> args -> u32Value.of (    Float.floatToIntBits(                  args.get(0).f32Value())));
     put("f64.prefix -"          , (executor, innerClazz) -> args -> new f64Value (                (                       -  args.get(0).f64Value())));
     put("f64.infix +"           , (executor, innerClazz) -> args -> new f64Value (                (args.get(0).f64Value() +  args.get(1).f64Value())));
     put("f64.infix -"           , (executor, innerClazz) -> args -> new f64Value (                (args.get(0).f64Value() -  args.get(1).f64Value())));
     put("f64.infix *"           , (executor, innerClazz) -> args -> new f64Value (                (args.get(0).f64Value() *  args.get(1).f64Value())));
     put("f64.infix /"           , (executor, innerClazz) -> args -> new f64Value (                (args.get(0).f64Value() /  args.get(1).f64Value())));
-    put("f64.type.equal"        , (executor, innerClazz) -> args -> new boolValue(                (args.get(1).f64Value() == args.get(2).f64Value())));
+    put("f64.type.equal"        , (executor, innerClazz) -> args -> boolValue.of(                (args.get(1).f64Value() == args.get(2).f64Value())));
     put("f64.type.lower_than_or_equal"
-                                , (executor, innerClazz) -> args -> new boolValue(                (args.get(1).f64Value() <= args.get(2).f64Value())));
-    put("f64.as_i64_lax"        , (executor, innerClazz) -> args -> new i64Value((long)                                      args.get(0).f64Value() ));
+                                , (executor, innerClazz) -> args -> boolValue.of(                (args.get(1).f64Value() <= args.get(2).f64Value())));
+    put("f64.as_i64_lax"        , (executor, innerClazz) -> args -> i64Value.of((long)                                      args.get(0).f64Value() ));
     put("f64.as_f32"            , (executor, innerClazz) -> args -> new f32Value((float)                                     args.get(0).f64Value() ));
-    put("f64.cast_to_u64"       , (executor, innerClazz) -> args -> new u64Value (    Double.doubleToLongBits(               args.get(0).f64Value())));
+    put("f64.cast_to_u64"       , (executor, innerClazz) -> args -> u64Value.of (    Double.doubleToLongBits(               args.get(0).f64Value())));
     put("effect.type.abort0"                 ,
         "effect.type.instate_at_singularity0",
         FuzionConstants.EFFECT_INSTATE_NAME  ,
@@ -695,19 +665,19 @@ public class Intrinsics extends ANY
     });
     put("concur.sync.mtx_lock", (executor, innerClazz) -> args -> {
       ((ReentrantLock) ((JavaRef) args.get(1))._javaRef).lock();
-      return new boolValue(true);
+      return boolValue.of(true);
     });
-    put("concur.sync.mtx_trylock", (executor, innerClazz) -> args -> new boolValue(
+    put("concur.sync.mtx_trylock", (executor, innerClazz) -> args -> boolValue.of(
       ((ReentrantLock) ((JavaRef) args.get(1))._javaRef).tryLock()));
     put("concur.sync.mtx_unlock", (executor, innerClazz) -> args -> {
       try
         {
           ((ReentrantLock) ((JavaRef) args.get(1))._javaRef).unlock();
-          return new boolValue(true);
+          return boolValue.of(true);
         }
       catch (IllegalMonitorStateException e)
         {
-          return new boolValue(false);
+          return boolValue.of(false);
         }
     });
     put("concur.sync.mtx_destroy", (executor, innerClazz) -> args -> Value.UNIT);
@@ -859,7 +829,7 @@ public class Intrinsics extends ANY
                 }
             }
             break;
-          case "effect.type.is_instated0": return new boolValue(effects.get(ecl) != null /* NOTE not containsKey since ecl may map to null! */ );
+          case "effect.type.is_instated0": return boolValue.of(effects.get(ecl) != null /* NOTE not containsKey since ecl may map to null! */ );
           case "effect.type.set0"        : check(fuir.clazzIsUnitType(ecl) || ev != Value.UNIT);
                                            effects.put(ecl, ev);   break;
           case "effect.type.remove0"     : effects.put(ecl, null); break;
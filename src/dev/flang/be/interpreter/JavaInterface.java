@@ -185,17 +185,17 @@ public class JavaInterface extends FUIRContext
 
     return switch (fuir().getSpecialClazz(rc))
       {
-        case SpecialClazzes.c_i8 -> o instanceof Byte b ? new i8Value(b): new i8Value(((Value) o).i8Value());
-        case SpecialClazzes.c_u8 -> o instanceof Byte b ? new u8Value(b): new u8Value(((Value) o).u8Value());
-        case SpecialClazzes.c_u16 -> o instanceof Character c ? new u16Value(c): new u16Value(((Value) o).u16Value());
-        case SpecialClazzes.c_i16 -> o instanceof Short s ? new i16Value(s): new i16Value(((Value) o).i16Value());
-        case SpecialClazzes.c_u32 -> o instanceof Integer i ? new u32Value(i): new u32Value(((Value) o).u32Value());
-        case SpecialClazzes.c_i32 -> o instanceof Integer i ? new i32Value(i): new i32Value(((Value) o).i32Value());
-        case SpecialClazzes.c_i64 -> o instanceof Long j ? new i64Value(j): new i64Value(((Value) o).i64Value());
-        case SpecialClazzes.c_u64 -> o instanceof Long j ? new u64Value(j): new u64Value(((Value) o).u64Value());
+        case SpecialClazzes.c_i8 -> o instanceof Byte b ? i8Value.of(b): i8Value.of(((Value) o).i8Value());
+        case SpecialClazzes.c_u8 -> o instanceof Byte b ? u8Value.of(b): u8Value.of(((Value) o).u8Value());
+        case SpecialClazzes.c_u16 -> o instanceof Character c ? u16Value.of(c): u16Value.of(((Value) o).u16Value());
+        case SpecialClazzes.c_i16 -> o instanceof Short s ? i16Value.of(s): i16Value.of(((Value) o).i16Value());
+        case SpecialClazzes.c_u32 -> o instanceof Integer i ? u32Value.of(i): u32Value.of(((Value) o).u32Value());
+        case SpecialClazzes.c_i32 -> o instanceof Integer i ? i32Value.of(i): i32Value.of(((Value) o).i32Value());
+        case SpecialClazzes.c_i64 -> o instanceof Long j ? i64Value.of(j): i64Value.of(((Value) o).i64Value());
+        case SpecialClazzes.c_u64 -> o instanceof Long j ? u64Value.of(j): u64Value.of(((Value) o).u64Value());
         case SpecialClazzes.c_f32 -> o instanceof Float f ? new f32Value(f.floatValue()): new f32Value(((Value) o).f32Value());
         case SpecialClazzes.c_f64 -> o instanceof Double d ? new f64Value(d.doubleValue()): new f64Value(((Value) o).f64Value());
-        case SpecialClazzes.c_bool -> o instanceof Boolean z ? new boolValue(z): new boolValue(((Value) o).boolValue());
+        case SpecialClazzes.c_bool -> o instanceof Boolean z ? boolValue.of(z): boolValue.of(((Value) o).boolValue());
         // NYI: UNDER DEVELOPMENT: remove this, abusing javaObjectToPlainInstance in mtx_*, cnd_* intrinsics
         case SpecialClazzes.c_Mutex -> new JavaRef(o);
         case SpecialClazzes.c_Condition -> new JavaRef(o);
@@ -0,0 +1,164 @@
+/*
+
+This file is part of the Fuzion language implementation.
+
+The Fuzion language implementation is free software: you can redistribute it
+and/or modify it under the terms of the GNU General Public License as published
+by the Free Software Foundation, version 3 of the License.
+
+The Fuzion language implementation is distributed in the hope that it will be
+useful, but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public
+License for more details.
+
+You should have received a copy of the GNU General Public License along with The
+Fuzion language implementation.  If not, see <https://www.gnu.org/licenses/>.
+
+*/
+
+/*-----------------------------------------------------------------------
+ *
+ * Tokiwa Software GmbH, Germany
+ *
+ * Source of class NativeHandle
+ *
+ *---------------------------------------------------------------------*/
+
+package dev.flang.be.interpreter;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+
+import dev.flang.fuir.SpecialClazzes;
+import dev.flang.util.ANY;
+import dev.flang.util.Errors;
+import dev.flang.util.List;
+
+
+/**
+ * NativeHandle holds the resolved downcall handle of a native feature
+ * together with a plan how to convert the actual arguments to Java values
+ * that can be passed to the handle.
+ *
+ * Instances are created once per called native clazz and then reused for all
+ * calls, so the symbol lookup and the linker setup are not repeated.
+ */
+class NativeHandle extends ANY
+{
+
+
+  /*----------------------------  variables  ----------------------------*/
+
+
+  /**
+   * The downcall handle adapted to take all arguments in an Object[] and to
+   * return an Object (null for a void function).
+   */
+  private final MethodHandle _mh;
+
+
+  /**
+   * The argument conversion plan: for each argument, the special clazz of the
+   * formal argument type.  Arguments that are not of a numeric type or bool
+   * are converted using Value.toNative().
+   */
+  private final SpecialClazzes[] _argKinds;
+
+
+  /**
+   * The result clazz of the native feature.
+   */
+  private final int _rt;
+
+
+  /*--------------------------  constructors  ---------------------------*/
+
+
+  /**
+   * Create handle for given downcall handle.
+   *
+   * @param mh the downcall handle as created by the native linker.
+   *
+   * @param argKinds the special clazzes of the formal arguments.
+   *
+   * @param rt the result clazz of the native feature.
+   */
+  NativeHandle(MethodHandle mh, SpecialClazzes[] argKinds, int rt)
+  {
+    _mh = mh
+      .asSpreader(Object[].class, argKinds.length)
+      .asType(MethodType.methodType(Object.class, Object[].class));
+    _argKinds = argKinds;
+    _rt = rt;
+  }
+
+
+  /*-----------------------------  methods  -----------------------------*/
+
+
+  /**
+   * Convert actual argument to the Java value expected by the downcall
+   * handle.
+   *
+   * @param i the argument index
+   *
+   * @param v the actual argument
+   */
+  private Object toNative(int i, Value v)
+  {
+    return switch (_argKinds[i])
+      {
+      case c_i8   -> (byte)v.i8Value();
+      case c_i16  -> (short)v.i16Value();
+      case c_i32  -> v.i32Value();
+      case c_i64  -> v.i64Value();
+      case c_u8   -> (byte)v.u8Value();
+      case c_u16  -> (char)v.u16Value();
+      case c_u32  -> v.u32Value();
+      case c_u64  -> v.u64Value();
+      case c_f32  -> v.f32Value();
+      case c_f64  -> v.f64Value();
+      case c_bool -> v.boolValue();
+      default     -> v.toNative();
+      };
+  }
+
+
+  /**
+   * Perform the native call.
+   *
+   * @param args the actual arguments
+   *
+   * @return the result converted to a Value.
+   */
+  Value call(List<Value> args)
+  {
+    var arguments = new Object[_argKinds.length];
+    for (int i = 0; i < arguments.length; i++)
+      {
+        arguments[i] = toNative(i, args.get(i));
+      }
+    Object tmp = null;
+    try
+      {
+        tmp = (Object) _mh.invokeExact(arguments);
+      }
+    catch (Throwable e)
+      {
+        Errors.fatal(e);
+        return null;
+      }
+    for (int i = 0; i < arguments.length; i++)
+      {
+        if (args.get(i) instanceof ArrayData ad)
+          {
+            ad.set((MemorySegment)arguments[i]);
+          }
+      }
+    return JavaInterface.javaObjectToPlainInstance(tmp, _rt);
+  }
+
+}
+
+/* end of file */
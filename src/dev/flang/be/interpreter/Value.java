@@ -40,6 +40,14 @@ public abstract class Value extends FUIRContext
   /*----------------------------  constants  ----------------------------*/
 
 
+  /**
+   * Range of small integer values for which i16Value.of(), i32Value.of(), etc.
+   * return shared instances instead of allocating new ones.
+   */
+  static final int SMALL_MIN = -128;
+  static final int SMALL_MAX = 1023;
+
+
   /**
    * Dummy value to be returned by Expr.execute for the case that the
    * expression does not produce a value
@@ -242,6 +250,22 @@ public abstract class Value extends FUIRContext
   }
 
 
+  /**
+   * Load a value of numeric or bool type at the given offset within this
+   * without creating an LValue.
+   *
+   * @param c the clazz of the value, must be numeric or bool
+   *
+   * @param off the offset of the value within this
+   *
+   * @return the loaded value, see Interpreter.loadScalar
+   */
+  public Value scalarAt(int c, int off)
+  {
+    throw new Error("Cannot load scalar from " + getClass());
+  }
+
+
   /**
    * Store this value in a field
    *
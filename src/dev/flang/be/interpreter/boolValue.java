@@ -43,7 +43,17 @@ public class boolValue extends Value
   /**
    *
    */
-  private boolean b;
+  private final boolean b;
+
+
+  /*-----------------------------  statics  -----------------------------*/
+
+
+  /**
+   * The shared instances for true and false, see of().
+   */
+  private static final boolValue TRUE  = new boolValue(true);
+  private static final boolValue FALSE = new boolValue(false);
 
 
   /*--------------------------  constructors  ---------------------------*/
@@ -58,6 +68,18 @@ public class boolValue extends Value
   }
 
 
+  /*--------------------------  static methods  -------------------------*/
+
+
+  /**
+   * Get the shared bool value for b.
+   */
+  public static boolValue of(boolean b)
+  {
+    return b ? TRUE : FALSE;
+  }
+
+
   /*-----------------------------  methods  -----------------------------*/
 
 
@@ -99,6 +121,25 @@ public class boolValue extends Value
   }
 
 
+  /**
+   * Does this value equal the value in slot of given size on a low-level
+   * bit-wise comparison?
+   *
+   * @param slot the slot that addresses the field this should be compared
+   * against.
+   *
+   * @param size the size of the data to be compared.
+   */
+  @Override
+  boolean equalsBitWise(LValue slot, int size)
+  {
+    if (PRECONDITIONS) require
+      (size == 1);
+
+    return slot.container.nonrefs[slot.offset] == (b ? 1 : 0);
+  }
+
+
   /**
    * Debugging only: Check that this value is valid as the current instance for
    * a feature with given static clazz.
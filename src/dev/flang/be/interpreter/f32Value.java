@@ -99,6 +99,25 @@ public class f32Value extends Value
   }
 
 
+  /**
+   * Does this value equal the value in slot of given size on a low-level
+   * bit-wise comparison?
+   *
+   * @param slot the slot that addresses the field this should be compared
+   * against.
+   *
+   * @param size the size of the data to be compared.
+   */
+  @Override
+  boolean equalsBitWise(LValue slot, int size)
+  {
+    if (PRECONDITIONS) require
+      (size == 1);
+
+    return slot.container.nonrefs[slot.offset] == Float.floatToRawIntBits(_val);
+  }
+
+
   /**
    * Debugging only: Check that this value is valid as the current instance for
    * a feature with given static clazz.
@@ -101,6 +101,28 @@ public class f64Value extends Value
   }
 
 
+  /**
+   * Does this value equal the value in slot of given size on a low-level
+   * bit-wise comparison?
+   *
+   * @param slot the slot that addresses the field this should be compared
+   * against.
+   *
+   * @param size the size of the data to be compared.
+   */
+  @Override
+  boolean equalsBitWise(LValue slot, int size)
+  {
+    if (PRECONDITIONS) require
+      (size == 2);
+
+    var l = Double.doubleToRawLongBits(_val);
+    return
+      slot.container.nonrefs[slot.offset    ] == (int) l &&
+      slot.container.nonrefs[slot.offset + 1] == (int) (l >> 32);
+  }
+
+
   /**
    * Debugging only: Check that this value is valid as the current instance for
    * a feature with given static clazz.
@@ -43,7 +43,23 @@ public class i16Value extends Value
   /**
    *
    */
-  private int _val;
+  private final int _val;
+
+
+  /*-----------------------------  statics  -----------------------------*/
+
+
+  /**
+   * Shared instances for values in the range SMALL_MIN..SMALL_MAX, see of().
+   */
+  private static final i16Value[] _small_ = new i16Value[SMALL_MAX - SMALL_MIN + 1];
+  static
+  {
+    for (var i = 0; i < _small_.length; i++)
+      {
+        _small_[i] = new i16Value(i + SMALL_MIN);
+      }
+  }
 
 
   /*--------------------------  constructors  ---------------------------*/
@@ -61,6 +77,20 @@ public class i16Value extends Value
   }
 
 
+  /*--------------------------  static methods  -------------------------*/
+
+
+  /**
+   * Get an i16 value for val.  This does not allocate for small values.
+   */
+  public static i16Value of(int val)
+  {
+    return SMALL_MIN <= val && val <= SMALL_MAX
+      ? _small_[val - SMALL_MIN]
+      : new i16Value(val);
+  }
+
+
   /*-----------------------------  methods  -----------------------------*/
 
 
@@ -104,6 +134,25 @@ public class i16Value extends Value
   }
 
 
+  /**
+   * Does this value equal the value in slot of given size on a low-level
+   * bit-wise comparison?
+   *
+   * @param slot the slot that addresses the field this should be compared
+   * against.
+   *
+   * @param size the size of the data to be compared.
+   */
+  @Override
+  boolean equalsBitWise(LValue slot, int size)
+  {
+    if (PRECONDITIONS) require
+      (size == 1);
+
+    return slot.container.nonrefs[slot.offset] == _val;
+  }
+
+
   /**
    * Debugging only: Check that this value is valid as the current instance for
    * a feature with given static clazz.
@@ -43,7 +43,23 @@ public class i64Value extends Value
   /**
    *
    */
-  private long _val;
+  private final long _val;
+
+
+  /*-----------------------------  statics  -----------------------------*/
+
+
+  /**
+   * Shared instances for values in the range SMALL_MIN..SMALL_MAX, see of().
+   */
+  private static final i64Value[] _small_ = new i64Value[SMALL_MAX - SMALL_MIN + 1];
+  static
+  {
+    for (var i = 0; i < _small_.length; i++)
+      {
+        _small_[i] = new i64Value(i + SMALL_MIN);
+      }
+  }
 
 
   /*--------------------------  constructors  ---------------------------*/
@@ -58,6 +74,20 @@ public class i64Value extends Value
   }
 
 
+  /*--------------------------  static methods  -------------------------*/
+
+
+  /**
+   * Get an i64 value for val.  This does not allocate for small values.
+   */
+  public static i64Value of(long val)
+  {
+    return SMALL_MIN <= val && val <= SMALL_MAX
+      ? _small_[(int) (val - SMALL_MIN)]
+      : new i64Value(val);
+  }
+
+
   /*-----------------------------  methods  -----------------------------*/
 
 
@@ -100,6 +130,27 @@ public class i64Value extends Value
   }
 
 
+  /**
+   * Does this value equal the value in slot of given size on a low-level
+   * bit-wise comparison?
+   *
+   * @param slot the slot that addresses the field this should be compared
+   * against.
+   *
+   * @param size the size of the data to be compared.
+   */
+  @Override
+  boolean equalsBitWise(LValue slot, int size)
+  {
+    if (PRECONDITIONS) require
+      (size == 2);
+
+    return
+      slot.container.nonrefs[slot.offset    ] == (int) _val &&
+      slot.container.nonrefs[slot.offset + 1] == (int) (_val >> 32);
+  }
+
+
   /**
    * Debugging only: Check that this value is valid as the current instance for
    * a feature with given static clazz.
@@ -43,7 +43,23 @@ public class i8Value extends Value
   /**
    *
    */
-  private int _val;
+  private final int _val;
+
+
+  /*-----------------------------  statics  -----------------------------*/
+
+
+  /**
+   * Shared instances for values in the range -0x80..0x7f, see of().
+   */
+  private static final i8Value[] _small_ = new i8Value[0x100];
+  static
+  {
+    for (var i = 0; i < _small_.length; i++)
+      {
+        _small_[i] = new i8Value(i - 0x80);
+      }
+  }
 
 
   /*--------------------------  constructors  ---------------------------*/
@@ -61,6 +77,20 @@ public class i8Value extends Value
   }
 
 
+  /*--------------------------  static methods  -------------------------*/
+
+
+  /**
+   * Get an i8 value for val.  This does not allocate for small values.
+   */
+  public static i8Value of(int val)
+  {
+    return -0x80 <= val && val <= 0x7f
+      ? _small_[val + 0x80]
+      : new i8Value(val);
+  }
+
+
   /*-----------------------------  methods  -----------------------------*/
 
 
@@ -104,6 +134,25 @@ public class i8Value extends Value
   }
 
 
+  /**
+   * Does this value equal the value in slot of given size on a low-level
+   * bit-wise comparison?
+   *
+   * @param slot the slot that addresses the field this should be compared
+   * against.
+   *
+   * @param size the size of the data to be compared.
+   */
+  @Override
+  boolean equalsBitWise(LValue slot, int size)
+  {
+    if (PRECONDITIONS) require
+      (size == 1);
+
+    return slot.container.nonrefs[slot.offset] == _val;
+  }
+
+
   /**
    * Debugging only: Check that this value is valid as the current instance for
    * a feature with given static clazz.
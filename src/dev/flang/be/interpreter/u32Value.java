@@ -43,7 +43,23 @@ public class u32Value extends Value
   /**
    *
    */
-  private int _val;
+  private final int _val;
+
+
+  /*-----------------------------  statics  -----------------------------*/
+
+
+  /**
+   * Shared instances for values in the range 0..SMALL_MAX, see of().
+   */
+  private static final u32Value[] _small_ = new u32Value[SMALL_MAX + 1];
+  static
+  {
+    for (var i = 0; i < _small_.length; i++)
+      {
+        _small_[i] = new u32Value(i);
+      }
+  }
 
 
   /*--------------------------  constructors  ---------------------------*/
@@ -58,6 +74,20 @@ public class u32Value extends Value
   }
 
 
+  /*--------------------------  static methods  -------------------------*/
+
+
+  /**
+   * Get a u32 value for val.  This does not allocate for small values.
+   */
+  public static u32Value of(int val)
+  {
+    return 0 <= val && val <= SMALL_MAX
+      ? _small_[val]
+      : new u32Value(val);
+  }
+
+
   /*-----------------------------  methods  -----------------------------*/
 
 
@@ -99,6 +129,25 @@ public class u32Value extends Value
   }
 
 
+  /**
+   * Does this value equal the value in slot of given size on a low-level
+   * bit-wise comparison?
+   *
+   * @param slot the slot that addresses the field this should be compared
+   * against.
+   *
+   * @param size the size of the data to be compared.
+   */
+  @Override
+  boolean equalsBitWise(LValue slot, int size)
+  {
+    if (PRECONDITIONS) require
+      (size == 1);
+
+    return slot.container.nonrefs[slot.offset] == _val;
+  }
+
+
   /**
    * Debugging only: Check that this value is valid as the current instance for
    * a feature with given static clazz.
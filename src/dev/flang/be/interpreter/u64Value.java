@@ -43,7 +43,23 @@ public class u64Value extends Value
   /**
    *
    */
-  private long _val;
+  private final long _val;
+
+
+  /*-----------------------------  statics  -----------------------------*/
+
+
+  /**
+   * Shared instances for values in the range 0..SMALL_MAX, see of().
+   */
+  private static final u64Value[] _small_ = new u64Value[SMALL_MAX + 1];
+  static
+  {
+    for (var i = 0; i < _small_.length; i++)
+      {
+        _small_[i] = new u64Value(i);
+      }
+  }
 
 
   /*--------------------------  constructors  ---------------------------*/
@@ -58,6 +74,20 @@ public class u64Value extends Value
   }
 
 
+  /*--------------------------  static methods  -------------------------*/
+
+
+  /**
+   * Get a u64 value for val.  This does not allocate for small values.
+   */
+  public static u64Value of(long val)
+  {
+    return 0 <= val && val <= SMALL_MAX
+      ? _small_[(int) val]
+      : new u64Value(val);
+  }
+
+
   /*-----------------------------  methods  -----------------------------*/
 
 
@@ -100,6 +130,27 @@ public class u64Value extends Value
   }
 
 
+  /**
+   * Does this value equal the value in slot of given size on a low-level
+   * bit-wise comparison?
+   *
+   * @param slot the slot that addresses the field this should be compared
+   * against.
+   *
+   * @param size the size of the data to be compared.
+   */
+  @Override
+  boolean equalsBitWise(LValue slot, int size)
+  {
+    if (PRECONDITIONS) require
+      (size == 2);
+
+    return
+      slot.container.nonrefs[slot.offset    ] == (int) _val &&
+      slot.container.nonrefs[slot.offset + 1] == (int) (_val >> 32);
+  }
+
+
   /**
    * Debugging only: Check that this value is valid as the current instance for
    * a feature with given static clazz.
@@ -532,8 +532,9 @@ public class Choices extends ANY implements ClassFileConstants
                     {
                       if (field != NO_CLAZZ && jvm.fieldExists(field))
                         {                                                                      // sub
-                          pos =
-                            (cl == _fuir.clazzUniverse()
+                          pos = jvm.scalarReplaced(cl)
+                            ? jvm.storeReplacedField(field)                                    // -
+                            : (cl == _fuir.clazzUniverse()
                               ? jvm.LOAD_UNIVERSE
                               : Expr.aload(jvm.current_index(cl), _types.resultType(cl)))      // sub, cur
                             .andThen(Expr.SWAP)                                                // cur, sub
@@ -589,12 +590,15 @@ public class Choices extends ANY implements ClassFileConstants
                           var rt = _types.resultType(_fuir.clazzResultClazz(field));
                           pos =                                                 // stack is sub, tag
                             Expr.POP                                            //          sub
-                            .andThen(cl == _fuir.clazzUniverse()
-                              ? jvm.LOAD_UNIVERSE
-                              : Expr.aload(jvm.current_index(cl), _types.resultType(cl))) // sub, cur
-                            .andThen(Expr.SWAP)                                 //          cur, sub
-                            .andThen(Expr.checkcast(rt))                        //          cur, val
-                            .andThen(jvm.putfield(field));                      //          -
+                            .andThen(jvm.scalarReplaced(cl)
+                              ? Expr.checkcast(rt)                              //          val
+                                .andThen(jvm.storeReplacedField(field))         //          -
+                              : (cl == _fuir.clazzUniverse()
+                                ? jvm.LOAD_UNIVERSE
+                                : Expr.aload(jvm.current_index(cl), _types.resultType(cl))) // sub, cur
+                              .andThen(Expr.SWAP)                               //          cur, sub
+                              .andThen(Expr.checkcast(rt))                      //          cur, val
+                              .andThen(jvm.putfield(field)));                   //          -
                         }
                       else
                         {
@@ -640,18 +644,22 @@ public class Choices extends ANY implements ClassFileConstants
                         {
                           var rc = _fuir.clazzResultClazz(field);
                           var rt = _types.resultType(rc);
+                          var val = Expr.getfield(_names.javaClass(subjClazz),      // val
+                                                  generalValueFieldName(subjClazz, tagNum),
+                                                  generalValueFieldType(subjClazz, tagNum))
+                            .andThen(_fuir.clazzIsRef(rc) ? Expr.checkcast(rt)      //          val
+                                                          : Expr.UNIT);
                           pos =                                                     // stack is sub, tag
                             Expr.POP                                                //          sub
-                            .andThen(cl == _fuir.clazzUniverse()
-                              ? jvm.LOAD_UNIVERSE
-                              : Expr.aload(jvm.current_index(cl), _types.resultType(cl))) // sub, cur
-                            .andThen(Expr.SWAP)                                     //          cur, sub
-                            .andThen(Expr.getfield(_names.javaClass(subjClazz),     //          cur, val
-                                                   generalValueFieldName(subjClazz, tagNum),
-                                                   generalValueFieldType(subjClazz, tagNum)))
-                            .andThen(_fuir.clazzIsRef(rc) ? Expr.checkcast(rt)      //          cur, val
-                                                          : Expr.UNIT)
-                            .andThen(jvm.putfield(field));                          //          -
+                            .andThen(jvm.scalarReplaced(cl)
+                              ? val                                                 //          val
+                                .andThen(jvm.storeReplacedField(field))             //          -
+                              : (cl == _fuir.clazzUniverse()
+                                ? jvm.LOAD_UNIVERSE
+                                : Expr.aload(jvm.current_index(cl), _types.resultType(cl))) // sub, cur
+                              .andThen(Expr.SWAP)                                   //          cur, sub
+                              .andThen(val)                                         //          cur, val
+                              .andThen(jvm.putfield(field)));                       //          -
                         }
                       else
                         {
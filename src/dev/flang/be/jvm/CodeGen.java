@@ -385,20 +385,25 @@ class CodeGen
    * interface with a dynamic function and add implementations to each actual
    * target.
    *
+   * If JVMOptions._invokeDynamic is set, no interface is used, but an
+   * invokedynamic instruction whose call site runtime.DynamicCall dispatches to
+   * the implementations depending on the class of the target.
+   *
    * @param si site of the access expression, must be ExprKind.Assign or ExprKind.Call
    *
    * @param cc0 a feature whose outer feature is a ref that has several actual instances.
    *
-   * @return the invokeinterface expression that performs the call
+   * @return the invokeinterface or invokedynamic expression that performs the call
    */
   private Expr addDynamicFunctionAndStubs(int si, int cc0, int[] ccs, boolean isCall)
   {
-    var intfc = _types.interfaceFile(_fuir.clazzOuterClazz(cc0));
+    var indy = _jvm._options._invokeDynamic;
+    var intfc = indy ? null : _types.interfaceFile(_fuir.clazzOuterClazz(cc0));
     var rc = _fuir.clazzResultClazz(cc0);
     var dn = _names.dynamicFunction(cc0) + (isCall ? "_c" : "");
     var ds = isCall ? _types.dynDescriptor(cc0) : "(" + _types.javaType(rc).argDescriptor() + ")V";
     var dr = isCall ? _types.resultType(rc)     : PrimitiveType.type_void;
-    if (!intfc.hasMethod(dn))
+    if (!indy && !intfc.hasMethod(dn))
       {
         intfc.method(ACC_PUBLIC | ACC_ABSTRACT, dn, ds, new List<>());
         check(intfc.hasMethod(dn));
@@ -407,7 +412,10 @@ class CodeGen
       {
         var tt = ccs[cci  ];    // target clazz we match against
         var cc = ccs[cci+1];    // called clazz
-        _types.classFile(tt).addImplements(intfc._name);
+        if (!indy)
+          {
+            _types.classFile(tt).addImplements(intfc._name);
+          }
         var initLocals = new List<>(VerificationType.UninitializedThis);
         if (isCall)
           {
@@ -419,7 +427,10 @@ class CodeGen
           }
         addStub(tt, cc, dn, ds, isCall, initLocals);
       }
-    return Expr.invokeInterface(intfc._name, dn, ds, dr, _fuir.sitePos(si).line());
+    return indy
+      ? Expr.invokeDynamic(Names.DYNAMIC_CALL_CLASS, Names.DYNAMIC_CALL_BOOTSTRAP, Names.DYNAMIC_CALL_BOOTSTRAP_SIG,
+                           dn, "(" + Names.JAVA_LANG_OBJECT.descriptor() + ds.substring(1), dr, _fuir.sitePos(si).line())
+      : Expr.invokeInterface(intfc._name, dn, ds, dr, _fuir.sitePos(si).line());
   }
 
 
@@ -978,6 +989,11 @@ class CodeGen
       {
         return new Pair<>(_types.javaType(cl).load(0), Expr.UNIT);
       }
+    else if (_jvm.scalarReplaced(cl))
+      {
+        // there is no instance, fields are accessed via their local vars
+        return new Pair<>(Expr.UNIT, Expr.UNIT);
+      }
     else
       {
         return new Pair<>(Expr.aload(_jvm.current_index(cl), _types.resultType(cl)), Expr.UNIT);
@@ -93,6 +93,9 @@ public class Intrinsix extends ANY implements ClassFileConstants
    * Enclose the given code by monitorenter/monitorexit for
    * Runtime.LOCK_FOR_ATOMIC.
    *
+   * This is used only for atomic accesses to fields that have no VarHandle,
+   * see JVM.hasVarHandle().
+   *
    * @param e the code that needs atomicity
    *
    * @return e surrounded by monitorenter/monitorexit for
@@ -150,8 +153,13 @@ public class Intrinsix extends ANY implements ClassFileConstants
         "concur.util.store_fence",
         (jvm, si, cc, tvalue, args) ->
         {
+          // both fences need to order earlier stores with later loads, which
+          // only a full fence does
           return new Pair<>(Expr.UNIT,
-                            locked(Expr.UNIT));
+                            Expr.invokeStatic(Names.JAVA_LANG_INVOKE_VARHANDLE,
+                                              "fullFence",
+                                              "()V",
+                                              PrimitiveType.type_void));
         });
 
     put("concur.atomic.read0",
@@ -159,8 +167,12 @@ public class Intrinsix extends ANY implements ClassFileConstants
         {
           var ac = jvm._fuir.clazzOuterClazz(cc);
           var v = jvm._fuir.lookupAtomicValue(ac);
-          var val = locked(tvalue
-                           .andThen(jvm.getfield(v)));
+          var val = jvm.hasVarHandle(v)
+            ? jvm.varHandle(v)
+                 .andThen(tvalue)
+                 .andThen(jvm.varHandleAccess(v, "getVolatile", 0, jvm._types.resultType(jvm._fuir.clazzResultClazz(v))))
+            : locked(tvalue
+                     .andThen(jvm.getfield(v)));
           return new Pair<>(val, Expr.UNIT);
         });
 
@@ -169,9 +181,14 @@ public class Intrinsix extends ANY implements ClassFileConstants
         {
           var ac = jvm._fuir.clazzOuterClazz(cc);
           var v = jvm._fuir.lookupAtomicValue(ac);
-          var code = locked(tvalue
-                            .andThen(args.get(0))
-                            .andThen(jvm.putfield(v)));
+          var code = jvm.hasVarHandle(v)
+            ? jvm.varHandle(v)
+                 .andThen(tvalue)
+                 .andThen(args.get(0))
+                 .andThen(jvm.varHandleAccess(v, "setVolatile", 1, PrimitiveType.type_void))
+            : locked(tvalue
+                     .andThen(args.get(0))
+                     .andThen(jvm.putfield(v)));
           return new Pair<>(Expr.UNIT, code);
         });
 
@@ -184,12 +201,23 @@ public class Intrinsix extends ANY implements ClassFileConstants
           var rc  = jvm._fuir.clazzResultClazz(v);
           var tt = tvalue.type();
           var jt = jvm._types.resultType(rc);
+          var isSet = jvm._fuir.clazzOriginalName(cc).equals("concur.atomic.compare_and_set0");
+          if (jvm.hasVarHandle(v))
+            {
+              var val = jvm.varHandle(v)
+                .andThen(tvalue)
+                .andThen(args.get(0))
+                .andThen(args.get(1))
+                .andThen(isSet ? jvm.varHandleAccess(v, "compareAndSet",      2, PrimitiveType.type_boolean)
+                               : jvm.varHandleAccess(v, "compareAndExchange", 2, jt));
+              return new Pair<>(val, Expr.UNIT);
+            }
           int tslot  = jvm.allocLocal(si, 1);                  // local var slot for target
           int nvslot = jvm.allocLocal(si, jt.stackSlots());    // local var slot for arg(1), new value, not casted
           int vslot  = jvm.allocLocal(si, jt.stackSlots());    // local var slot for old value, not casted.
 
           Expr pos, neg, oldv;
-          if (jvm._fuir.clazzOriginalName(cc).equals("concur.atomic.compare_and_set0"))
+          if (isSet)
             { // compare_and_set: return true or false
               pos = Expr.iconst(1);            // 1
               neg = Expr.iconst(0);            // 0
@@ -756,11 +784,12 @@ public class Intrinsix extends ANY implements ClassFileConstants
                                         new ClassType(Throwable.class.getName().replace(".","/")));
 
           // code-snippet to call effect_pop and leave the effect instance on the Java stack
-          var pop_effect = Expr.iconst(eid)
-            .andThen(Expr.invokeStatic(Names.RUNTIME_CLASS,
-                                       "effect_pop",
-                                       "(I)"+Names.ANYI_DESCR,
-                                       Names.ANYI_TYPE)
+          var pop_effect = jvm.currentThread(si)
+            .andThen(Expr.iconst(eid))
+            .andThen(Expr.invokeVirtual(Names.FUZION_THREAD_TYPE.className(),
+                                        "effect_pop",
+                                        "(I)"+Names.ANYI_DESCR,
+                                        Names.ANYI_TYPE)
                      )
             .andThen(ejt == ClassFileConstants.PrimitiveType.type_void ? Expr.POP   // cast AnyI to void by dumping the value
                                                                        : Expr.checkcast(ejt));
@@ -769,14 +798,15 @@ public class Intrinsix extends ANY implements ClassFileConstants
           var pop_and_finally   = pop_effect.andThen(call_finally);     // pop effect and call finally
           var pop_fin_and_throw = pop_and_finally.andThen(Expr.THROW);  // pop effect, call finally and rethrow exception from stack
 
-          var result = Expr.iconst(eid)
+          var result = jvm.currentThread(si)
+            .andThen(Expr.iconst(eid))
             .andThen(effectToAny(jvm, ecl, args.get(0)))
-            .andThen(Expr.invokeStatic(Names.RUNTIME_CLASS,
-                                       "effect_push",
-                                       "(" + ("I" +
-                                              Names.ANYI_DESCR) +
-                                       ")V",
-                                       ClassFileConstants.PrimitiveType.type_void)
+            .andThen(Expr.invokeVirtual(Names.FUZION_THREAD_TYPE.className(),
+                                        "effect_push",
+                                        "(" + ("I" +
+                                               Names.ANYI_DESCR) +
+                                        ")V",
+                                        ClassFileConstants.PrimitiveType.type_void)
                      )
             .andThen(try_start)
             .andThen(args.get(1))
@@ -828,14 +858,15 @@ public class Intrinsix extends ANY implements ClassFileConstants
           var ecl = jvm._fuir.effectTypeFromIntrinsic(cc);
           var eid = jvm.effectId(ecl);
           var arg = effectToAny(jvm, ecl, args.get(0));
-          var result = Expr.iconst(eid)
+          var result = jvm.currentThread(si)
+            .andThen(Expr.iconst(eid))
             .andThen(arg)
-            .andThen(Expr.invokeStatic(Names.RUNTIME_CLASS,
-                                       "effect_instate_at_singularity",
-                                       "(" + ("I" +
-                                              Names.ANYI_DESCR) +
-                                       ")V",
-                                       ClassFileConstants.PrimitiveType.type_void));
+            .andThen(Expr.invokeVirtual(Names.FUZION_THREAD_TYPE.className(),
+                                        "effect_instate_at_singularity",
+                                        "(" + ("I" +
+                                               Names.ANYI_DESCR) +
+                                        ")V",
+                                        ClassFileConstants.PrimitiveType.type_void));
           return new Pair<>(Expr.UNIT, result);
         });
 
@@ -844,13 +875,13 @@ public class Intrinsix extends ANY implements ClassFileConstants
         {
           var ecl = jvm._fuir.effectTypeFromIntrinsic(cc);
           var eid = jvm.effectId(ecl);
-          var result = Expr
-            .iconst(eid)
+          var result = jvm.currentThread(si)
+            .andThen(Expr.iconst(eid))
             .andThen(effectToAny(jvm, ecl, args.get(0)))
-            .andThen(Expr.invokeStatic(Names.RUNTIME_CLASS,
-                                       "effect_set",
-                                       "(I" + Names.ANYI_DESCR + ")V",
-                                       ClassFileConstants.PrimitiveType.type_void));
+            .andThen(Expr.invokeVirtual(Names.FUZION_THREAD_TYPE.className(),
+                                        "effect_set",
+                                        "(I" + Names.ANYI_DESCR + ")V",
+                                        ClassFileConstants.PrimitiveType.type_void));
           return new Pair<>(Expr.UNIT, result);
         });
 
@@ -860,12 +891,12 @@ public class Intrinsix extends ANY implements ClassFileConstants
           var ecl = jvm._fuir.effectTypeFromIntrinsic(cc);
           var result = Expr.UNIT;
           var eid = jvm.effectId(ecl);
-          result = Expr
-            .iconst(eid)
-            .andThen(Expr.invokeStatic(Names.RUNTIME_CLASS,
-                                       "effect_remove",
-                                       "(I)V",
-                                       ClassFileConstants.PrimitiveType.type_void));
+          result = jvm.currentThread(si)
+            .andThen(Expr.iconst(eid))
+            .andThen(Expr.invokeVirtual(Names.FUZION_THREAD_TYPE.className(),
+                                        "effect_remove",
+                                        "(I)V",
+                                        ClassFileConstants.PrimitiveType.type_void));
           return new Pair<>(Expr.UNIT, result);
         });
 
@@ -874,11 +905,12 @@ public class Intrinsix extends ANY implements ClassFileConstants
         {
           var ecl = jvm._fuir.effectTypeFromIntrinsic(cc);
           var eid = jvm.effectId(ecl);
-          var val = Expr.iconst(eid)
-            .andThen(Expr.invokeStatic(Names.RUNTIME_CLASS,
-                                       "effect_is_instated",
-                                       "(I)Z",
-                                       ClassFileConstants.PrimitiveType.type_boolean));
+          var val = jvm.currentThread(si)
+            .andThen(Expr.iconst(eid))
+            .andThen(Expr.invokeVirtual(Names.FUZION_THREAD_TYPE.className(),
+                                        "effect_is_instated",
+                                        "(I)Z",
+                                        ClassFileConstants.PrimitiveType.type_boolean));
           return new Pair<>(val, Expr.UNIT);
         });
 
@@ -903,7 +935,7 @@ public class Intrinsix extends ANY implements ClassFileConstants
         {
           var rt0 = jvm._fuir.clazzResultClazz(cc); // universe.Thread, internal base.fum type
           var rt = jvm._types.resultType(rt0);
-          var val = currentThread()
+          var val = jvm.currentThread(si)
             .andThen(Expr.checkcast(rt));
           return new Pair<>(val, Expr.UNIT);
         });
@@ -1023,11 +1055,10 @@ public class Intrinsix extends ANY implements ClassFileConstants
       {
         var ecl = jvm._fuir.clazzResultClazz(cc); // type
         var rt = jvm._types.resultType(ecl);
-        var ftCt = new ClassType("dev/flang/be/jvm/runtime/FuzionThread");
         var val =
-          currentThread()
+          jvm.currentThread(si)                                                                                       // FuzionThread
           .andThen(Expr.iconst(jvm.effectId(ecl)))                                                                    // FuzionThread, int
-          .andThen(Expr.invokeVirtual(ftCt.className(), "effect_load", "(I)" + Names.ANYI_DESCR , Names.ANYI_TYPE))   // AnyI
+          .andThen(Expr.invokeVirtual(Names.FUZION_THREAD_TYPE.className(), "effect_load", "(I)" + Names.ANYI_DESCR , Names.ANYI_TYPE))   // AnyI
           .andThen(Expr.DUP)                                                                                          // AnyI, AnyI
           .andThen(Expr.branch(O_ifnull,                                                                              // AnyI
                        Expr.POP                                                                                       // -
@@ -1099,22 +1130,10 @@ public class Intrinsix extends ANY implements ClassFileConstants
         });
   }
 
-  /**
-   * Helper for intrinsics to create call to {@code Runtime.currentThread()}.
-   */
-  private static Expr currentThread()
-  {
-    var ftCt = new ClassType("dev/flang/be/jvm/runtime/FuzionThread");
-    return Expr.invokeStatic(Names.RUNTIME_CLASS,
-                             "currentThread",
-                             "()" + ftCt.descriptor(),
-                             ftCt);     // FuzionThread
-  }
-
   /**
    * Convert an effect value of type {@code ecl} given as {@code arg} to a value that can be
    * passed as type {@code dev.flang.be.jvm.runtime.AnyI} to one of the effect related methods
-   * in {@code dev.flang.be.jvm.runtime.Runtime}.
+   * in {@code dev.flang.be.jvm.runtime.FuzionThread}.
    *
    * This is needed for effect types that are effectively unit types, which are
    * {@code void} types in Java.  These have to be replaced by the special value
@@ -64,10 +64,13 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import java.util.jar.Attributes;
 import java.util.jar.JarEntry;
@@ -426,6 +429,36 @@ should be avoided as much as possible.
   }
 
 
+  /**
+   * property-controlled flag to create the bytes of the class files in
+   * parallel, see CompilePhase.BYTES.
+   *
+   * BYTES takes about a quarter of the JVM backend's time for -jar, e.g., 1.2s
+   * to 1.9s of 4.3s to 6.4s for tests/mandelbrot, so this is the upper bound
+   * of what can be saved.  Use {@code -verbose=2} to see the time of each
+   * phase.
+   *
+   * To disable this, e.g., for debugging, use fz with
+   *
+   *   dev_flang_be_jvm_JVM_PARALLEL=false
+   */
+  static final boolean PARALLEL =
+    FuzionOptions.boolPropertyOrEnv("dev.flang.be.jvm.JVM.PARALLEL", true);
+
+
+  /**
+   * property-controlled maximum duration in seconds of the training run
+   * used to create a class data sharing archive for option {@code -cds}, see
+   * createCDSArchive().
+   *
+   * To change this, use fz with
+   *
+   *   dev_flang_be_jvm_JVM_CDS_TRAINING_TIMEOUT=<seconds>
+   */
+  static final int CDS_TRAINING_TIMEOUT =
+    FuzionOptions.intPropertyOrEnv("dev.flang.be.jvm.JVM.CDS_TRAINING_TIMEOUT", 10);
+
+
   /**
    * JVM code generation phases
    */
@@ -434,6 +467,10 @@ should be avoided as much as possible.
     // create classes
     CLASSES
     {
+      void prepare(JVM jvm)
+      {
+        jvm._types.createCodeHolders();
+      }
       void compile(JVM jvm, int cl)
       {
         jvm._types.createClassFile(cl);
@@ -476,6 +513,27 @@ should be avoided as much as possible.
         ;
       }
     },
+    // create the bytes of the class files to be saved.  This performs the
+    // byte code layout and stack map frame computation that does not depend
+    // on any other class files, so it is done in parallel.
+    BYTES
+    {
+      boolean condition(JVM jvm)
+      {
+        return jvm._options._saveClasses || jvm._options._saveJAR;
+      }
+      boolean parallel()
+      {
+        return PARALLEL;
+      }
+      void compile(JVM jvm, int cl)
+      {
+        for (var cf : jvm._types.classFiles(cl))
+          {
+            cf.bytes();
+          }
+      }
+    },
     RUN {
       boolean condition(JVM jvm)
       {
@@ -488,16 +546,10 @@ should be avoided as much as possible.
       }
       void compile(JVM jvm, int cl)
       {
-        var cf = jvm._types.classFile(cl);
-        if (cf != null)
+        for (var cf : jvm._types.classFiles(cl))
           {
             jvm._runner.add(cf);
           }
-        if (jvm._types.hasInterfaceFile(cl))
-          {
-            var ci = jvm._types.interfaceFile(cl);
-            jvm._runner.add(ci);
-          }
       }
       void finish(JVM jvm)
       {
@@ -537,24 +589,18 @@ should be avoided as much as possible.
       void compile(JVM jvm, int cl)
       {
         var dir = jvm.classesDir();
-        var cf = jvm._types.classFile(cl);
-        try
+        for (var cf : jvm._types.classFiles(cl))
           {
-            if (cf != null)
+            try
               {
                 cf.write(dir);
               }
-            if (jvm._types.hasInterfaceFile(cl))
+            catch (IOException io)
               {
-                cf = jvm._types.interfaceFile(cl);
-                cf.write(dir);
+                Errors.error("JVM backend I/O error",
+                             "While creating class '" + cf.classFile() + "' in '" + dir + "', received I/O error '" + io + "'");
               }
           }
-        catch (IOException io)
-          {
-            Errors.error("JVM backend I/O error",
-                         "While creating class '" + cf.classFile() + "' in '" + dir + "', received I/O error '" + io + "'");
-          }
       }
       void finish(JVM jvm)
       {
@@ -621,8 +667,7 @@ should be avoided as much as possible.
       }
       void compile(JVM jvm, int cl)
       {
-        var cf = jvm._types.classFile(cl);
-        if (cf != null)
+        for (var cf : jvm._types.classFiles(cl))
           {
             try
               {
@@ -634,19 +679,6 @@ should be avoided as much as possible.
                              "While creating class '" + cf.classFile() + "' in JAR, received I/O error '" + io + "'");
               }
           }
-        if (jvm._types.hasInterfaceFile(cl))
-          {
-            var ci = jvm._types.interfaceFile(cl);
-            try
-              {
-                ci.write(jvm._jos);
-              }
-            catch (IOException io)
-              {
-                Errors.error("JVM backend I/O error",
-                             "While creating class '" + ci.classFile() + "' in JAR, received I/O error '" + io + "'");
-              }
-          }
       }
       void finish(JVM jvm)
       {
@@ -660,7 +692,13 @@ should be avoided as much as possible.
             Errors.error("JVM backend I/O error",
                          "While writing JAR file '" + jvm.jarPath() + "', received I/O error '" + io + "'");
           }
-        jvm.createJavaExecutable("-jar \"" + jvm.jarPath().normalize() + "\"");
+        var run = "-jar \"" + jvm.jarPath().normalize() + "\"";
+        jvm.createJavaExecutable(run);
+        if (jvm._options._cds && jvm.createCDSArchive())
+          {
+            jvm.createJavaExecutable(String.format("-Xshare:auto -Xlog:cds=off -XX:SharedArchiveFile=\"$SCRIPT_PATH/%s\" ", jvm.cdsPath().getFileName()) +
+                                     run);
+          }
       }
     };
 
@@ -680,6 +718,15 @@ should be avoided as much as possible.
     {
       return true;
     }
+
+    /**
+     * May compile() be called for different clazzes in parallel?  This
+     * requires compile() to modify only state that belongs to the given clazz.
+     */
+    boolean parallel()
+    {
+      return false;
+    }
     void finish(JVM jvm)
     {
     }
@@ -743,6 +790,23 @@ should be avoided as much as possible.
   final Label[] _startLabels2;
 
 
+  /**
+   * For each field of a routine whose instance is replaced by local variables,
+   * this holds the local var slot of the field at index
+   * _fuir.clazzId2num(field).  See scalarReplaced().
+   */
+  final int[] _fieldSlots;
+
+
+  /**
+   * For each routine with clazz id cl, this holds at index
+   * _fuir.clazzId2num(cl) whether scalarReplaced(cl) was determined and its
+   * result.
+   */
+  final BitSet _scalarReplacedKnown = new BitSet();
+  final BitSet _scalarReplaced = new BitSet();
+
+
   Runner _runner;
 
   /**
@@ -760,6 +824,15 @@ should be avoided as much as possible.
   Map2Int<Integer> _effectIds = new Map2Int<>();
 
 
+  /**
+   * For each routine with clazz id cl, this holds at index
+   * _fuir.clazzId2num(cl) the local var slot that caches the current
+   * FuzionThread, -1 if the routine does not access the current thread.  See
+   * currentThread().
+   */
+  final int[] _currentThreadSlots;
+
+
   /*---------------------------  constructors  ---------------------------*/
 
 
@@ -776,13 +849,17 @@ should be avoided as much as possible.
     _options = opt;
     _fuir = fuir;
     _names = new Names(fuir);
-    _types = new Types(opt, fuir, _names);
+    createEffectIds();
+    _types = new Types(opt, fuir, _names, _effectIds.size());
     _tailCall = new TailCall(fuir);
     _ai = new AbstractInterpreter<>(fuir, new CodeGen(this));
     var cnt = _fuir.clazzId2num(_fuir.lastClazz())+1;
     _numLocals   = new int[cnt];
     _startLabels = new Label[cnt];
     _startLabels2 = new Label[cnt];
+    _fieldSlots = new int[cnt];
+    _currentThreadSlots = new int[cnt];
+    Arrays.fill(_currentThreadSlots, -1);
 
     Errors.showAndExit();
   }
@@ -837,6 +914,18 @@ should be avoided as much as possible.
   }
 
 
+  /**
+   * For {@code -jar} backend with option {@code -cds}: Name of the class data
+   * sharing archive to be created.
+   *
+   * @return archive path created from main feature's base name
+   */
+  Path cdsPath()
+  {
+    return Path.of(outputName() + ".jsa");
+  }
+
+
   /**
    * For {@code -jar} and {@code -classes} backend: Path of the executable script to run the
    * application.
@@ -849,6 +938,72 @@ should be avoided as much as possible.
   }
 
 
+  /**
+   * For {@code -jar} backend with option {@code -cds}: Create a class data
+   * sharing archive containing the classes loaded by a training run of the
+   * saved JAR file.  Using this archive, the JVM can map the pre-parsed and
+   * pre-verified classes instead of loading and verifying the many small
+   * classes one by one at startup.
+   *
+   * The training run executes the executable script created by
+   * createJavaExecutable without arguments and with empty stdin, the archive
+   * is requested via {@code JDK_JAVA_OPTIONS}.  This way, the training run uses
+   * the same {@code java} from {@code PATH} and the same library paths as the
+   * script, which is important since a class data sharing archive is only
+   * valid for the JVM that created it.
+   *
+   * If the training run does not terminate within CDS_TRAINING_TIMEOUT
+   * seconds, it is stopped using SIGTERM.  The JVM then still writes the
+   * archive on exit, it will contain the classes loaded so far.
+   *
+   * @return true if the archive was created.
+   */
+  boolean createCDSArchive()
+  {
+    var archive = cdsPath();
+    var result = false;
+    try
+      {
+        Files.deleteIfExists(archive);
+        var pb = new ProcessBuilder(executablePath().toAbsolutePath().toString())
+          .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+          .redirectError(ProcessBuilder.Redirect.DISCARD);
+        var opts = "-XX:ArchiveClassesAtExit=\"" + archive.toAbsolutePath() + "\"";
+        var old = pb.environment().get("JDK_JAVA_OPTIONS");
+        pb.environment().put("JDK_JAVA_OPTIONS", old == null ? opts : old + " " + opts);
+        _options.verbosePrintln(" + " + archive);
+        var p = pb.start();
+        p.getOutputStream().close();
+        if (!p.waitFor(CDS_TRAINING_TIMEOUT, TimeUnit.SECONDS))
+          {
+            _options.verbosePrintln("training run did not terminate within " + CDS_TRAINING_TIMEOUT + " seconds, stopping it.");
+            p.destroy();
+            if (!p.waitFor(CDS_TRAINING_TIMEOUT, TimeUnit.SECONDS))
+              {
+                p.destroyForcibly();
+              }
+          }
+        result = !p.isAlive() && Files.exists(archive);
+        if (!result)
+          {
+            Errors.warning("JVM backend: training run for class data sharing archive '" + archive + "' " +
+                           (p.isAlive() ? "could not be stopped"
+                                        : "terminated with exit code " + p.exitValue()) +
+                           " but did not create the archive.");
+          }
+      }
+    catch (IOException io)
+      {
+        Errors.warning("JVM backend: I/O error '" + io + "' when creating class data sharing archive '" + archive + "', no archive created.");
+      }
+    catch (InterruptedException e)
+      {
+        Errors.warning("JVM backend: interrupted when creating class data sharing archive '" + archive + "', no archive created.");
+      }
+    return result;
+  }
+
+
   /**
    * Create shell script to execute {@code java} with given arguments.  This is used
    * by -jar and -classes backends to create an executable file.
@@ -873,7 +1028,7 @@ should be avoided as much as possible.
                                       LD_LIBRARY_PATH="$LD_LIBRARY_PATH:$SCRIPT_PATH" \
                                       PATH="$PATH:$SCRIPT_PATH" \
                                       DYLD_FALLBACK_LIBRARY_PATH="$DYLD_FALLBACK_LIBRARY_PATH:$SCRIPT_PATH" \
-                                      java --enable-preview --enable-native-access=ALL-UNNAMED -D%s="$0" %s "$@"
+                                      exec java --enable-preview --enable-native-access=ALL-UNNAMED -D%s="$0" %s "$@"
                                       """,
                                       FUZION_COMMAND_PROPERTY,
                                       args));
@@ -927,12 +1082,22 @@ should be avoided as much as possible.
        {
          if (p.condition(this))
            {
+             var start = System.nanoTime();
              p.prepare(this);
-             for (var c : ordered)
+             if (p.parallel())
+               {
+                 ordered.parallelStream().forEach(c -> p.compile(this, c));
+               }
+             else
                {
-                 p.compile(this, c);
+                 for (var c : ordered)
+                   {
+                     p.compile(this, c);
+                   }
                }
              p.finish(this);
+             _options.verbosePrintln(2, "JVM backend phase " + p + " took " + (System.nanoTime() - start) / 1_000_000 + "ms" +
+                                     (p.parallel() ? " (parallel)" : ""));
            }
        });
   }
@@ -1194,11 +1359,172 @@ should be avoided as much as possible.
   }
 
 
+  /**
+   * Is the instance of routine cl replaced by local variables, one for each
+   * field of cl?
+   *
+   * This is the case if scalar replacement is enabled, the instance does not
+   * survive the call and the current instance is used only as the target of
+   * reads and writes of cl's own fields.  Then, the instance will never be
+   * allocated, its fields will be held in local vars allocated in prolog(cl)
+   * instead.
+   *
+   * Instances of constructors of value types are not replaced even if they do
+   * not escape: Such an instance is the result of its constructor and is
+   * passed to and returned from other routines, but a Java method can return
+   * only a single value, so this would require to split the value into its
+   * fields at every call, argument and field access using it.
+   *
+   * @param cl a clazz id
+   *
+   * @return true iff cl's instance is replaced by local vars.
+   */
+  boolean scalarReplaced(int cl)
+  {
+    var n = _fuir.clazzId2num(cl);
+    if (!_scalarReplacedKnown.get(n))
+      {
+        _scalarReplacedKnown.set(n);
+        if (_options._scalarReplacement                          &&
+            _fuir.clazzKind(cl) == FUIR.FeatureKind.Routine      &&
+            _fuir.clazzNeedsCode(cl)                             &&
+            !_fuir.isScalar(cl)                                  &&
+            !_fuir.clazzIsRef(cl)                                &&
+            !_fuir.isConstructor(cl)                             &&
+            cl != _fuir.clazzUniverse()                          &&
+            _fuir.lifeTime(cl) == FUIR.LifeTime.Call             &&
+            currentOnlyAccessesFields(cl, _fuir.clazzCode(cl)))
+          {
+            _scalarReplaced.set(n);
+          }
+      }
+    return _scalarReplaced.get(n);
+  }
+
+
+  /**
+   * Helper for scalarReplaced to check that all uses of the current instance
+   * in the code starting at site s0 are reads or writes of fields of cl.
+   *
+   * @param cl the routine whose code is checked
+   *
+   * @param s0 the first site of the code block
+   *
+   * @return true iff the current instance is used only to access cl's fields.
+   */
+  private boolean currentOnlyAccessesFields(int cl, int s0)
+  {
+    var result = true;
+    var diverges = false;
+    for (var s = s0; result && !diverges && _fuir.withinCode(s); s = s + _fuir.codeSizeAt(s))
+      {
+        switch (_fuir.codeAt(s))
+          {
+          case Current:
+            {
+              var n = s + _fuir.codeSizeAt(s);
+              result = _fuir.withinCode(n) && accessesOwnField(cl, n);
+              break;
+            }
+          case Match:
+            {
+              for (var mc = 0; result && mc < _fuir.matchCaseCount(s); mc++)
+                {
+                  if (_fuir.matchCaseTags(s, mc).length > 0)
+                    {
+                      result = currentOnlyAccessesFields(cl, _fuir.matchCaseCode(s, mc));
+                    }
+                }
+              break;
+            }
+          default:
+            break;
+          }
+        diverges = _fuir.alwaysResultsInVoid(s);
+      }
+    return result;
+  }
+
+
+  /**
+   * Is the expression at site s a static read or write of a field of cl that
+   * uses the current instance pushed immediately before s as its target?
+   *
+   * @param cl the routine whose code is checked
+   *
+   * @param s a site following a Current expression
+   */
+  private boolean accessesOwnField(int cl, int s)
+  {
+    var e = _fuir.codeAt(s);
+    var result = false;
+    if (e.isCallOrAssign() && !_fuir.accessIsDynamic(s))
+      {
+        var f = _fuir.accessedClazz(s);
+        result = f == NO_CLAZZ
+          ? e == FUIR.ExprKind.Assign  // assignment to unused field, target and value are dropped
+          : (_fuir.clazzKind(f) == FUIR.FeatureKind.Field &&
+             _fuir.clazzOuterClazz(f) == cl               &&
+             (e == FUIR.ExprKind.Assign ||
+              fieldExists(f)            ||
+              _types.resultType(_fuir.clazzResultClazz(f)) == PrimitiveType.type_void));
+      }
+    return result;
+  }
+
+
+  /**
+   * The local var slot that holds the value of field f of a scalar replaced
+   * routine.
+   *
+   * @param f a field with fieldExists(f) whose outer clazz is scalarReplaced.
+   */
+  int fieldSlot(int f)
+  {
+    if (PRECONDITIONS) require
+      (fieldExists(f),
+       scalarReplaced(_fuir.clazzOuterClazz(f)));
+
+    return _fieldSlots[_fuir.clazzId2num(f)];
+  }
+
+
+  /**
+   * Code to store the value on top of the stack into the local var that
+   * replaces field f.
+   *
+   * @param f a field with fieldExists(f) whose outer clazz is scalarReplaced.
+   */
+  Expr storeReplacedField(int f)
+  {
+    return _types.resultType(_fuir.clazzResultClazz(f)).store(fieldSlot(f));
+  }
+
+
+  /**
+   * Code to produce the default value of the given Java type, i.e., zero,
+   * false or null.
+   */
+  static Expr zeroValue(JavaType jt)
+  {
+    return
+      jt == PrimitiveType.type_long   ? Expr.lconst(0)         :
+      jt == PrimitiveType.type_float  ? Expr.fconst(0)         :
+      jt == PrimitiveType.type_double ? Expr.dconst(0)         :
+      jt.isPrimitive()                ? Expr.iconst(0)         :
+                                        Expr.ACONST_NULL;
+  }
+
+
   /**
    * Create prolog for code of given routine.  The prolog creates a new instance
    * of cl and stores a reference to that instance into local var at slot
    * current_index().
    *
+   * If cl is scalarReplaced, the prolog instead allocates one local var for
+   * each field of cl and initializes it to its default value such that the
+   * local has the field's type in all stack map frames.
+   *
    * @param cl is of clazz to compile
    *
    * @return the prolog code.
@@ -1206,10 +1532,29 @@ should be avoided as much as possible.
   Expr prolog(int cl)
   {
     var result = Expr.UNIT;
-    if (!_fuir.isScalar(cl))  // not calls like `u8 0x20` or `f32 3.14`.
+    if (scalarReplaced(cl))
+      {
+        for (var i = 0; i < _fuir.clazzFieldCount(cl); i++)
+          {
+            var f = _fuir.clazzField(cl, i);
+            if (fieldExists(f))
+              {
+                var jt = _types.resultType(_fuir.clazzResultClazz(f));
+                var slot = numLocals(cl);
+                setNumLocals(cl, slot + jt.stackSlots());
+                _fieldSlots[_fuir.clazzId2num(f)] = slot;
+                result = result
+                  .andThen(Expr.comment("Field `" + _fuir.clazzName(f) + "` replaced by local " + slot))
+                  .andThen(zeroValue(jt))
+                  .andThen(jt.store(slot));
+              }
+          }
+      }
+    else if (!_fuir.isScalar(cl))  // not calls like `u8 0x20` or `f32 3.14`.
       {
         var vti = _types.resultType(cl).vti();
-        result = result.andThen(new0(cl))
+        result = result.andThen(_types.inCodeHolder(cl) ? Expr.ACONST_NULL  // unit type instance without a class, see Types.inCodeHolder()
+                                                        : new0(cl))
           .andThen(cl == _fuir.clazzUniverse()
                    ? Expr.DUP.andThen(Expr.putstatic(_names.javaClass(cl),
                                                      Names.UNIVERSE_FIELD,
@@ -1290,7 +1635,11 @@ should be avoided as much as possible.
         var ft = _types.resultType(t);
         var tr =  traceReturn(cl);
 
-        return fieldExists(r)
+        return fieldExists(r) && scalarReplaced(cl)
+          ? tr
+             .andThen(ft.load(fieldSlot(r)))
+             .andThen(ft.return0())
+          : fieldExists(r)
           ? tr
              .andThen(Expr.aload(current_index(cl), ft, _types.javaType(cl).vti()))
              .andThen(getfield(r))
@@ -1441,6 +1790,40 @@ should be avoided as much as possible.
     return res;
   }
 
+  /**
+   * Create code to get the current FuzionThread for code at site si.
+   *
+   * The first use in a routine allocates a local var that caches the thread
+   * and that is initialized to null in the prolog, see codeForRoutine().
+   * Runtime.currentThread(FuzionThread) then finds the current thread at most
+   * once per call, so effect operations within a loop or in repeated effect
+   * accesses do not repeat the thread local lookup.
+   *
+   * @param si a site in the routine to create code for
+   *
+   * @return code that produces the current FuzionThread.
+   */
+  Expr currentThread(int si)
+  {
+    var cl = _fuir.clazzAt(si);
+    var ix = _fuir.clazzId2num(cl);
+    var slot = _currentThreadSlots[ix];
+    if (slot < 0)
+      {
+        slot = allocLocal(si, 1);
+        _currentThreadSlots[ix] = slot;
+      }
+    var ft = Names.FUZION_THREAD_TYPE;
+    return Expr.aload(slot, ft, ft.vti())
+      .andThen(Expr.invokeStatic(Names.RUNTIME_CLASS,
+                                 Names.RUNTIME_CURRENT_THREAD,
+                                 "(" + ft.descriptor() + ")" + ft.descriptor(),
+                                 ft))
+      .andThen(Expr.DUP)
+      .andThen(Expr.astore(slot, ft.vti()));
+  }
+
+
   /**
    * Create code for given clazz cl.
    *
@@ -1451,12 +1834,12 @@ should be avoided as much as possible.
     if (PRECONDITIONS) require
       (_fuir.clazzKind(cl) == FUIR.FeatureKind.Routine);
 
-    var cf = _types.classFile(cl);
+    var cf = _types.codeClassFile(cl);
     if (cf == null) return;
     var prolog = Expr.UNIT;
     var epilog = Expr.UNIT;
     Expr code;
-    var name = _names.function(cl);
+    var name = _types.routineName(cl);
 
     if (_fuir.clazzKind(cl) == FUIR.FeatureKind.Routine)
       {
@@ -1464,6 +1847,14 @@ should be avoided as much as possible.
         prolog = prolog(cl);
         code = _ai.processClazz(cl).v1();
         epilog = epilog(cl);
+        var ts = _currentThreadSlots[_fuir.clazzId2num(cl)];
+        if (ts >= 0)
+          {
+            prolog = prolog
+              .andThen(Expr.comment("current thread cached in local " + ts))
+              .andThen(Expr.ACONST_NULL)
+              .andThen(Expr.astore(ts, Names.FUZION_THREAD_TYPE.vti()));
+          }
       }
     else // intrinsic is a type parameter, type instances are unit types, so nothing to be done:
       {
@@ -1898,6 +2289,94 @@ should be avoided as much as possible.
   }
 
 
+  /**
+   * Check if atomic accesses to the given field can be performed lock-free
+   * using a VarHandle.  This is the case if the field exists and its values
+   * are of a primitive or reference type that can be compared and set at once
+   * in the same way as compareValues() compares them.  All other fields need
+   * Runtime.LOCK_FOR_ATOMIC.
+   *
+   * @param field the clazz id of a field in _fuir.
+   */
+  boolean hasVarHandle(int field)
+  {
+    var rt = _fuir.clazzResultClazz(field);
+    var jt = _types.resultType(rt);
+    return fieldExists(field) &&
+      (jt.isPrimitive()      ||
+       _fuir.clazzIsRef(rt)  ||
+       _fuir.clazzIsChoice(rt) &&
+       jt instanceof ClassFileConstants.AType &&
+       (_types._choices.kind(rt) == Choices.ImplKind.nullable ||
+        _types._choices.kind(rt) == Choices.ImplKind.refsAndUnits));
+  }
+
+
+  /**
+   * Create code to load the VarHandle for the given field.  The VarHandle is
+   * stored in a static field of the field's outer clazz that is created on
+   * demand and initialized by the outer clazz' static initializer.
+   *
+   * @param field the clazz id of a field in _fuir, hasVarHandle(field) must hold.
+   */
+  Expr varHandle(int field)
+  {
+    if (PRECONDITIONS) require
+      (hasVarHandle(field));
+
+    var cl = _fuir.clazzOuterClazz(field);
+    var cf = _types.classFile(cl);
+    var n = _names.varHandleField(field);
+    if (!cf.hasField(n))
+      {
+        cf.field(ACC_PUBLIC | ACC_STATIC | ACC_FINAL,
+                 n,
+                 Names.CT_JAVA_LANG_INVOKE_VARHANDLE.descriptor());
+        cf.addToClInit(Expr.invokeStatic("java/lang/invoke/MethodHandles",
+                                         "lookup",
+                                         "()L" + Names.JAVA_LANG_INVOKE_LOOKUP + ";",
+                                         new ClassType(Names.JAVA_LANG_INVOKE_LOOKUP))
+                       .andThen(Expr.classconst(cf.classType()))
+                       .andThen(Expr.stringconst(_names.field(field)))
+                       .andThen(Expr.classconst(_types.resultType(_fuir.clazzResultClazz(field))))
+                       .andThen(Expr.invokeVirtual(Names.JAVA_LANG_INVOKE_LOOKUP,
+                                                   "findVarHandle",
+                                                   Names.FIND_VAR_HANDLE_SIG,
+                                                   Names.CT_JAVA_LANG_INVOKE_VARHANDLE))
+                       .andThen(Expr.putstatic(cf._name, n, Names.CT_JAVA_LANG_INVOKE_VARHANDLE)));
+      }
+    return Expr.getstatic(cf._name, n, Names.CT_JAVA_LANG_INVOKE_VARHANDLE);
+  }
+
+
+  /**
+   * Create code for an atomic access to a field using its VarHandle. The
+   * VarHandle, the target instance and the arguments must be on the stack.
+   *
+   * @param field the clazz id of a field in _fuir, hasVarHandle(field) must hold.
+   *
+   * @param mode the VarHandle access mode method, e.g. "getVolatile",
+   * "setVolatile", "compareAndSet" or "compareAndExchange".
+   *
+   * @param args the number of arguments of the field's type following the
+   * target instance.
+   *
+   * @param rt the result type of the access.
+   */
+  Expr varHandleAccess(int field, String mode, int args, JavaType rt)
+  {
+    var ft = _types.resultType(_fuir.clazzResultClazz(field)).descriptor();
+    var descr = new StringBuilder("(")
+      .append(_types.classFile(_fuir.clazzOuterClazz(field)).classType().descriptor());
+    for (var i = 0; i < args; i++)
+      {
+        descr.append(ft);
+      }
+    descr.append(")").append(rt.descriptor());
+    return Expr.invokeVirtual(Names.JAVA_LANG_INVOKE_VARHANDLE, mode, descr.toString(), rt);
+  }
+
+
   /**
    * Create code to read value of a field using static binding
    *
@@ -1921,6 +2400,9 @@ should be avoided as much as possible.
     return
       _fuir.isScalar(occ)      ? tvalue :   // reading, e.g., `val` field from `i32` is identity operation
       _fuir.clazzIsVoidType(rt) ? null       // NYI: UNDER DEVELOPMENT: this should not be possible, a field of type void is guaranteed to be uninitialized!
+                                :
+      fieldExists(f) &&
+      scalarReplaced(occ)       ? tvalue.andThen(_types.resultType(rt).load(fieldSlot(f)))
                                 : tvalue.getFieldOrUnit(_names.javaClass(occ),
                                                         _names.field(f),
                                                         _types.resultType(rt));
@@ -1965,6 +2447,12 @@ should be avoided as much as possible.
           }
         var v = s == NO_SITE ? value
                              : cloneValue(s, value, rt, f);
+        if (scalarReplaced(occ))
+          {
+            return tvalue
+              .andThen(v)
+              .andThen(storeReplacedField(f));
+          }
         return tvalue
           .andThen(v)
           .andThen(putfield(f));
@@ -2312,6 +2800,24 @@ should be avoided as much as possible.
   }
 
 
+  /**
+   * Assign effect ids to all effects that are changed by effect intrinsics
+   * such that the number of effect ids is known before code is created.  The
+   * main method passes this number to the runtime to pre-size the effect
+   * environment of each thread, see Runtime._numEffects_.
+   */
+  private void createEffectIds()
+  {
+    for (var cl = _fuir.firstClazz(); cl <= _fuir.lastClazz(); cl++)
+      {
+        if (_fuir.clazzNeedsCode(cl) && _fuir.isEffectIntrinsic(cl))
+          {
+            effectId(_fuir.effectTypeFromIntrinsic(cl));
+          }
+      }
+  }
+
+
   /**
    * Get a small id (0, 1, 2, ) for an effect whose clazz id is given.
    */
@@ -93,6 +93,20 @@ public class JVMOptions extends FuzionOptions
   final boolean _saveJAR;
 
 
+  /**
+   * Should a class data sharing archive be created for the saved JAR file and
+   * be used by the created executable?  See JVM.createCDSArchive().
+   */
+  final boolean _cds;
+
+
+  /**
+   * Should the created code run spawned Fuzion threads as virtual threads?
+   * See Runtime._virtualThreads_.
+   */
+  final boolean _virtualThreads;
+
+
   /**
    * List of arguments to pass to the program, if it is run immediately.
    */
@@ -117,6 +131,28 @@ public class JVMOptions extends FuzionOptions
   final Optional<String> _jLibs;
 
 
+  /**
+   * Should instances of routines that do not escape their call be replaced by
+   * local variables?  See JVM.scalarReplaced().
+   */
+  final boolean _scalarReplacement;
+
+
+  /**
+   * Should the code of routines that do not need a Java class of their own be
+   * put into shared code holder classes?  See Types.inCodeHolder().
+   */
+  final boolean _mergeRoutines = FuzionOptions.boolPropertyOrEnv("dev.flang.be.jvm.JVM.mergeRoutines");
+
+
+  /**
+   * Should dynamic calls use invokedynamic with an inline cache in
+   * runtime.DynamicCall instead of invokeinterface on an interface with one
+   * method per dynamically called feature?  See CodeGen.addDynamicFunctionAndStubs().
+   */
+  final boolean _invokeDynamic = FuzionOptions.boolPropertyOrEnv("dev.flang.be.jvm.JVM.invokeDynamic");
+
+
   /*--------------------------  constructors  ---------------------------*/
 
 
@@ -127,6 +163,9 @@ public class JVMOptions extends FuzionOptions
                     boolean run,
                     boolean saveClasses,
                     boolean saveJAR,
+                    boolean cds,
+                    boolean virtualThreads,
+                    boolean scalarReplacement,
                     Optional<String> outputName,
                     Optional<String> jLibs)
   {
@@ -135,6 +174,9 @@ public class JVMOptions extends FuzionOptions
     this._run         = run;
     this._saveClasses = saveClasses;
     this._saveJAR     = saveJAR;
+    this._cds         = cds;
+    this._virtualThreads = virtualThreads;
+    this._scalarReplacement = scalarReplacement || scalarReplacement();
     this._applicationArgs = fo.getBackendArgs();
     this._outputName = outputName;
     this._jLibs = jLibs;
@@ -143,6 +185,19 @@ public class JVMOptions extends FuzionOptions
 
   /*-----------------------------  methods  -----------------------------*/
 
+
+  /**
+   * Is scalar replacement of routine instances enabled via property or env var
+   * {@code dev.flang.be.jvm.JVM.scalarReplacement}?
+   *
+   * Since this requires the lifetime of instances to be known, the DFA has to
+   * perform escape analysis if this is enabled.
+   */
+  public static boolean scalarReplacement()
+  {
+    return FuzionOptions.boolPropertyOrEnv("dev.flang.be.jvm.JVM.scalarReplacement");
+  }
+
 }
 
 /* end of file */
@@ -35,6 +35,8 @@ import dev.flang.be.jvm.classfile.ClassFileConstants;
 
 import dev.flang.be.jvm.runtime.Any;
 import dev.flang.be.jvm.runtime.AnyI;
+import dev.flang.be.jvm.runtime.DynamicCall;
+import dev.flang.be.jvm.runtime.FuzionThread;
 import dev.flang.be.jvm.runtime.Main;
 import dev.flang.be.jvm.runtime.Runtime;
 import dev.flang.be.jvm.runtime.Intrinsics;
@@ -97,6 +99,15 @@ public class Names extends ANY implements ClassFileConstants
   static final String    ANYI_DESCR = ANYI_TYPE.descriptor();
 
 
+  /**
+   * Name and signature of bootstrap method DynamicCall.bootstrap used for
+   * dynamic calls using invokedynamic.
+   */
+  static final String DYNAMIC_CALL_CLASS         = DynamicCall.class.getName().replace(".","/");
+  static final String DYNAMIC_CALL_BOOTSTRAP     = "bootstrap";
+  static final String DYNAMIC_CALL_BOOTSTRAP_SIG = "(Ljava/lang/invoke/MethodHandles$Lookup;Ljava/lang/String;Ljava/lang/invoke/MethodType;)Ljava/lang/invoke/CallSite;";
+
+
   /**
    * Name of JVM backend's runtime's class Abort and field Abort._effect
    */
@@ -113,6 +124,25 @@ public class Names extends ANY implements ClassFileConstants
   static final String RUNTIME_ARGS_GET_SIG = "(I)[B";
 
 
+  /**
+   * Name of Runtime._virtualThreads_ field
+   */
+  static final String RUNTIME_VIRTUAL_THREADS = "_virtualThreads_";
+
+
+  /**
+   * Name of Runtime._numEffects_ field
+   */
+  static final String RUNTIME_NUM_EFFECTS = "_numEffects_";
+
+
+  /**
+   * Name of Runtime.currentThread methods and the type of their result
+   */
+  static final String RUNTIME_CURRENT_THREAD = "currentThread";
+  static final ClassType FUZION_THREAD_TYPE = new ClassType(FuzionThread.class.getName().replace(".","/"));
+
+
   /**
    * Name and signature of Runtime.internalArrayForConstString().
    */
@@ -146,6 +176,23 @@ public class Names extends ANY implements ClassFileConstants
   static final String RUNTIME_LOCK_FOR_ATOMIC   = "LOCK_FOR_ATOMIC";
 
 
+  /**
+   * Prefix of static fields holding the VarHandle of a field that is accessed
+   * atomically, see JVM.varHandle().
+   */
+  private static final String VAR_HANDLE_PREFIX = "fzVH_";
+
+
+  /**
+   * Names of java.lang.invoke.VarHandle and MethodHandles.Lookup.findVarHandle
+   * used for atomic accesses.
+   */
+  static final String    JAVA_LANG_INVOKE_VARHANDLE    = "java/lang/invoke/VarHandle";
+  static final ClassType CT_JAVA_LANG_INVOKE_VARHANDLE = new ClassType(JAVA_LANG_INVOKE_VARHANDLE);
+  static final String    JAVA_LANG_INVOKE_LOOKUP       = "java/lang/invoke/MethodHandles$Lookup";
+  static final String    FIND_VAR_HANDLE_SIG           = "(" + JAVA_LANG_CLASS.descriptor() + JAVA_LANG_STRING.descriptor() + JAVA_LANG_CLASS.descriptor() + ")" + CT_JAVA_LANG_INVOKE_VARHANDLE.descriptor();
+
+
   /**
    * Prefix for Java class names created for Fuzion routines or intrinsics
    */
@@ -155,6 +202,7 @@ public class Names extends ANY implements ClassFileConstants
 
   static final String ROUTINE_NAME      = "fzRoutine";                // method with code for the routine
   static final String NAME_ID           = "_L";
+  static final String CODE_HOLDER_ID    = "_H";                       // no mangled name starts with "_H", so there is no conflict
   static
   {
     if (CHECKS) check
@@ -272,6 +320,7 @@ public class Names extends ANY implements ClassFileConstants
    * holds a map from Java class names to human readable fuzion class names.
    *
     * The resource consists of lines separated by "\n" that consist of {@code java_name + "\" + fuzion_clazz_name}.
+    * For routines put into code holders, java_name is {@code class_name + "." + method_name}.
    */
   String methodNameToFuzionClazzNames()
   {
@@ -289,6 +338,12 @@ public class Names extends ANY implements ClassFileConstants
               .append("\n");
           }
       }
+    _codeHolderRoutines.forEach((m, cl) ->
+      result
+        .append(m)
+        .append("\t")
+        .append(_fuir.clazzNameHuman(cl))
+        .append("\n"));
     return result.toString();
   }
 
@@ -446,6 +501,13 @@ public class Names extends ANY implements ClassFileConstants
   TreeMap<String,String> _simpleBaseNames = new TreeMap<>();
 
 
+  /**
+   * Map from "<code holder>.<method>" to the routine whose code is in this
+   * method, see Types.inCodeHolder().
+   */
+  TreeMap<String, Integer> _codeHolderRoutines = new TreeMap<>();
+
+
   /**
    * Map from PreallocatedConstants to field names if static field in
    * fzC_universe that hold these constant values.
@@ -603,6 +665,47 @@ public class Names extends ANY implements ClassFileConstants
   }
 
 
+  /**
+   * Name of the Java class for the code holder with the given number.
+   *
+   * @param n the number of the code holder, see Types.inCodeHolder().
+   *
+   * @return name to be used for Java class
+   */
+  String codeHolder(int n)
+  {
+    return CLASS_PREFIX + CODE_HOLDER_ID + n;
+  }
+
+
+  /**
+   * Name of the Java function of routine cl if its code is put into a code
+   * holder class, see Types.inCodeHolder().
+   *
+   * @param cl clazz id
+   *
+   * @return the Java name
+   */
+  String codeHolderFunction(int cl)
+  {
+    return ROUTINE_NAME + "_" + _fuir.clazzId2num(cl);
+  }
+
+
+  /**
+   * Record that the code of routine cl is put into the given code holder class
+   * such that it is included in methodNameToFuzionClazzNames().
+   *
+   * @param holder the code holder class name
+   *
+   * @param cl clazz id
+   */
+  void addCodeHolderRoutine(String holder, int cl)
+  {
+    _codeHolderRoutines.put(holder + "." + codeHolderFunction(cl), cl);
+  }
+
+
   /**
    * Name of the dynamic function of the given clazz.  This function will be
    * declared in cl's outer clazz' interface.
@@ -627,6 +730,15 @@ public class Names extends ANY implements ClassFileConstants
 
 
 
+  /**
+   * The name of the static field holding the VarHandle for the given field.
+   */
+  String varHandleField(int field)
+  {
+    return VAR_HANDLE_PREFIX + field(field);
+  }
+
+
   String choiceUnitAsRef(int tagNum)
   {
     return CHOICE_UNIT_AS_REF_PREFIX + tagNum;
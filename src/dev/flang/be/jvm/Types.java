@@ -27,6 +27,7 @@ Fuzion language implementation.  If not, see <https://www.gnu.org/licenses/>.
 package dev.flang.be.jvm;
 
 import dev.flang.fuir.FUIR;
+import dev.flang.fuir.SpecialClazzes;
 
 
 import dev.flang.be.jvm.classfile.ClassFile;
@@ -35,11 +36,11 @@ import dev.flang.be.jvm.classfile.Expr;
 import dev.flang.be.jvm.classfile.VerificationType;
 
 import dev.flang.util.ANY;
-import dev.flang.util.FuzionOptions;
 import dev.flang.util.List;
 
 import static dev.flang.ir.IR.NO_CLAZZ;
 
+import java.util.BitSet;
 import java.util.TreeMap;
 
 
@@ -55,7 +56,7 @@ public class Types extends ANY implements ClassFileConstants
   /*----------------------------  variables  ----------------------------*/
 
 
-  private final FuzionOptions _opt;
+  private final JVMOptions _opt;
 
 
   /**
@@ -73,20 +74,50 @@ public class Types extends ANY implements ClassFileConstants
 
   private final TreeMap<Integer, ClassFile> _interfaceFiles = new TreeMap<>();
 
+
+  /**
+   * Maximum number of routines whose code is put into one code holder class.
+   * This keeps the constant pool of a code holder well below its limit.
+   */
+  private static final int ROUTINES_PER_CODE_HOLDER = 64;
+
+
+  /**
+   * For each routine that is in a code holder, the code holder class file.
+   */
+  private final TreeMap<Integer, ClassFile> _codeHolders = new TreeMap<>();
+
+
+  /**
+   * For each code holder, the first routine that was put into it.  Used to
+   * iterate over the code holders together with the other class files, see
+   * classFiles().
+   */
+  private final TreeMap<Integer, ClassFile> _codeHolderOwners = new TreeMap<>();
+
   JavaType UNIVERSE_TYPE;
 
 
+  /**
+   * The number of effect ids known at compile time, see JVM.createEffectIds().
+   */
+  private final int _numEffects;
+
+
   /*---------------------------  constructors  ---------------------------*/
 
 
   /**
    * Create instance of Types
+   *
+   * @param numEffects the number of effect ids known at compile time.
    */
-  public Types(JVMOptions opt, FUIR fuir, Names names)
+  public Types(JVMOptions opt, FUIR fuir, Names names, int numEffects)
   {
     this._opt = opt;
     this._fuir = fuir;
     this._names = names;
+    this._numEffects = numEffects;
     this._choices = new Choices(fuir, names, this);
   }
 
@@ -113,6 +144,77 @@ public class Types extends ANY implements ClassFileConstants
   }
 
 
+  /**
+   * Is the code of routine cl put into a shared code holder class instead of a
+   * class of its own?
+   *
+   * With thousands of small routines, a class per routine means thousands of
+   * constant pools to be loaded, linked and verified at startup.  A routine
+   * needs a class of its own only if there are instances of this class, so
+   * with option {@code dev.flang.be.jvm.JVM.mergeRoutines}, routines of unit
+   * type, for which javaType() is void, that are not the value type inherited
+   * by a ref type have their code put as a static method into a code holder
+   * class instead.  Code holders are filled with routines from the same source
+   * file such that their SourceFile attribute is correct.
+   *
+   * @param cl a clazz id.
+   */
+  boolean inCodeHolder(int cl)
+  {
+    return _codeHolders.containsKey(cl);
+  }
+
+
+  /**
+   * Determine the routines for which inCodeHolder() is true and create the
+   * code holder class files.  This has to be done before the class files of
+   * all clazzes are created by createClassFile() since these may already
+   * call routines.
+   */
+  void createCodeHolders()
+  {
+    if (_opt._mergeRoutines)
+      {
+        var refValues = new BitSet();
+        for (var cl = _fuir.firstClazz(); cl <= _fuir.lastClazz(); cl++)
+          {
+            if (_fuir.clazzIsRef(cl) && !_fuir.clazzIsBoxed(cl))
+              {
+                refValues.set(_fuir.clazzId2num(_fuir.clazzAsValue(cl)));
+              }
+          }
+        var open = new TreeMap<String, ClassFile>();
+        var count = new TreeMap<String, Integer>();
+        for (var cl = _fuir.firstClazz(); cl <= _fuir.lastClazz(); cl++)
+          {
+            if (_fuir.clazzKind(cl) == FUIR.FeatureKind.Routine &&
+                _fuir.clazzNeedsCode(cl)                        &&
+                cl != _fuir.clazzUniverse()                     &&
+                !_fuir.clazzIsRef(cl)                           &&
+                !_fuir.clazzIsBoxed(cl)                         &&
+                _fuir.clazzIsUnitType(cl)                       &&  // so javaType(cl) is void
+                _fuir.getSpecialClazz(cl) == SpecialClazzes.c_NOT_FOUND &&
+                !refValues.get(_fuir.clazzId2num(cl)))
+              {
+                var src = _fuir.clazzSrcFile(cl);
+                var h = open.get(src);
+                var n = count.getOrDefault(src, 0);
+                if (h == null || n == ROUTINES_PER_CODE_HOLDER)
+                  {
+                    h = new ClassFile(_opt, _names.codeHolder(_codeHolderOwners.size()), "java/lang/Object", src);
+                    _codeHolderOwners.put(cl, h);
+                    open.put(src, h);
+                    n = 0;
+                  }
+                count.put(src, n + 1);
+                _codeHolders.put(cl, h);
+                _names.addCodeHolderRoutine(h._name, cl);
+              }
+          }
+      }
+  }
+
+
   /**
    * Create class declaration if required for the given clazz.
    *
@@ -120,7 +222,7 @@ public class Types extends ANY implements ClassFileConstants
    */
   void createClassFile(int cl)
   {
-    if (hasClassFile(cl))
+    if (hasClassFile(cl) && !inCodeHolder(cl))
       {
         var cn = _names.javaClass(cl);
         var cf = new ClassFile(
@@ -194,6 +296,12 @@ public class Types extends ANY implements ClassFileConstants
             var bc_main =
               Expr.aload(0, JAVA_LANG_STRING.array())
               .andThen(Expr.putstatic(Names.RUNTIME_CLASS, Names.RUNTIME_ARGS, JAVA_LANG_STRING.array()))
+              .andThen(Expr.iconst(_numEffects))
+              .andThen(Expr.putstatic(Names.RUNTIME_CLASS, Names.RUNTIME_NUM_EFFECTS, PrimitiveType.type_int))
+              .andThen(_opt._virtualThreads
+                       ? Expr.iconst(1)
+                         .andThen(Expr.putstatic(Names.RUNTIME_CLASS, Names.RUNTIME_VIRTUAL_THREADS, PrimitiveType.type_boolean))
+                       : Expr.UNIT)
               .andThen(Expr.new0(cn, javaType(cl)))
               .andThen(Expr.DUP)
               .andThen(Expr.invokeSpecial(cn, "<init>", "()V"))
@@ -228,10 +336,11 @@ public class Types extends ANY implements ClassFileConstants
   Expr invokeStatic(int cc, int line)
   {
     var callingIntrinsic = _fuir.clazzKind(cc) == FUIR.FeatureKind.Intrinsic;
-    var cls   = callingIntrinsic ? Names.RUNTIME_INTRINSICS_CLASS
-                                 : _names.javaClass(cc);
+    var cls   = callingIntrinsic ? Names.RUNTIME_INTRINSICS_CLASS :
+                inCodeHolder(cc) ? _codeHolders.get(cc)._name
+                                 : _names.javaClass(cc);  // class file of cc might not be created yet
     var fname = callingIntrinsic ? _names.function(cc)
-                                 : Names.ROUTINE_NAME;
+                                 : routineName(cc);
     return Expr.invokeStatic(cls,
                              fname,
                              descriptor(cc),
@@ -304,6 +413,61 @@ public class Types extends ANY implements ClassFileConstants
   }
 
 
+  /**
+   * Get the class file that contains the code of the given routine, this is
+   * either the routine's class file or its code holder.
+   *
+   * @param cl a clazz id of a routine.
+   *
+   * @return the class file the routine's code is put in, null if none.
+   */
+  ClassFile codeClassFile(int cl)
+  {
+    var h = _codeHolders.get(cl);
+    return h != null ? h : classFile(cl);
+  }
+
+
+  /**
+   * Get the name of the static method that contains the code of the given
+   * routine.
+   *
+   * @param cl a clazz id of a routine.
+   */
+  String routineName(int cl)
+  {
+    return inCodeHolder(cl) ? _names.codeHolderFunction(cl)
+                            : Names.ROUTINE_NAME;
+  }
+
+
+  /**
+   * Get all class files that have to be written for the given clazz: Its class
+   * file, its interface file and the code holder it is the first routine of.
+   *
+   * @param cl a clazz id.
+   */
+  List<ClassFile> classFiles(int cl)
+  {
+    var result = new List<ClassFile>();
+    var cf = classFile(cl);
+    if (cf != null)
+      {
+        result.add(cf);
+      }
+    if (hasInterfaceFile(cl))
+      {
+        result.add(interfaceFile(cl));
+      }
+    var h = _codeHolderOwners.get(cl);
+    if (h != null)
+      {
+        result.add(h);
+      }
+    return result;
+  }
+
+
   /**
    * check if an interface class file was generated for the given clazz.
    *
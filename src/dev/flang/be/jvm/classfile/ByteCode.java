@@ -425,20 +425,25 @@ abstract class ByteCode extends ANY implements ClassFileConstants
   }
 
   /**
-   * Create byte[] of O_invokeinterface
+   * Create byte[] of O_invokeinterface or O_invokedynamic
    *
    * @param bw target to write bytecodes to.
    *
-   * @param bc O_invokeinterface.
+   * @param bc O_invokeinterface or O_invokedynamic.
    *
-   * @param index of InterfaceMethod CPool entry
+   * @param index of InterfaceMethod or InvokeDynamic CPool entry
    *
-   * @param b1 arg count
+   * @param b1 arg count, 0 for O_invokedynamic
    *
    * @param b2 0
    */
   void code(ClassFile.ByteCodeWriter bw, byte bc, int index, byte b1, byte b2)
   {
+    if (PRECONDITIONS) require
+      (bc == O_invokeinterface && (0xff & b1) > 0 ||
+       bc == O_invokedynamic   &&          b1 == 0,
+       b2 == 0);
+
     bw.write(bc);
     bw.writeU2(index);
     bw.write(b1);
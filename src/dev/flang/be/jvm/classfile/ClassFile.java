@@ -873,6 +873,83 @@ public class ClassFile extends ANY implements ClassFileConstants
   }
 
 
+  /**
+   * Method handle, see section #4.4.8 in
+   * https://docs.oracle.com/javase/specs/jvms/se21/jvms21.pdf
+   */
+  class CPMethodHandle extends CPEntry
+  {
+
+    final int _kind;
+
+    final CPEntry _ref;
+
+    CPMethodHandle(int kind, CPEntry ref)
+    {
+      _kind = kind;
+      _ref = ref;
+    }
+
+    CPoolTag tag() { return CPoolTag.tag_method_handle; }
+
+    int compareTo2(CPEntry other)
+    {
+      var k1 = _kind;
+      var k2 = ((CPMethodHandle) other)._kind;
+      return
+        k1 < k2 ? -1 :
+        k1 > k2 ? +1 : _ref.compareTo(((CPMethodHandle) other)._ref);
+    }
+
+    void write(Kaku o)
+    {
+      o.writeU1(_kind);
+      o.writeU2(_ref.index());
+    }
+
+  }
+
+
+  /**
+   * Dynamically computed call site, see section #4.4.10 in
+   * https://docs.oracle.com/javase/specs/jvms/se21/jvms21.pdf
+   */
+  class CPInvokeDynamic extends CPEntry
+  {
+
+    /**
+     * index in the BootstrapMethods attribute, see bootstrapMethod().
+     */
+    final int _bootstrap;
+
+    final CPNameAndType _nat;
+
+    CPInvokeDynamic(int bootstrap, CPNameAndType nat)
+    {
+      _bootstrap = bootstrap;
+      _nat = nat;
+    }
+
+    CPoolTag tag() { return CPoolTag.tag_invoke_dynamic; }
+
+    int compareTo2(CPEntry other)
+    {
+      var b1 = _bootstrap;
+      var b2 = ((CPInvokeDynamic) other)._bootstrap;
+      return
+        b1 < b2 ? -1 :
+        b1 > b2 ? +1 : _nat.compareTo(((CPInvokeDynamic) other)._nat);
+    }
+
+    void write(Kaku o)
+    {
+      o.writeU2(_bootstrap);
+      o.writeU2(_nat.index());
+    }
+
+  }
+
+
   /**
    * Integer constant
    */
@@ -1028,6 +1105,33 @@ public class ClassFile extends ANY implements ClassFileConstants
   CPField           cpField          (CPClass c, CPNameAndType n) { return (CPField          ) (new CPField          (c, n      )).add(); }
   CPMethod          cpMethod         (CPClass c, CPNameAndType n) { return (CPMethod         ) (new CPMethod         (c, n      )).add(); }
   CPInterfaceMethod cpInterfaceMethod(CPClass c, CPNameAndType n) { return (CPInterfaceMethod) (new CPInterfaceMethod(c, n      )).add(); }
+  CPMethodHandle    cpMethodHandle   (int kind, CPEntry r       ) { return (CPMethodHandle   ) (new CPMethodHandle   (kind, r   )).add(); }
+  CPInvokeDynamic   cpInvokeDynamic  (int b, CPNameAndType n    ) { return (CPInvokeDynamic  ) (new CPInvokeDynamic  (b, n      )).add(); }
+
+
+  /**
+   * Get the index of the given bootstrap method in the BootstrapMethods
+   * attribute of this class, add it if it is not there yet.
+   *
+   * NYI: static arguments to bootstrap methods are not supported yet.
+   *
+   * @param mh a method handle entry for the bootstrap method.
+   *
+   * @return the index to be used in a CPInvokeDynamic entry.
+   */
+  int bootstrapMethod(CPMethodHandle mh)
+  {
+    var result = _bootstrapMethods.indexOf(mh);
+    if (result < 0)
+      {
+        if (CHECKS) check
+          (!_finished);
+
+        result = _bootstrapMethods.size();
+        _bootstrapMethods.add(mh);
+      }
+    return result;
+  }
 
 
   /**
@@ -1402,7 +1506,7 @@ public class ClassFile extends ANY implements ClassFileConstants
     final String _where;
     final ByteCode _code;
     final List<Attribute> _attributes;
-    int _size;
+    int _size = -1;
     private final StackMapTable _smt;
     private final LineNumberTableAttribute _lnta;
     CodeAttribute(String where,
@@ -1417,14 +1521,27 @@ public class ClassFile extends ANY implements ClassFileConstants
       this._attributes = attributes;
       this._smt = smt;
       this._lnta = lnta;
-      var be = new ByteCodeSizeEstimate(_where   ); _code.code(be, ClassFile.this);
-      var bf = new ByteCodeFixLabels   (_where   ); _code.code(bf, ClassFile.this);
-      _size = bf.size();
       _attributes.addAll(_smt, _lnta);
     }
 
+    /**
+     * Determine the positions of all labels and the size of the code.  This is
+     * done lazily when the class file is finished such that it can be done
+     * independently for different class files, see bytes().
+     */
+    private void layout()
+    {
+      if (_size < 0)
+        {
+          var be = new ByteCodeSizeEstimate(_where   ); _code.code(be, ClassFile.this);
+          var bf = new ByteCodeFixLabels   (_where   ); _code.code(bf, ClassFile.this);
+          _size = bf.size();
+        }
+    }
+
     byte[] data()
     {
+      layout();
       _smt.build();
       _lnta.build();
       var o = new Kaku();
@@ -1483,6 +1600,37 @@ public class ClassFile extends ANY implements ClassFileConstants
    * There may be at most one SourceFile attribute in the attributes table of a
    * ClassFile structure."
    */
+  /*
+   * https://docs.oracle.com/javase/specs/jvms/se21/jvms21.pdf
+   * §4.7.23 "The BootstrapMethods attribute is a variable-length attribute in
+   * the attributes table of a ClassFile structure (§4.1). The BootstrapMethods
+   * attribute records bootstrap methods used to produce dynamically-computed
+   * constants and dynamically-computed call sites (§4.4.10)."
+   */
+  class BootstrapMethodsAttribute extends Attribute
+  {
+
+    BootstrapMethodsAttribute()
+    {
+      super("BootstrapMethods");
+    }
+
+    @Override
+    byte[] data()
+    {
+      var o = new Kaku();
+      o.writeU2(_bootstrapMethods.size());
+      for (var mh : _bootstrapMethods)
+        {
+          o.writeU2(mh.index());
+          o.writeU2(0);  // num_bootstrap_arguments
+        }
+      return o._b.toByteArray();
+    }
+
+  }
+
+
   public class SourceFileAttribute extends Attribute {
 
     private CPEntry _srcFile;
@@ -1531,11 +1679,23 @@ public class ClassFile extends ANY implements ClassFileConstants
   final List<Method> _methods = new List<>();
   final List<Attribute> _attributes = new List<>();
 
+  /**
+   * Bootstrap methods used by invokedynamic instructions in this class, see
+   * bootstrapMethod().
+   */
+  final List<CPMethodHandle> _bootstrapMethods = new List<>();
+
   /**
    * True if this class was finished by a call to finish().
    */
   boolean _finished = false;
 
+
+  /**
+   * The result of bytes(), null before bytes() was called.
+   */
+  private byte[] _bytes = null;
+
   /**
    * static initializer code or null if none. Modified via calls to addToClInit.
    */
@@ -1611,10 +1771,27 @@ public class ClassFile extends ANY implements ClassFileConstants
 
   /**
    * Get the bytes of this class file as an array.
+   *
+   * This finishes this class file, no code may be added afterwards.  Since
+   * all the state that is modified is owned by this class file, bytes() may
+   * be called for different class files in parallel.
    */
   public byte[] bytes()
   {
-    finish();
+    if (_bytes == null)
+      {
+        finish();
+        _bytes = createBytes();
+      }
+    return _bytes;
+  }
+
+
+  /**
+   * Helper for bytes() to create the bytes of this finished class file.
+   */
+  private byte[] createBytes()
+  {
     var o = new Kaku();
     o.write(MAGIC);
     o.write(_version);
@@ -1799,6 +1976,10 @@ public class ClassFile extends ANY implements ClassFileConstants
           a.data();
         }
       }
+    if (!_bootstrapMethods.isEmpty())
+      {
+        _attributes.add(new BootstrapMethodsAttribute());
+      }
 
     _finished = true;
   }
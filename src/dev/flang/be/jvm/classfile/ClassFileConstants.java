@@ -110,6 +110,21 @@ public interface ClassFileConstants
   };
 
 
+  /**
+   * Reference kinds of a CONSTANT_MethodHandle entry, see section #4.4.8 in
+   * https://docs.oracle.com/javase/specs/jvms/se21/jvms21.pdf
+   */
+  public static final int REF_getField         = 1;
+  public static final int REF_getStatic        = 2;
+  public static final int REF_putField         = 3;
+  public static final int REF_putStatic        = 4;
+  public static final int REF_invokeVirtual    = 5;
+  public static final int REF_invokeStatic     = 6;
+  public static final int REF_invokeSpecial    = 7;
+  public static final int REF_newInvokeSpecial = 8;
+  public static final int REF_invokeInterface  = 9;
+
+
   /**
    * JavaType provides an abstraction of types in the JVM and a basis for user
    * defined types that are useful for generating bytecode.
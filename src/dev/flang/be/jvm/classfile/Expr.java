@@ -875,6 +875,63 @@ public abstract class Expr extends ByteCode
   }
 
 
+  /**
+   * create invokedynamic bytecode for a call site with given name and descr
+   * that is linked by the static bootstrap method bsmCls.bsmName.
+   *
+   * @param bsmCls the class declaring the bootstrap method
+   *
+   * @param bsmName the name of the bootstrap method
+   *
+   * @param bsmDescr the descriptor of the bootstrap method, taking a Lookup, a
+   * String and a MethodType and resulting in a CallSite.
+   *
+   * @param name the name passed to the bootstrap method
+   *
+   * @param descr the descriptor of the call site, including the target if there
+   * is one.
+   *
+   * @param rt the result type of the call
+   *
+   * @param lineNumber the source line of the call, -1 if unknown.
+   */
+  public static Expr invokeDynamic(String bsmCls, String bsmName, String bsmDescr, String name, String descr, JavaType rt, int lineNumber)
+  {
+    return new Expr()
+      {
+        public String toString() { return "invokeDynamic " + name + descr; }
+        public JavaType type() { return rt;  }
+        public void code(ClassFile.ByteCodeWriter ba, ClassFile cf)
+        {
+          var bc  = cf.cpClass(cf.cpUtf8(bsmCls));
+          var bm  = cf.cpMethod(bc, cf.cpNameAndType(bsmName, bsmDescr));
+          var bsm = cf.bootstrapMethod(cf.cpMethodHandle(REF_invokeStatic, bm));
+          var m   = cf.cpInvokeDynamic(bsm, cf.cpNameAndType(name, descr));
+          code(ba, O_invokedynamic, m.index(), (byte) 0, (byte) 0);
+        }
+        @Override
+        public void buildStackMapTable(StackMapTable smt, Stack<VerificationType> stack, List<VerificationType> locals)
+        {
+          var argCount = ClassFileConstants.argCount(descr);
+          for (int index = 0; index < argCount; index++)
+            {
+              stack.pop();
+            }
+          stack.push(rt.vti());
+        }
+        @Override
+        public void buildLineNumberTable(ClassFile cf, List<Pair<Integer, Integer>> lnt, int[] idx)
+        {
+          if (lineNumber != -1)
+            {
+              lnt.add(new Pair<Integer,Integer>(idx[0], lineNumber));
+            }
+          idx[0] += 5;
+        }
+    };
+  }
+
+
   /**
    * create getfield bytecode to load field described by cls, name and type.
    */
@@ -1296,8 +1353,15 @@ public abstract class Expr extends ByteCode
     if (CHECKS) check
       (t.isPrimitive());
 
+    var n = t.className();
+    var w = switch (n)
+      {
+      case "int"  -> "Integer";
+      case "char" -> "Character";
+      default     -> n.substring(0,1).toUpperCase() + n.substring(1).toLowerCase();
+      };
     return getstatic(
-      "java/lang/" + t.className().substring(0,1).toUpperCase() + t.className().substring(1).toLowerCase(),
+      "java/lang/" + w,
       "TYPE",
       ClassFileConstants.JAVA_LANG_CLASS);
   }
@@ -0,0 +1,279 @@
+/*
+
+This file is part of the Fuzion language implementation.
+
+The Fuzion language implementation is free software: you can redistribute it
+and/or modify it under the terms of the GNU General Public License as published
+by the Free Software Foundation, version 3 of the License.
+
+The Fuzion language implementation is distributed in the hope that it will be
+useful, but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public
+License for more details.
+
+You should have received a copy of the GNU General Public License along with The
+Fuzion language implementation.  If not, see <https://www.gnu.org/licenses/>.
+
+*/
+
+/*-----------------------------------------------------------------------
+ *
+ * Tokiwa Software GmbH, Germany
+ *
+ * Source of class DynamicCall
+ *
+ *---------------------------------------------------------------------*/
+
+package dev.flang.be.jvm.runtime;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.MutableCallSite;
+
+import dev.flang.util.Errors;
+
+
+/**
+ * DynamicCall is the call site of an invokedynamic instruction created by the
+ * JVM backend for a dynamic call in Fuzion code.
+ *
+ * The first argument of the call site is the target instance.  Since every
+ * Fuzion clazz is compiled into a Java class of its own, the Java class of the
+ * target identifies the Fuzion clazz.  For each target class, the call is
+ * dispatched to the stub method with the name of the call site that the
+ * backend created in that class.
+ *
+ * Linking is lazy: The call site starts with a fallback that links the target
+ * class of the first call.  Up to MAX_INLINE_CACHE_SIZE target classes are
+ * then checked in a chain of class identity tests, i.e., a polymorphic inline
+ * cache.  If more target classes are seen, the call site becomes megamorphic
+ * and looks up the target in a per-call site ClassValue.
+ */
+public class DynamicCall extends MutableCallSite
+{
+
+
+  /*----------------------------  constants  ----------------------------*/
+
+
+  /**
+   * Maximum number of target classes checked by the inline cache before a call
+   * site becomes megamorphic.
+   */
+  static final int MAX_INLINE_CACHE_SIZE = 8;
+
+
+  /**
+   * Method handles to DynamicCall's helper methods.
+   */
+  static final MethodHandle MISS;
+  static final MethodHandle IS_CLASS;
+  static final MethodHandle LOOKUP;
+  static
+  {
+    try
+      {
+        var l = MethodHandles.lookup();
+        MISS     = l.findVirtual(DynamicCall.class, "miss",    MethodType.methodType(Object.class, Object[].class));
+        IS_CLASS = l.findStatic (DynamicCall.class, "isClass", MethodType.methodType(boolean.class, Class.class, Object.class));
+        LOOKUP   = l.findVirtual(DynamicCall.class, "lookup",  MethodType.methodType(MethodHandle.class, Object.class));
+      }
+    catch (NoSuchMethodException | IllegalAccessException e)
+      {
+        throw new Error(e);
+      }
+  }
+
+
+  /*----------------------------  variables  ----------------------------*/
+
+
+  /**
+   * The lookup of the class containing the call site.
+   */
+  private final MethodHandles.Lookup _caller;
+
+
+  /**
+   * The name of the stub methods to call.
+   */
+  private final String _name;
+
+
+  /**
+   * The number of target classes in the inline cache, -1 once this call site
+   * became megamorphic.
+   */
+  private int _cacheSize = 0;
+
+
+  /**
+   * The target classes in the inline cache and the corresponding targets.
+   * These are used to avoid adding a second test for the same class when
+   * several threads miss concurrently.
+   */
+  private final Class<?>[] _classes = new Class<?>[MAX_INLINE_CACHE_SIZE];
+  private final MethodHandle[] _handles = new MethodHandle[MAX_INLINE_CACHE_SIZE];
+
+
+  /**
+   * The targets of a megamorphic call site.
+   */
+  private final ClassValue<MethodHandle> _targets = new ClassValue<MethodHandle>()
+    {
+      protected MethodHandle computeValue(Class<?> c)
+      {
+        return target(c);
+      }
+    };
+
+
+  /*--------------------------  constructors  ---------------------------*/
+
+
+  /**
+   * Create an unlinked call site.
+   */
+  private DynamicCall(MethodHandles.Lookup caller, String name, MethodType type)
+  {
+    super(type);
+
+    _caller = caller;
+    _name = name;
+    setTarget(MISS.bindTo(this)
+                  .asCollector(Object[].class, type.parameterCount())
+                  .asType(type));
+  }
+
+
+  /*-----------------------------  methods  -----------------------------*/
+
+
+  /**
+   * Bootstrap method of invokedynamic instructions created for dynamic calls.
+   *
+   * @param caller the lookup of the class containing the call site
+   *
+   * @param name the name of the stub methods to be called
+   *
+   * @param type the type of the call site, the first argument is the target
+   * instance.
+   *
+   * @return a new call site.
+   */
+  public static CallSite bootstrap(MethodHandles.Lookup caller, String name, MethodType type)
+  {
+    return new DynamicCall(caller, name, type);
+  }
+
+
+  /**
+   * Find the stub method for target class c.
+   *
+   * @return a method handle of this call site's type calling the stub.
+   */
+  private MethodHandle target(Class<?> c)
+  {
+    var t = type();
+    try
+      {
+        return _caller
+          .findVirtual(c, _name, t.dropParameterTypes(0, 1))
+          .asType(t);
+      }
+    catch (NoSuchMethodException | IllegalAccessException e)
+      {
+        Errors.fatal("Failed to link dynamic call '" + _name + "' for target class '" + c.getName() + "': " + e);
+        return null;
+      }
+  }
+
+
+  /**
+   * Get the target for the class of the given target instance from a
+   * megamorphic call site.
+   */
+  private MethodHandle lookup(Object target)
+  {
+    return _targets.get(target.getClass());
+  }
+
+
+  /**
+   * Check if the class of the given target instance is c.
+   */
+  private static boolean isClass(Class<?> c, Object target)
+  {
+    return target.getClass() == c;
+  }
+
+
+  /**
+   * Find class c in the inline cache.
+   *
+   * @return the target for c or null if c is not in the inline cache.
+   */
+  private MethodHandle cached(Class<?> c)
+  {
+    for (var i = 0; i < _cacheSize; i++)
+      {
+        if (_classes[i] == c)
+          {
+            return _handles[i];
+          }
+      }
+    return null;
+  }
+
+
+  /**
+   * Fallback of the inline cache: Link the class of the target instance
+   * args[0] and perform the call.
+   *
+   * @param args the arguments of the call, starting with the target instance.
+   *
+   * @return the result of the call, null if it has no result.
+   */
+  private Object miss(Object[] args) throws Throwable
+  {
+    var c = args[0].getClass();
+    MethodHandle mh;
+    synchronized (this)
+      {
+        mh = cached(c);
+        if (mh != null)
+          {
+            // another thread added c to the inline cache concurrently
+          }
+        else if (_cacheSize < 0)
+          {
+            mh = _targets.get(c);
+          }
+        else if (_cacheSize < MAX_INLINE_CACHE_SIZE)
+          {
+            mh = target(c);
+            var test = MethodHandles.insertArguments(IS_CLASS, 0, c)
+              .asType(MethodType.methodType(boolean.class, type().parameterType(0)));
+            setTarget(MethodHandles.guardWithTest(test, mh, getTarget()));
+            _classes[_cacheSize] = c;
+            _handles[_cacheSize] = mh;
+            _cacheSize++;
+          }
+        else
+          {
+            mh = _targets.get(c);
+            var t = type();
+            var l = LOOKUP.bindTo(this)
+              .asType(MethodType.methodType(MethodHandle.class, t.parameterType(0)));
+            setTarget(MethodHandles.foldArguments(MethodHandles.exactInvoker(t), l));
+            _cacheSize = -1;
+          }
+      }
+    return mh.invokeWithArguments(args);
+  }
+
+}
+
+/* end of file */
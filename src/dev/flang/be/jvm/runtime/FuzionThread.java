@@ -26,45 +26,81 @@ Fuzion language implementation.  If not, see <https://www.gnu.org/licenses/>.
 
 package dev.flang.be.jvm.runtime;
 
+import dev.flang.util.ANY;
 import dev.flang.util.Errors;
-import dev.flang.util.List;
 
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
+import java.lang.invoke.MethodHandle;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 
 /**
- * FuzionThread is a thread spawned for code running in the JVM backend.
+ * FuzionThread holds the state of a thread spawned for code running in the JVM
+ * backend.
+ *
+ * FuzionThread does not extend Thread such that the Java thread running the
+ * code may be a platform thread or a virtual thread, see
+ * Runtime._virtualThreads_.  The FuzionThread of the current Java thread is
+ * found via a ThreadLocal, see current().
  *
  * @author Fridtjof Siebert (siebert@tokiwa.software)
  */
-public class FuzionThread extends Thread
+public class FuzionThread extends ANY
 {
 
 
+  /*----------------------------  constants  ----------------------------*/
+
+
+  /**
+   * The FuzionThread of the current Java thread, null for threads not started
+   * by the Fuzion runtime.
+   */
+  private static final ThreadLocal<FuzionThread> _current_ = new ThreadLocal<>();
+
+
+  /**
+   * Spawned threads that run as virtual threads and did not terminate yet.
+   *
+   * Since virtual threads are daemon threads, they would not keep the JVM
+   * alive after the main thread terminated.  To behave like platform threads,
+   * the main thread waits for these threads, see joinVirtualThreads().
+   */
+  private static final Set<FuzionThread> _virtualThreads_ = ConcurrentHashMap.newKeySet();
+
+
   /*----------------------------  variables  ----------------------------*/
 
 
   /**
    * Currently installed effects for this thread.
    *
-   * This is a map from effect JVM.effectId() to effect instance values.
+   * This is indexed by effect id JVM.effectId(), the initial size is the
+   * number of effect ids known at compile time, Runtime._numEffects_.
    */
-  List<AnyI> _installedEffects = new List<>();
+  private AnyI[] _installedEffects = new AnyI[Runtime._numEffects_];
 
 
   /**
-   * Stack of previously installed effect instances. On Runtime.effect_push, the
+   * Stack of previously installed effect instances. On effect_push, the
    * original existing instance will be pushed onto this stack, while
-   * Runtime.effect_pop will remove the last element in this list and install it
+   * effect_pop will remove the last element in this stack and install it
    * back as the effect instance.
    *
-   * Unitle _installedEffects, this list does not regard effect types or
+   * Unlike _installedEffects, this stack does not regard effect types or
    * effectIds, but mixes effects of different types. This is possible since
    * effect_push/effect_pop is guaranteed to be perfectly nested even for
    * different effect types.
    */
-  List<AnyI> _effectStack = new List<>();
+  private AnyI[] _effectStack = new AnyI[16];
+
+
+  /**
+   * Number of elements in _effectStack.
+   */
+  private int _effectStackSize = 0;
 
 
   /**
@@ -80,35 +116,47 @@ public class FuzionThread extends Thread
   final ClassLoader _loader;
 
 
+  /**
+   * The Java thread running this thread's code.
+   */
+  private final Thread _thread;
+
+
   /*--------------------------  constructors  ---------------------------*/
 
 
   /**
    * Create and start a new thread for the given code.
    *
-   * @param r the static Java method that is the main fuzion function for this
-   * thread.
+   * @param r method handle of type {@code (Any)void} of the static Java method
+   * that is the main fuzion function for this thread, see
+   * Runtime.threadRoutine.
    *
    * @param code the argument to pass to r, i.e. the outer instance
    */
-  FuzionThread(Method r, Any code)
+  FuzionThread(MethodHandle r, Any code)
   {
     this((Runnable) () ->
          {
            try
              {
-               r.invoke(null, code);
+               r.invokeExact(code);
+             }
+           catch (StackOverflowError e)
+             {
+               Errors.fatal("Stack overflow", Runtime.stackTrace(e));
              }
-           catch (IllegalAccessException e)
+           catch (RuntimeException | Error e)
              {
-               Errors.fatal("thread_spawn call caused `" + e + "` when calling `" + r + "`");
+               throw e;
              }
-           catch (InvocationTargetException e)
+           catch (Throwable e)
              {
-               Runtime.handleInvocationTargetException(e);
+               Errors.fatal("Error while running JVM compiled code: " + e);
              }
          },
-         r.getDeclaringClass().getClassLoader());
+         code.getClass().getClassLoader(),
+         Runtime._virtualThreads_);
   }
 
 
@@ -117,21 +165,50 @@ public class FuzionThread extends Thread
    */
   FuzionThread(Main main)
   {
-    this((Runnable) ()->main.fz_run(), main.getClass().getClassLoader());
+    this((Runnable) ()->
+         {
+           main.fz_run();
+           joinVirtualThreads();
+         },
+         main.getClass().getClassLoader(),
+         false);
   }
 
 
   /**
-   * Create a main FuzionThread and run code.
+   * Create a FuzionThread and start a Java thread that runs code.
+   *
+   * @param r the code to run.
    *
-   * @oaran loader class loader used to load resources related to compiled
+   * @param l class loader used to load resources related to compiled
    * fuzion code.
+   *
+   * @param virtual true to run r in a virtual thread, false for a platform
+   * thread.
    */
-  private FuzionThread(Runnable r, ClassLoader l)
+  private FuzionThread(Runnable r, ClassLoader l, boolean virtual)
   {
-    super(()->Errors.runAndExit(r), "Fuzion thread");
     _loader = l;
-    start();
+    if (virtual)
+      {
+        _virtualThreads_.add(this);
+      }
+    var b = virtual ? Thread.ofVirtual()
+                    : Thread.ofPlatform();
+    _thread = b
+      .name("Fuzion thread")
+      .start(() ->
+             {
+               _current_.set(this);
+               try
+                 {
+                   Errors.runAndExit(r);
+                 }
+               finally
+                 {
+                   _virtualThreads_.remove(this);
+                 }
+             });
   }
 
 
@@ -139,15 +216,49 @@ public class FuzionThread extends Thread
 
 
   /**
-   * Make sure _installedEffects is large enough to hold effect with given id.
+   * Get the FuzionThread of the current Java thread.
    *
-   * @param id an effect id.
+   * @return the current FuzionThread or null if the current Java thread was
+   * not started by the Fuzion runtime.
+   */
+  static FuzionThread current()
+  {
+    return _current_.get();
+  }
+
+
+  /**
+   * Wait for this thread to terminate, ignoring interrupts.
    */
-  private void ensure_effect_capacity(int id)
+  void join()
   {
-    while (_installedEffects.size() < id+1)
+    var done = false;
+    do
       {
-        _installedEffects.add(null);
+        try
+          {
+            _thread.join();
+            done = true;
+          }
+        catch (InterruptedException e)
+          {
+          }
+      }
+    while (!done);
+  }
+
+
+  /**
+   * Wait for all spawned virtual threads to terminate.
+   */
+  private static void joinVirtualThreads()
+  {
+    while (!_virtualThreads_.isEmpty())
+      {
+        for (var t : _virtualThreads_)
+          {
+            t.join();
+          }
       }
   }
 
@@ -156,23 +267,137 @@ public class FuzionThread extends Thread
    * Internal helper to load an effect instance from the given id.
    *
    * @param id an effect id.
+   *
+   * @return the instated effect, null if none.
    */
   public AnyI effect_load(int id)
   {
-    ensure_effect_capacity(id);
-    return _installedEffects.get(id);
+    var e = _installedEffects;
+    return id < e.length ? e[id] : null;
   }
 
 
   /**
    * Internal helper to store an effect instance for the given id.
    *
+   * Effect ids that were not known at compile time, see Runtime._numEffects_,
+   * cause _installedEffects to grow.
+   *
    * @param id an effect id.
    */
   void effect_store(int id, AnyI instance)
   {
-    ensure_effect_capacity(id);
-    _installedEffects.set(id, instance);
+    var e = _installedEffects;
+    if (id >= e.length)
+      {
+        e = Arrays.copyOf(e, Math.max(id + 1, 2 * e.length));
+        _installedEffects = e;
+      }
+    e[id] = instance;
+  }
+
+
+  /**
+   * Helper for instrinsic for {@code effect.instate_at_singularity0} to instate
+   * an effect at startup.
+   */
+  public void effect_instate_at_singularity(int id, AnyI instance)
+  {
+    if (CHECKS) check
+     (effect_load(id) == null);
+
+    effect_store(id, instance);
+  }
+
+
+  /**
+   * Helper method to implement intrinsic effect.type.is_instated.
+   *
+   * @param id an effect id.
+   *
+   * @return true iff an effect with that id was instated.
+   */
+  public boolean effect_is_instated(int id)
+  {
+    return effect_load(id) != null;
+  }
+
+
+  /**
+   * Helper method to implement intrinsic effect.set0.
+   *
+   * @param id an effect type id.
+   *
+   * @param instance a new instance to replace the old one
+   */
+  public void effect_set(int id, AnyI instance)
+  {
+    effect_store(id, instance);
+  }
+
+
+  /**
+   * Helper method to implement intrinsic effect.remove0.
+   *
+   * @param id an effect type id.
+   */
+  public void effect_remove(int id)
+  {
+    effect_store(id, null);
+  }
+
+
+  /**
+   * Helper method to implement effect.type.instante0. Instate a new instance for
+   * effect type with given id.
+   *
+   * The existing value instated for the effect type identified by id will be
+   * evacuated to _effectStack to be restored by effect_pop.
+   *
+   * @param id the id of the effect type that is instated
+   *
+   * @param instance the effect instance that is instated, NOTE: This is {@code
+   * Runtime._UNIT_TYPE_EFFECT_} for a unit type effect.
+   */
+  public void effect_push(int id, AnyI instance)
+  {
+    if (PRECONDITIONS) require
+      (instance != null);
+
+    var old = effect_load(id);
+    effect_store(id, instance);
+    var s = _effectStack;
+    var n = _effectStackSize;
+    if (n == s.length)
+      {
+        s = Arrays.copyOf(s, 2 * n);
+        _effectStack = s;
+      }
+    s[n] = old;
+    _effectStackSize = n + 1;
+  }
+
+
+  /**
+   * Helper method to implement effect.type.instante0. Un-instate an instance
+   * instated by effect_push.
+   *
+   * The original instance that was saved to _effectStack will be re-instated.
+   *
+   * @param id the id of the effect type that is popped.
+   *
+   * @return the instance that was previously instated or replaced for effect
+   * type id.
+   */
+  public AnyI effect_pop(int id)
+  {
+    var res = effect_load(id);
+    var n = _effectStackSize - 1;
+    var instance = _effectStack[n];
+    _effectStack[n] = null;
+    _effectStackSize = n;
+    effect_store(id, instance);
+    return res;
   }
 
 
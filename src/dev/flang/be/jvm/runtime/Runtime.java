@@ -69,6 +69,7 @@ import java.util.concurrent.locks.ReentrantLock;
 
 import dev.flang.util.ANY;
 import dev.flang.util.Errors;
+import dev.flang.util.FuzionOptions;
 import dev.flang.util.JavaInterface;
 import dev.flang.util.Pair;
 import dev.flang.util.StringHelpers;
@@ -92,21 +93,70 @@ public class Runtime extends ANY
 
   /**
    * Exception that is thrown by effect.abort
+   *
+   * Aborts are used for non-local control flow, so they do not record a stack
+   * trace or suppressed exceptions and there is only one preallocated
+   * instance per effect id, see of().
    */
   public static class Abort extends Error
   {
 
+    /**
+     * Preallocated instances indexed by effect id, null for ids that were not
+     * aborted yet.
+     */
+    private static volatile Abort[] _instances_ = new Abort[0];
+
+
     public final int _effect;
 
     /**
      * @param effect the id of the effect that is aborted.
      */
-    Abort(int effect)
+    private Abort(int effect)
     {
-      super();
+      super(null, null, false, false);
       this._effect = effect;
     }
 
+
+    /**
+     * Get the preallocated instance for the given effect id.
+     *
+     * @param effect the id of the effect that is aborted.
+     */
+    static Abort of(int effect)
+    {
+      var a = _instances_;
+      var result = effect < a.length ? a[effect] : null;
+      return result != null ? result : create(effect);
+    }
+
+
+    /**
+     * Create the instance for the given effect id unless another thread did
+     * so already.  Since _effect is final, the instances may be read without
+     * synchronization.
+     *
+     * @param effect the id of the effect that is aborted.
+     */
+    private static synchronized Abort create(int effect)
+    {
+      var a = _instances_;
+      if (effect >= a.length)
+        {
+          a = Arrays.copyOf(a, Math.max(effect + 1, _numEffects_));
+        }
+      var result = a[effect];
+      if (result == null)
+        {
+          result = new Abort(effect);
+          a[effect] = result;
+        }
+      _instances_ = a;
+      return result;
+    }
+
   }
 
   /**
@@ -170,6 +220,58 @@ public class Runtime extends ANY
   public static final Object LOCK_FOR_ATOMIC = new Object();
 
 
+  /**
+   * Should spawned Fuzion threads run as virtual threads instead of platform
+   * threads?  This is set via property or env var {@code
+   * dev.flang.be.jvm.runtime.virtualThreads} or by the main method of code
+   * compiled with option {@code -virtualThreads}.
+   */
+  public static boolean _virtualThreads_ = FuzionOptions.boolPropertyOrEnv("dev.flang.be.jvm.runtime.virtualThreads");
+
+
+  /**
+   * The number of effect ids known at compile time.  This is set by the main
+   * method of the compiled code and used as the initial size of
+   * FuzionThread._installedEffects.
+   */
+  public static int _numEffects_ = 0;
+
+
+  /**
+   * Entry points of threads spawned via thread_spawn: For a class of a Fuzion
+   * routine {@code call}, a method handle of type {@code (Any)void} for its
+   * method ROUTINE_NAME.
+   */
+  static final ClassValue<MethodHandle> _threadRoutines_ = new ClassValue<MethodHandle>()
+    {
+      protected MethodHandle computeValue(Class<?> call)
+      {
+        MethodHandle result = null;
+        for (var m : call.getDeclaredMethods())
+          {
+            if (m.getName().equals(ROUTINE_NAME))
+              {
+                try
+                  {
+                    result = MethodHandles.lookup()
+                      .unreflect(m)
+                      .asType(MethodType.methodType(void.class, Any.class));
+                  }
+                catch (IllegalAccessException e)
+                  {
+                    Errors.fatal("thread_spawn caused `" + e + "` when accessing `" + m + "`");
+                  }
+              }
+          }
+        if (result == null)
+          {
+            Errors.fatal("in " + Runtime.class.getName() + ".thread_spawn: missing `" + ROUTINE_NAME + "` in class `" + call + "`");
+          }
+        return result;
+      }
+    };
+
+
   /**
    * The result of {@code envir.Args[0]}
    */
@@ -239,20 +341,33 @@ public class Runtime extends ANY
    */
   public static FuzionThread currentThread()
   {
-    FuzionThread result = null;
-    var ct = Thread.currentThread();
-    if (ct instanceof FuzionThread ft)
-      {
-        result = ft;
-      }
-    else
+    var result = FuzionThread.current();
+    if (result == null)
       {
-        Errors.fatal("Fuzion Runtime used from detached thread " + ct, stackTrace());
+        Errors.fatal("Fuzion Runtime used from detached thread " + Thread.currentThread(), stackTrace());
       }
     return result;
   }
 
 
+  /**
+   * Get the current FuzionThread instance unless it was already found before.
+   *
+   * The code for a routine that uses effects caches the current thread in a
+   * local variable, see JVM.currentThread().  This is called with the value of
+   * that variable such that the current thread has to be found at most once
+   * for each call to the routine.
+   *
+   * @param cached the cached current thread or null if not known yet.
+   *
+   * @return the current thread, never null.
+   */
+  public static FuzionThread currentThread(FuzionThread cached)
+  {
+    return cached != null ? cached : currentThread();
+  }
+
+
   /**
    * Report a fatal error and exit.
    *
@@ -453,63 +568,6 @@ public class Runtime extends ANY
   }
 
 
-  /**
-   * Helper for instrinsic for {@code effect.instate_at_singularity0} to instate
-   * an effect at startup.
-   */
-  public static void effect_instate_at_singularity(int id, AnyI instance)
-  {
-    var t = currentThread();
-    if (CHECKS) check
-     (t.effect_load(id) == null);
-
-    t.effect_store(id, instance);
-  }
-
-
-  /**
-   * Helper method to implement intrinsic effect.type.is_instated.
-   *
-   * @param id an effect id.
-   *
-   * @return true iff an effect with that id was instated.
-   */
-  public static boolean effect_is_instated(int id)
-  {
-    var t = currentThread();
-
-    return t.effect_load(id) != null;
-  }
-
-
-  /**
-   * Helper method to implement intrinsic effect.set0.
-   *
-   * @param id an effect type id.
-   *
-   * @param instance a new instance to replace the old one
-   */
-  public static void effect_set(int id, AnyI instance)
-  {
-    var t = currentThread();
-
-    t.effect_store(id, instance);
-  }
-
-
-  /**
-   * Helper method to implement intrinsic effect.remove0.
-   *
-   * @param id an effect type id.
-   */
-  public static void effect_remove(int id)
-  {
-    var t = currentThread();
-
-    t.effect_store(id, null);
-  }
-
-
   /**
    * Helper method to handle an InvocationTargetException caused by a call to
    * java.lang.reflect.Method.invoke.  This checks the causing exception, if
@@ -548,55 +606,7 @@ public class Runtime extends ANY
    */
   public static void effect_abort(int id)
   {
-    throw new Abort(id);
-  }
-
-
-  /**
-   * Helper method to implement effect.type.instante0. Instate a new instance for
-   * effect type with given id.
-   *
-   * The existing value instated for the effect type identified by id will be
-   * evacuated to FuzionThread._effectStack to be restored by effect_pop.
-   *
-   * @param id the id of the effect type that is instated
-   *
-   * @param instance the effect instance that is instated, NOTE: This is {@code _UNIT_TYPE_EFFECT_}
-   * for a unit type effect.
-   */
-  public static void effect_push(int id, AnyI instance)
-  {
-    if (PRECONDITIONS) require
-      (instance != null);
-
-    var t = currentThread();
-
-    var old = t.effect_load(id);
-    t.effect_store(id, instance);
-    t._effectStack.add(old);
-  }
-
-
-  /**
-   * Helper method to implement effect.type.instante0. Un-instate an instance
-   * instated by effect_push.
-   *
-   * The original instance that was saved to FuzionThread._effectStack will be
-   * re-instated.
-   *
-   * @param id the id of the effect type that is popped.
-   *
-   * @return the instance that was previously instated or replaced for effect
-   * type id.
-   */
-  public static AnyI effect_pop(int id)
-  {
-    var t = currentThread();
-
-    var res = t.effect_load(id);
-    var instance = t._effectStack.removeLast();
-    t.effect_store(id, instance);
-    return res;
+    throw Abort.of(id);
   }
 
 
@@ -605,7 +615,7 @@ public class Runtime extends ANY
    */
   public static String getException()
   {
-    var result = ((FuzionThread)Thread.currentThread())._thrownException.getMessage();
+    var result = currentThread()._thrownException.getMessage();
     if (result == null)
       {
         result = "";
@@ -634,13 +644,15 @@ public class Runtime extends ANY
 
   /**
    * Obtain the contents of the resource CLASS_NAME_TO_FUZION_CLAZZ_NAME that
-   * provides a mapping from Java class names to corresponding human readable
-   * Fuzion feature names.
+   * provides a mapping from Java class names, or {@code class.method} for
+   * routines in code holder classes, to corresponding human readable Fuzion
+   * feature names.
    */
   public static synchronized Map<String,String> classNameToFeatureName()
   {
     Map<String,String> result = null;
-    var l = Thread.currentThread() instanceof FuzionThread ft ? ft._loader : null;
+    var ft = FuzionThread.current();
+    var l = ft != null ? ft._loader : null;
     if (l != null)
       {
         result = _classNameToFeatureName.get(l);
@@ -699,13 +711,13 @@ public class Runtime extends ANY
           {
           case "main",
                ROUTINE_NAME -> true;
-          default           -> false;
+          default           -> m.startsWith(ROUTINE_NAME + "_");  // routine in a code holder class
           };
         var cl = s.getClassName();
         if (show && cl.startsWith(CLASS_PREFIX))
           {
             var mp = classNameToFeatureName();
-            String str = mp != null ? mp.get(cl) : null;
+            String str = mp != null ? mp.getOrDefault(cl + "." + m, mp.get(cl)) : null;
             if (str == null)
               {
                 int start;
@@ -1050,12 +1062,12 @@ public class Runtime extends ANY
       }
     catch (InvocationTargetException e)
       {
-        ((FuzionThread)Thread.currentThread())._thrownException = e.getCause();
+        currentThread()._thrownException = e.getCause();
         res = _JAVA_ERROR_;
       }
     catch (Throwable e)
       {
-        ((FuzionThread)Thread.currentThread())._thrownException = e;
+        currentThread()._thrownException = e;
         res = _JAVA_ERROR_;
       }
     return res;
@@ -1160,24 +1172,7 @@ public class Runtime extends ANY
    */
   public static Object thread_spawn(Any code, Class call)
   {
-    Object result = null;
-    Method r = null;
-    for (var m : call.getDeclaredMethods())
-      {
-        if (m.getName().equals(ROUTINE_NAME))
-          {
-            r = m;
-          }
-      }
-    if (r == null)
-      {
-        Errors.fatal("in " + Runtime.class.getName() + ".thread_spawn: missing `" + ROUTINE_NAME + "` in class `" + call + "`");
-      }
-    else
-      {
-        result = new FuzionThread(r, code);
-      }
-    return result;
+    return new FuzionThread(_threadRoutines_.get(call), code);
   }
 
 
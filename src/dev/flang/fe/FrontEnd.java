@@ -169,18 +169,19 @@ public class FrontEnd extends ANY
 
 
   /**
-   * Helper method to (re)-load the main.fum for LibraryFuir.
+   * Helper method to (re)-load the main.fum for LibraryFuir from the FUIR
+   * cache.
    */
   public static LibraryModule loadMainModule(FrontEndOptions o)
   {
     var mDirs = new List<>(o._moduleDirs);
-    mDirs.add(".");
+    mDirs.add(o.fuirCache().dir().toString());
     var options = new FrontEndOptions(
       0, o.fuzionHome(), false, false,
       new List<>(), mDirs, new List<>(), -1, false,
       null, false, null, null, null, false, false, false, null);
     // NYI: CLEANUP: add option to load modules without FrontEnd
-    return new FrontEnd(options).loadModule(Long.toString(o.serializationHash()), null);
+    return new FrontEnd(options).loadModule(o.serializationHash(), null);
   }
 
 
@@ -389,7 +390,8 @@ public class FrontEnd extends ANY
         if (_options.serializeFuir())
           {
             // We need this for source positions in fuir
-            _sourceModule.writeToFile(Path.of(Long.toString(_options.serializationHash()) + FuzionConstants.MODULE_FILE_SUFFIX));
+            _options.fuirCache().write(_options.serializationHash() + FuzionConstants.MODULE_FILE_SUFFIX,
+                                       p -> _sourceModule.writeToFile(p));
           }
         reset();
         _mainModule = libModule(data, null /* use universe of module */);
@@ -26,18 +26,31 @@ Fuzion language implementation.  If not, see <https://www.gnu.org/licenses/>.
 
 package dev.flang.fe;
 
+import java.io.BufferedInputStream;
 import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
 import java.io.IOException;
 
+import java.nio.charset.StandardCharsets;
+
 import java.nio.file.Files;
 import java.nio.file.Path;
 
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
 import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.TreeMap;
 import java.util.function.Consumer;
 
 import dev.flang.util.Errors;
+import dev.flang.util.FileCache;
+import dev.flang.util.FuzionConstants;
 import dev.flang.util.FuzionOptions;
 import dev.flang.util.List;
+import dev.flang.util.Version;
 
 
 /**
@@ -298,34 +311,192 @@ public class FrontEndOptions extends FuzionOptions
   }
 
 
-  long _serializationHashCode = -1;
-  public long serializationHash()
+  /**
+   * Cached result of serializationHash().
+   */
+  private String _serializationHash = null;
+
+
+  /**
+   * A hash over all inputs that determine the FUIR created for these options:
+   * the compiler version, the main source code, all source files found in
+   * the source directories, the hashes of all available modules, the options
+   * that affect the front end and all `dev.flang.*` properties and
+   * corresponding environment variables.
+   *
+   * This is used as the key of the FUIR cache, see fuirCache().
+   *
+   * @return a SHA3-256 hash as a hex string.
+   */
+  public String serializationHash()
   {
-    if (_serializationHashCode == -1)
+    if (_serializationHash == null)
       {
         try
           {
+            var md = MessageDigest.getInstance("SHA3-256");
+            Consumer<byte[]> add = b ->
+              {
+                var n = b == null ? -1 : b.length;
+                md.update(new byte[] { (byte) (n >> 24), (byte) (n >> 16), (byte) (n >> 8), (byte) n });
+                if (b != null)
+                  {
+                    md.update(b);
+                  }
+              };
+            Consumer<String> addS = s -> add.accept(s == null ? null : s.getBytes(StandardCharsets.UTF_8));
+
+            addS.accept(Version.VERSION);
+            addS.accept(Version.GIT_HASH);
+            addS.accept(Version.DATE);
+
             var bytes = _readStdin
               ? System.in.readAllBytes()
               : inputFile() != null
                 ? Files.readAllBytes(inputFile())
                 : _executeCode;
-
-            _serializationHashCode = Math.abs(Arrays.hashCode(bytes) + Integer.MAX_VALUE);
-
             if (_readStdin)
               {
                 System.setIn(new ByteArrayInputStream(bytes));
               }
+            add.accept(bytes);
+            addS.accept(_main);
+            addS.accept(_moduleName);
+            addS.accept(Integer.toString(fuzionDebugLevel()));
+            addS.accept(Boolean.toString(fuzionSafety()));
+            addS.accept(Boolean.toString(_loadBaseMod));
+            addS.accept(Boolean.toString(needsEscapeAnalysis()));
+            addS.accept(_modules.toString());
+
+            for (var d : sourcePaths())
+              {
+                for (var p : files(d, ".fz"))
+                  {
+                    addS.accept(p.toString());
+                    add.accept(Files.readAllBytes(p));
+                  }
+              }
+
+            var moduleDirs = new List<Path>(fuzionHome().resolve("modules"));
+            _moduleDirs.forEach(d -> moduleDirs.add(Path.of(d)));
+            for (var d : moduleDirs)
+              {
+                for (var p : files(d, FuzionConstants.MODULE_FILE_SUFFIX))
+                  {
+                    addS.accept(p.toString());
+                    add.accept(moduleHash(p));
+                  }
+              }
+
+            var props = new TreeMap<String, String>();
+            System.getProperties().forEach((k, v) ->
+              {
+                if (k.toString().startsWith("dev.flang."))
+                  {
+                    props.put(k.toString(), v.toString());
+                  }
+              });
+            System.getenv().forEach((k, v) ->
+              {
+                if (k.startsWith("dev_flang_"))
+                  {
+                    props.put(k, v);
+                  }
+              });
+            props.forEach((k, v) -> { addS.accept(k); addS.accept(v); });
+
+            _serializationHash = HexFormat.of().formatHex(md.digest());
           }
         catch (IOException e)
           {
             Errors.fatal("I/O Error: " + e.getMessage());
           }
+        catch (NoSuchAlgorithmException e)
+          {
+            Errors.fatal("hash algorithm not available: " + e.getMessage());
+          }
+      }
+    return _serializationHash;
+  }
+
+
+  /**
+   * Helper for serializationHash to get all regular files with the given
+   * suffix in directory d or its sub-directories, in sorted order.
+   *
+   * @param d a directory, may not exist.
+   *
+   * @param suffix the file name suffix, e.g. ".fz".
+   */
+  private static List<Path> files(Path d, String suffix) throws IOException
+  {
+    var result = new List<Path>();
+    if (Files.isDirectory(d))
+      {
+        try (var s = Files.walk(d))
+          {
+            s.filter(p -> Files.isRegularFile(p) && p.getFileName().toString().endsWith(suffix))
+              .sorted()
+              .forEach(result::add);
+          }
       }
-    return _serializationHashCode;
+    return result;
+  }
 
+
+  /**
+   * Helper for serializationHash to read the hash stored in the header of the
+   * given module file.  This hash is calculated over the module's contents by
+   * LibraryOut, so it is not necessary to read the whole file.
+   *
+   * @param p a .fum file
+   *
+   * @return the module's hash, or null if p is not a valid module file.
+   */
+  private static byte[] moduleHash(Path p) throws IOException
+  {
+    try (var in = new DataInputStream(new BufferedInputStream(Files.newInputStream(p))))
+      {
+        var magic = new byte[FuzionConstants.MIR_FILE_MAGIC.length];
+        in.readFully(magic);
+        byte[] result = null;
+        if (Arrays.equals(magic, FuzionConstants.MIR_FILE_MAGIC))
+          {
+            in.skipNBytes(in.readInt());
+            result = in.readNBytes(32);
+          }
+        return result;
+      }
+    catch (EOFException e)
+      {
+        return null;
+      }
+  }
+
+
+  /**
+   * The cache for .fuir files and the corresponding main modules, entries are
+   * named after serializationHash().
+   *
+   * The cache directory is given by property {@code dev.flang.tools.fuirCacheDir}
+   * and defaults to {@code $XDG_CACHE_HOME/fuzion} or {@code ~/.cache/fuzion}.
+   * The maximum cache size in MB is given by {@code dev.flang.tools.fuirCacheSizeMB}.
+   */
+  public FileCache fuirCache()
+  {
+    if (_fuirCache == null)
+      {
+        var xdg = System.getenv("XDG_CACHE_HOME");
+        var home = xdg != null && !xdg.isEmpty()
+          ? Path.of(xdg)
+          : Path.of(System.getProperty("user.home"), ".cache");
+        var dir = propertyOrEnv("dev.flang.tools.fuirCacheDir", home.resolve("fuzion").toString());
+        var size = intPropertyOrEnv("dev.flang.tools.fuirCacheSizeMB", 1024);
+        _fuirCache = new FileCache(Path.of(dir), Math.max(0, size) * 1024L * 1024L);
+      }
+    return _fuirCache;
   }
+  private FileCache _fuirCache = null;
 
 }
 
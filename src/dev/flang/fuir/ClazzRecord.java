@@ -26,14 +26,11 @@ Fuzion language implementation.  If not, see <https://www.gnu.org/licenses/>.
 
 package dev.flang.fuir;
 
-import java.io.Serializable;
-
 import dev.flang.fuir.FUIR.LifeTime;
 import dev.flang.ir.IR.FeatureKind;
 
 /**
- * NYI: UNDER DEVELOPMENT:
- * remove this once we have custom serialization of FUIR
+ * The data of one clazz as it is written to a .fuir file by FuirOut.
  */
 public record ClazzRecord(
   String clazzBaseName,
@@ -64,7 +61,6 @@ public record ClazzRecord(
   int clazzSrcBytePos,
   int lookupJavaRef,
   int lookupCause
-  ) implements Serializable
+  )
 {
-  private static final long serialVersionUID = 1L;
 }
@@ -488,6 +488,22 @@ public abstract class FUIR extends IR
   public abstract boolean clazzNeedsCode(int cl);
 
 
+  /**
+   * Is this a small, non-recursive routine that was found by the optimizer to
+   * be worth inlining at its static call sites?  This is only a hint, the code
+   * is not changed.  Currently, only the C backend uses it to declare the
+   * corresponding function static inline.
+   *
+   * @param cl a clazz id
+   *
+   * @return true iff cl should be inlined.
+   */
+  public boolean clazzIsInlineCandidate(int cl)
+  {
+    return false;
+  }
+
+
   /*-----------------------  constructors  -----------------------*/
 
 
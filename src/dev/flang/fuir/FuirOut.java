@@ -0,0 +1,559 @@
+/*
+
+This file is part of the Fuzion language implementation.
+
+The Fuzion language implementation is free software: you can redistribute it
+and/or modify it under the terms of the GNU General Public License as published
+by the Free Software Foundation, version 3 of the License.
+
+The Fuzion language implementation is distributed in the hope that it will be
+useful, but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public
+License for more details.
+
+You should have received a copy of the GNU General Public License along with The
+Fuzion language implementation.  If not, see <https://www.gnu.org/licenses/>.
+
+*/
+
+/*-----------------------------------------------------------------------
+ *
+ * Tokiwa Software GmbH, Germany
+ *
+ * Source of class FuirOut
+ *
+ *---------------------------------------------------------------------*/
+
+package dev.flang.fuir;
+
+import static dev.flang.ir.IR.NO_CLAZZ;
+import static dev.flang.ir.IR.NO_SITE;
+import dev.flang.ir.IR.ExprKind;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+import dev.flang.util.ANY;
+import dev.flang.util.DataOut;
+import dev.flang.util.FuzionConstants;
+import dev.flang.util.List;
+
+
+/**
+ * FuirOut creates the data of a .fuir file from ClazzRecords and SiteRecords.
+ *
+ * The data is organized in columns, one column per record component, such
+ * that LibraryFuir can access any component of any clazz or site directly in
+ * the memory mapped file without decoding anything else.
+ *
+ * <pre>
+ *   +---------------------------------------------------------------------------------+
+ *   | FUIR File                                                                       |
+ *   +--------+--------+---------------+-----------------------------------------------+
+ *   | cond.  | repeat | type          | what                                          |
+ *   +--------+--------+---------------+-----------------------------------------------+
+ *   | true   | 1      | byte[4]       | FUIR_FILE_MAGIC                               |
+ *   |        +--------+---------------+-----------------------------------------------+
+ *   |        | 1      | int           | FUIR_FILE_VERSION                             |
+ *   |        +--------+---------------+-----------------------------------------------+
+ *   |        | 1      | int           | main clazz                                    |
+ *   |        +--------+---------------+-----------------------------------------------+
+ *   |        | 1      | int           | number of clazzes nc                          |
+ *   |        +--------+---------------+-----------------------------------------------+
+ *   |        | 1      | int           | number of sites ns                            |
+ *   |        +--------+---------------+-----------------------------------------------+
+ *   |        | SITE_  | int           | number of sites in site group                 |
+ *   |        | GROUPS |               |                                               |
+ *   |        +--------+---------------+-----------------------------------------------+
+ *   |        | 1      | int           | number of special clazzes nsc                 |
+ *   |        +--------+---------------+-----------------------------------------------+
+ *   |        | nsc    | int           | special clazz, NO_CLAZZ if not found          |
+ *   |        +--------+---------------+-----------------------------------------------+
+ *   |        | 1      | int           | number of strings nst                         |
+ *   |        +--------+---------------+-----------------------------------------------+
+ *   |        | nst    | int           | offset of string relative to first string     |
+ *   |        +--------+---------------+-----------------------------------------------+
+ *   |        | nst    | String        | the strings                                   |
+ *   |        +--------+---------------+-----------------------------------------------+
+ *   |        | 1      | int           | offset of the pool                            |
+ *   |        +--------+---------------+-----------------------------------------------+
+ *   |        | CLAZZ_ | int           | offset of clazz column                        |
+ *   |        | COLUMNS|               |                                               |
+ *   |        +--------+---------------+-----------------------------------------------+
+ *   |        | SITE_  | int           | offset of site column                         |
+ *   |        | COLUMNS|               |                                               |
+ *   |        +--------+---------------+-----------------------------------------------+
+ *   |        | CLAZZ_ | Column        | clazz column with nc entries                  |
+ *   |        | COLUMNS|               |                                               |
+ *   |        +--------+---------------+-----------------------------------------------+
+ *   |        | SITE_  | Column        | site column with ns entries or, for group     |
+ *   |        | COLUMNS|               | columns, one entry per site in the group      |
+ *   |        +--------+---------------+-----------------------------------------------+
+ *   |        | 1      | byte[]        | the pool of variable length data              |
+ *   +--------+--------+---------------+-----------------------------------------------+
+ * </pre>
+ *
+ * Entries in a column have a fixed size: Integer values, clazzes and sites are
+ * stored as int, booleans as a byte 0 or 1, enums as a byte holding the
+ * ordinal or 0xFF for null, the byte position of a site as long and strings
+ * as an int index into the strings, -1 for null.
+ *
+ * Arrays are stored as an int offset into the pool, -1 for null.  In the
+ * pool, the array length and all elements are encoded using
+ * DataOut.writeVarInt.  Elements are stored relative to a base, NO_CLAZZ for
+ * clazzes, NO_SITE for sites, such that they typically fit into one or two
+ * bytes.  Strings use the same encoding as byte arrays: a var int length
+ * followed by the UTF8 bytes.
+ */
+class FuirOut extends ANY
+{
+
+
+  /*----------------------------  constants  ----------------------------*/
+
+
+  /**
+   * Indices of the clazz columns, one per component of ClazzRecord.
+   */
+  static final int C_BASE_NAME             =  0;
+  static final int C_OUTER_CLAZZ           =  1;
+  static final int C_IS_BOXED              =  2;
+  static final int C_ARGS                  =  3;
+  static final int C_KIND                  =  4;
+  static final int C_OUTER_REF             =  5;
+  static final int C_RESULT_CLAZZ          =  6;
+  static final int C_IS_REF                =  7;
+  static final int C_IS_UNIT_TYPE          =  8;
+  static final int C_AS_VALUE              =  9;
+  static final int C_CHOICES               = 10;
+  static final int C_INSTANTIATED_HEIRS    = 11;
+  static final int C_NEEDS_CODE            = 12;
+  static final int C_FIELDS                = 13;
+  static final int C_CODE                  = 14;
+  static final int C_RESULT_FIELD          = 15;
+  static final int C_ORIGINAL_NAME         = 16;
+  static final int C_ACTUAL_GENERICS       = 17;
+  static final int C_LOOKUP_CALL           = 18;
+  static final int C_LOOKUP_STATIC_FINALLY = 19;
+  static final int C_LIFE_TIME             = 20;
+  static final int C_TYPE_NAME             = 21;
+  static final int C_NAME                  = 22;
+  static final int C_NAME_HUMAN            = 23;
+  static final int C_SRC_FILE              = 24;
+  static final int C_SRC_BYTE_POS          = 25;
+  static final int C_LOOKUP_JAVA_REF       = 26;
+  static final int C_LOOKUP_CAUSE          = 27;
+  static final int CLAZZ_COLUMNS           = 28;
+
+
+  /**
+   * Indices of the site columns, one per component of SiteRecord plus
+   * S_GROUP_INDEX.
+   *
+   * The columns before S_FIRST_GROUP_COLUMN have one entry per site.  The
+   * remaining columns are used only by sites of one group of ExprKinds, see
+   * siteGroup(), and have one entry per site in that group, indexed by the
+   * site's S_GROUP_INDEX.
+   */
+  static final int S_CLAZZ_AT              =  0;
+  static final int S_ALWAYS_RESULTS_IN_VOID=  1;
+  static final int S_DOES_RESULT_ESCAPE    =  2;
+  static final int S_CODE_AT               =  3;
+  static final int S_GROUP_INDEX           =  4;
+  static final int S_MODULE                =  5;
+  static final int S_BYTE_POS              =  6;
+  static final int S_FIRST_GROUP_COLUMN    =  7;
+  static final int S_ACCESSED_CLAZZ        =  7;  // G_ACCESS
+  static final int S_ACCESSED_CLAZZES      =  8;  // G_ACCESS
+  static final int S_ACCESS_TARGET_CLAZZ   =  9;  // G_ACCESS
+  static final int S_ACCESS_IS_DYNAMIC     = 10;  // G_ACCESS
+  static final int S_ASSIGNED_TYPE         = 11;  // G_ACCESS
+  static final int S_CONST_CLAZZ           = 12;  // G_CONST
+  static final int S_CONST_DATA            = 13;  // G_CONST
+  static final int S_TAG_VALUE_CLAZZ       = 14;  // G_TAG
+  static final int S_TAG_NEW_CLAZZ         = 15;  // G_TAG
+  static final int S_TAG_TAG_NUM           = 16;  // G_TAG
+  static final int S_BOX_VALUE_CLAZZ       = 17;  // G_BOX
+  static final int S_BOX_RESULT_CLAZZ      = 18;  // G_BOX
+  static final int S_MATCH_STATIC_SUBJECT  = 19;  // G_MATCH
+  static final int S_MATCH_CASE_COUNT      = 20;  // G_MATCH
+  static final int S_MATCH_CASE_TAGS       = 21;  // G_MATCH
+  static final int S_MATCH_CASE_CODE       = 22;  // G_MATCH
+  static final int S_MATCH_CASE_FIELD      = 23;  // G_MATCH
+  static final int SITE_COLUMNS            = 24;
+
+
+  /**
+   * Groups of sites that use the same kind-specific columns.
+   */
+  static final int G_ACCESS                =  0;
+  static final int G_CONST                 =  1;
+  static final int G_TAG                   =  2;
+  static final int G_BOX                   =  3;
+  static final int G_MATCH                 =  4;
+  static final int SITE_GROUPS             =  5;
+
+
+  /**
+   * Value of an enum column entry that represents null.
+   */
+  static final int NULL_ENUM = 0xFF;
+
+
+  /*----------------------------  variables  ----------------------------*/
+
+
+  /**
+   * The main clazz.
+   */
+  private final int _mainClazz;
+
+
+  /**
+   * The special clazzes, indexed by SpecialClazzes.ordinal().
+   */
+  private final int[] _specialClazzes;
+
+
+  /**
+   * Number of clazzes and sites added so far.
+   */
+  private int _clazzCount, _siteCount;
+
+
+  /**
+   * Number of sites added so far per site group.
+   */
+  private final int[] _groupCounts = new int[SITE_GROUPS];
+
+
+  /**
+   * The columns for clazzes and sites.
+   */
+  private final DataOut[] _clazzColumns = new DataOut[CLAZZ_COLUMNS];
+  private final DataOut[] _siteColumns = new DataOut[SITE_COLUMNS];
+
+
+  /**
+   * Pool of variable length data referenced from the columns.
+   */
+  private final DataOut _pool = new DataOut();
+
+
+  /**
+   * The strings in the order of their indices and the map from string to index.
+   */
+  private final List<String> _strings = new List<>();
+  private final Map<String, Integer> _stringIndices = new HashMap<>();
+
+
+  /*--------------------------  constructors  ---------------------------*/
+
+
+  /**
+   * Create FuirOut for the given main clazz and special clazzes.  Clazzes and
+   * sites have to be added in order via clazz() and site().
+   */
+  FuirOut(int mainClazz, int[] specialClazzes)
+  {
+    _mainClazz = mainClazz;
+    _specialClazzes = specialClazzes;
+    for (var i = 0; i < CLAZZ_COLUMNS; i++)
+      {
+        _clazzColumns[i] = new DataOut();
+      }
+    for (var i = 0; i < SITE_COLUMNS; i++)
+      {
+        _siteColumns[i] = new DataOut();
+      }
+  }
+
+
+  /*-----------------------------  methods  -----------------------------*/
+
+
+  /**
+   * Add the next clazz.
+   */
+  void clazz(ClazzRecord r)
+  {
+    var c = _clazzColumns;
+    c[C_BASE_NAME            ].writeInt (string(r.clazzBaseName()));
+    c[C_OUTER_CLAZZ          ].writeInt (r.clazzOuterClazz());
+    c[C_IS_BOXED             ].writeBool(r.clazzIsBoxed());
+    c[C_ARGS                 ].writeInt (ints(r.clazzArgs(), NO_CLAZZ));
+    c[C_KIND                 ].writeByte(ordinal(r.clazzKind()));
+    c[C_OUTER_REF            ].writeInt (r.clazzOuterRef());
+    c[C_RESULT_CLAZZ         ].writeInt (r.clazzResultClazz());
+    c[C_IS_REF               ].writeBool(r.clazzIsRef());
+    c[C_IS_UNIT_TYPE         ].writeBool(r.clazzIsUnitType());
+    c[C_AS_VALUE             ].writeInt (r.clazzAsValue());
+    c[C_CHOICES              ].writeInt (ints(r.clazzChoices(), NO_CLAZZ));
+    c[C_INSTANTIATED_HEIRS   ].writeInt (ints(r.clazzInstantiatedHeirs(), NO_CLAZZ));
+    c[C_NEEDS_CODE           ].writeBool(r.clazzNeedsCode());
+    c[C_FIELDS               ].writeInt (ints(r.clazzFields(), NO_CLAZZ));
+    c[C_CODE                 ].writeInt (r.clazzCode());
+    c[C_RESULT_FIELD         ].writeInt (r.clazzResultField());
+    c[C_ORIGINAL_NAME        ].writeInt (string(r.clazzOriginalName()));
+    c[C_ACTUAL_GENERICS      ].writeInt (ints(r.clazzActualGenerics(), NO_CLAZZ));
+    c[C_LOOKUP_CALL          ].writeInt (r.lookupCall());
+    c[C_LOOKUP_STATIC_FINALLY].writeInt (r.lookupStaticFinally());
+    c[C_LIFE_TIME            ].writeByte(ordinal(r.lifeTime()));
+    c[C_TYPE_NAME            ].writeInt (bytes(r.clazzTypeName()));
+    c[C_NAME                 ].writeInt (string(r.clazzName()));
+    c[C_NAME_HUMAN           ].writeInt (string(r.clazzNameHuman()));
+    c[C_SRC_FILE             ].writeInt (string(r.clazzSrcFile()));
+    c[C_SRC_BYTE_POS         ].writeInt (r.clazzSrcBytePos());
+    c[C_LOOKUP_JAVA_REF      ].writeInt (r.lookupJavaRef());
+    c[C_LOOKUP_CAUSE         ].writeInt (r.lookupCause());
+    _clazzCount++;
+  }
+
+
+  /**
+   * The site group of sites of the given kind, -1 if sites of this kind do not
+   * use any group columns.
+   */
+  static int siteGroup(ExprKind k)
+  {
+    return k == null ? -1 : switch (k)
+      {
+      case Call, Assign -> G_ACCESS;
+      case Const        -> G_CONST;
+      case Tag          -> G_TAG;
+      case Box          -> G_BOX;
+      case Match        -> G_MATCH;
+      default           -> -1;
+      };
+  }
+
+
+  /**
+   * Add the next site.
+   */
+  void site(SiteRecord r)
+  {
+    var c = _siteColumns;
+    var g = siteGroup(r.codeAt());
+    c[S_CLAZZ_AT              ].writeInt (r.clazzAt());
+    c[S_ALWAYS_RESULTS_IN_VOID].writeBool(r.alwaysResultsInVoid());
+    c[S_DOES_RESULT_ESCAPE    ].writeBool(r.doesResultEscape());
+    c[S_CODE_AT               ].writeByte(ordinal(r.codeAt()));
+    c[S_GROUP_INDEX           ].writeInt (g < 0 ? -1 : _groupCounts[g]++);
+    c[S_MODULE                ].writeInt (string(r.module()));
+    c[S_BYTE_POS              ].writeLong(r.bytePos());
+    switch (g)
+      {
+      case G_ACCESS ->
+        {
+          c[S_ACCESSED_CLAZZ      ].writeInt (r.accessedClazz());
+          c[S_ACCESSED_CLAZZES    ].writeInt (ints(r.accessedClazzes(), NO_CLAZZ));
+          c[S_ACCESS_TARGET_CLAZZ ].writeInt (r.accessTargetClazz());
+          c[S_ACCESS_IS_DYNAMIC   ].writeBool(r.accessIsDynamic());
+          c[S_ASSIGNED_TYPE       ].writeInt (r.assignedType());
+        }
+      case G_CONST ->
+        {
+          c[S_CONST_CLAZZ         ].writeInt (r.constClazz());
+          c[S_CONST_DATA          ].writeInt (bytes(r.constData()));
+        }
+      case G_TAG ->
+        {
+          c[S_TAG_VALUE_CLAZZ     ].writeInt (r.tagValueClazz());
+          c[S_TAG_NEW_CLAZZ       ].writeInt (r.tagNewClazz());
+          c[S_TAG_TAG_NUM         ].writeInt (r.tagTagNum());
+        }
+      case G_BOX ->
+        {
+          c[S_BOX_VALUE_CLAZZ     ].writeInt (r.boxValueClazz());
+          c[S_BOX_RESULT_CLAZZ    ].writeInt (r.boxResultClazz());
+        }
+      case G_MATCH ->
+        {
+          c[S_MATCH_STATIC_SUBJECT].writeInt (r.matchStaticSubject());
+          c[S_MATCH_CASE_COUNT    ].writeInt (r.matchCaseCount());
+          c[S_MATCH_CASE_TAGS     ].writeInt (intss(r.matchCaseTags(), 0));
+          c[S_MATCH_CASE_CODE     ].writeInt (ints(r.matchCaseCode(), NO_SITE));
+          c[S_MATCH_CASE_FIELD    ].writeInt (ints(r.matchCaseField(), NO_CLAZZ));
+        }
+      default -> { }
+      }
+    _siteCount++;
+  }
+
+
+  /**
+   * The ordinal of an enum value to be stored in a column, NULL_ENUM for null.
+   */
+  private int ordinal(Enum<?> e)
+  {
+    if (PRECONDITIONS) require
+      (e == null || e.ordinal() < NULL_ENUM);
+
+    return e == null ? NULL_ENUM : e.ordinal();
+  }
+
+
+  /**
+   * The index of the given string in the strings, -1 for null.
+   */
+  private int string(String s)
+  {
+    var result = -1;
+    if (s != null)
+      {
+        result = _stringIndices.computeIfAbsent(s, x ->
+          {
+            _strings.add(x);
+            return _strings.size() - 1;
+          });
+      }
+    return result;
+  }
+
+
+  /**
+   * Add a to the pool, store each element relative to base.
+   *
+   * @return the offset of a in the pool, -1 for null.
+   */
+  private int ints(int[] a, int base)
+  {
+    var result = -1;
+    if (a != null)
+      {
+        result = _pool.offset();
+        writeInts(a, base);
+      }
+    return result;
+  }
+
+
+  /**
+   * Add all arrays in a to the pool, store each element relative to base.
+   *
+   * @return the offset of a in the pool, -1 for null.
+   */
+  private int intss(int[][] a, int base)
+  {
+    var result = -1;
+    if (a != null)
+      {
+        result = _pool.offset();
+        _pool.writeVarInt(a.length);
+        for (var ai : a)
+          {
+            writeInts(ai, base);
+          }
+      }
+    return result;
+  }
+
+
+  /**
+   * Helper for ints and intss to write the length and the elements of a to
+   * the pool.
+   */
+  private void writeInts(int[] a, int base)
+  {
+    _pool.writeVarInt(a.length);
+    for (var v : a)
+      {
+        _pool.writeVarInt(v - base);
+      }
+  }
+
+
+  /**
+   * Add b to the pool.
+   *
+   * @return the offset of b in the pool, -1 for null.
+   */
+  private int bytes(byte[] b)
+  {
+    var result = -1;
+    if (b != null)
+      {
+        result = _pool.offset();
+        _pool.writeVarInt(b.length);
+        _pool.writeBytes(b);
+      }
+    return result;
+  }
+
+
+  /**
+   * Get the bytes written to d.
+   */
+  private static byte[] bytes(DataOut d)
+  {
+    var b = d.buffer();
+    var result = new byte[b.remaining()];
+    b.get(result);
+    return result;
+  }
+
+
+  /**
+   * Create the data of the .fuir file from the clazzes and sites added.
+   */
+  byte[] data()
+  {
+    var o = new DataOut();
+    o.writeBytes(FuzionConstants.FUIR_FILE_MAGIC);
+    o.writeInt(FuzionConstants.FUIR_FILE_VERSION);
+    o.writeInt(_mainClazz);
+    o.writeInt(_clazzCount);
+    o.writeInt(_siteCount);
+    for (var gc : _groupCounts)
+      {
+        o.writeInt(gc);
+      }
+    o.writeInt(_specialClazzes.length);
+    for (var sc : _specialClazzes)
+      {
+        o.writeInt(sc);
+      }
+
+    o.writeInt(_strings.size());
+    var strings = new DataOut();
+    for (var s : _strings)
+      {
+        o.writeInt(strings.offset());
+        var utf8 = s.getBytes(StandardCharsets.UTF_8);
+        strings.writeVarInt(utf8.length);
+        strings.writeBytes(utf8);
+      }
+    o.writeBytes(bytes(strings));
+
+    var columns = new List<DataOut>();
+    columns.addAll(_clazzColumns);
+    columns.addAll(_siteColumns);
+    var pos = o.offset() + 4 + 4 * columns.size();
+    for (var c : columns)
+      {
+        pos = pos + c.offset();
+      }
+    o.writeInt(pos);
+    pos = o.offset() + 4 * columns.size();
+    for (var c : columns)
+      {
+        o.writeInt(pos);
+        pos = pos + c.offset();
+      }
+    for (var c : columns)
+      {
+        o.writeBytes(bytes(c));
+      }
+    o.writeBytes(bytes(_pool));
+
+    if (POSTCONDITIONS) ensure
+      (o.offset() == pos + _pool.offset());
+
+    return bytes(o);
+  }
+
+}
+
+/* end of file */
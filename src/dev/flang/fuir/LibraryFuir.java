@@ -26,12 +26,15 @@ Fuzion language implementation.  If not, see <https://www.gnu.org/licenses/>.
 
 package dev.flang.fuir;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.io.ObjectInputStream;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import dev.flang.util.SourcePosition;
 import dev.flang.fe.LibraryModule;
@@ -39,9 +42,14 @@ import dev.flang.util.Errors;
 import dev.flang.util.FuzionConstants;
 import dev.flang.util.SourceFile;
 
+import static dev.flang.fuir.FuirOut.*;
+
 
 /**
- * The FUIR loaded/deserialized from a byte array
+ * The FUIR loaded from the data of a .fuir file, see FuirOut for the format.
+ *
+ * The data is typically a memory mapped file.  Only the header is read on
+ * creation, clazzes and sites are decoded lazily when they are accessed.
  */
 public class LibraryFuir extends FUIR {
 
@@ -49,50 +57,352 @@ public class LibraryFuir extends FUIR {
   /*-----------------------------  final fields  -----------------------------*/
 
 
+  private final ByteBuffer _data;
   private final int _mainClazz;
-  private final ClazzRecord[] _clazzes;
+  private final int _clazzCount;
+  private final int _siteCount;
+  private final int[] _groupCounts = new int[SITE_GROUPS];
   private final int[] _specialClazzes;
-  private final SiteRecord[] _sites;
   private final LibraryModule _mainModule;
 
 
+  /**
+   * Position of the string offsets and of the first string in _data.
+   */
+  private final int _stringOffsetsPos;
+  private final int _stringsPos;
+
+
+  /**
+   * Position of the pool in _data.
+   */
+  private final int _poolPos;
+
+
+  /**
+   * Positions of the clazz and site columns in _data.
+   */
+  private final int[] _clazzColumns = new int[CLAZZ_COLUMNS];
+  private final int[] _siteColumns = new int[SITE_COLUMNS];
+
+
   /*-----------------------------  cache  -----------------------------*/
 
 
   private final Map<String,SourceFile> _srcFiles = new ConcurrentHashMap<String, SourceFile>();
 
 
+  /**
+   * Decoded strings and arrays, null if not decoded yet.  Arrays for sites are
+   * indexed by the site's index in its site group.
+   *
+   * Backends may access FUIR from several threads, e.g., the JVM backend's
+   * parallel compile phases, so decoded arrays are published via
+   * AtomicReferenceArray: a thread that sees a decoded array also sees its
+   * elements.  Two threads may decode the same entry concurrently, which is
+   * harmless since both results are equal.
+   */
+  private final AtomicReferenceArray<String> _strings;
+  private final AtomicReferenceArray<int[]> _clazzArgs;
+  private final AtomicReferenceArray<int[]> _clazzChoices;
+  private final AtomicReferenceArray<int[]> _clazzInstantiatedHeirs;
+  private final AtomicReferenceArray<int[]> _clazzFields;
+  private final AtomicReferenceArray<int[]> _clazzActualGenerics;
+  private final AtomicReferenceArray<int[]> _accessedClazzes;
+  private final AtomicReferenceArray<int[][]> _matchCaseTags;
+  private final AtomicReferenceArray<int[]> _matchCaseCode;
+  private final AtomicReferenceArray<int[]> _matchCaseField;
+
+
   /*-----------------------------  constructor  -----------------------------*/
 
 
-  public LibraryFuir(byte[] data, LibraryModule lm)
+  /**
+   * Create FUIR from the data of a .fuir file.
+   *
+   * @param data the file data, must start with FUIR_FILE_MAGIC followed by
+   * FUIR_FILE_VERSION.
+   *
+   * @param lm the main module used to resolve source positions.
+   */
+  public LibraryFuir(ByteBuffer data, LibraryModule lm)
   {
-    var mainClazz = NO_CLAZZ;
-    var clazzes = new ClazzRecord[0];
-    var sites = new SiteRecord[0];
-    var specialClazzes = new int[0];
-    try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(data)))
+    if (!hasCurrentFormat(data))
+      {
+        Errors.fatal("Invalid .fuir file format, expected version " + FuzionConstants.FUIR_FILE_VERSION);
+      }
+    _data = data;
+    var p = FuzionConstants.FUIR_FILE_MAGIC.length + 4;
+    _mainClazz  = data.getInt(p); p += 4;
+    _clazzCount = data.getInt(p); p += 4;
+    _siteCount  = data.getInt(p); p += 4;
+    for (var i = 0; i < SITE_GROUPS; i++)
       {
-        mainClazz = ois.readInt();
-        clazzes = (ClazzRecord[]) ois.readObject();
-        sites = (SiteRecord[]) ois.readObject();
-        specialClazzes = (int[]) ois.readObject();
+        _groupCounts[i] = data.getInt(p); p += 4;
       }
-    catch(ClassNotFoundException | IOException e)
+    _specialClazzes = new int[data.getInt(p)]; p += 4;
+    for (var i = 0; i < _specialClazzes.length; i++)
       {
-        Errors.fatal(e);
+        _specialClazzes[i] = data.getInt(p); p += 4;
+      }
+    var stringCount = data.getInt(p); p += 4;
+    _stringOffsetsPos = p;
+    _stringsPos = p + 4 * stringCount;
+    _strings = new AtomicReferenceArray<>(stringCount);
+    p = _stringsPos + (stringCount == 0 ? 0 : stringEnd(stringCount - 1));
+    _poolPos = data.getInt(p); p += 4;
+    for (var i = 0; i < CLAZZ_COLUMNS; i++)
+      {
+        _clazzColumns[i] = data.getInt(p); p += 4;
+      }
+    for (var i = 0; i < SITE_COLUMNS; i++)
+      {
+        _siteColumns[i] = data.getInt(p); p += 4;
       }
-    _mainClazz = mainClazz;
-    _clazzes = clazzes;
-    _sites = sites;
-    _specialClazzes = specialClazzes;
     _mainModule = lm;
+
+    _clazzArgs              = new AtomicReferenceArray<>(_clazzCount);
+    _clazzChoices           = new AtomicReferenceArray<>(_clazzCount);
+    _clazzInstantiatedHeirs = new AtomicReferenceArray<>(_clazzCount);
+    _clazzFields            = new AtomicReferenceArray<>(_clazzCount);
+    _clazzActualGenerics    = new AtomicReferenceArray<>(_clazzCount);
+    _accessedClazzes        = new AtomicReferenceArray<>(_groupCounts[G_ACCESS]);
+    _matchCaseTags          = new AtomicReferenceArray<>(_groupCounts[G_MATCH]);
+    _matchCaseCode          = new AtomicReferenceArray<>(_groupCounts[G_MATCH]);
+    _matchCaseField         = new AtomicReferenceArray<>(_groupCounts[G_MATCH]);
+  }
+
+
+  /*-----------------------------  static methods  -----------------------------*/
+
+
+  /**
+   * Does data start with the magic and the version of the current .fuir file
+   * format?
+   */
+  static boolean hasCurrentFormat(ByteBuffer data)
+  {
+    var m = FuzionConstants.FUIR_FILE_MAGIC.length;
+    return
+      data.limit() >= m + 4                                     &&
+      data.getInt(0) == FuzionConstants.FUIR_FILE_MAGIC0        &&
+      data.getInt(m) == FuzionConstants.FUIR_FILE_VERSION;
+  }
+
+
+  /**
+   * Does the file at path p exist and is it a .fuir file of the current format?
+   * If not, it needs to be (re-)created.
+   */
+  public static boolean hasCurrentFormat(Path p)
+  {
+    var result = false;
+    if (Files.exists(p))
+      {
+        try (InputStream is = Files.newInputStream(p))
+          {
+            result = hasCurrentFormat(ByteBuffer.wrap(is.readNBytes(FuzionConstants.FUIR_FILE_MAGIC.length + 4)));
+          }
+        catch (IOException e)
+          {
+            result = false;
+          }
+      }
+    return result;
+  }
+
+
+  /**
+   * Read an unsigned variable length integer as written by
+   * DataOut.writeVarInt and advance the position of b.
+   */
+  private static int varInt(ByteBuffer b)
+  {
+    var result = 0;
+    var shift = 0;
+    int v;
+    do
+      {
+        v = b.get() & 0xFF;
+        result = result | ((v & 0x7F) << shift);
+        shift = shift + 7;
+      }
+    while ((v & 0x80) != 0);
+    return result;
+  }
+
+
+  /**
+   * Read an array of ints stored relative to base and advance the position
+   * of b.
+   */
+  private static int[] ints(ByteBuffer b, int base)
+  {
+    var result = new int[varInt(b)];
+    for (var i = 0; i < result.length; i++)
+      {
+        result[i] = varInt(b) + base;
+      }
+    return result;
   }
 
 
   /*-----------------------------  methods  -----------------------------*/
 
 
+  /**
+   * Get a ByteBuffer positioned at the given offset in the pool.
+   */
+  private ByteBuffer pool(int at)
+  {
+    return _data.duplicate().position(_poolPos + at);
+  }
+
+
+  /**
+   * Offset of the end of string i relative to _stringsPos.
+   */
+  private int stringEnd(int i)
+  {
+    var b = _data.duplicate().position(_stringsPos + _data.getInt(_stringOffsetsPos + 4 * i));
+    var l = varInt(b);
+    return b.position() + l - _stringsPos;
+  }
+
+
+  /**
+   * Get the string with index i, null for -1.
+   */
+  private String string(int i)
+  {
+    String result = null;
+    if (i >= 0)
+      {
+        result = _strings.get(i);
+        if (result == null)
+          {
+            var b = _data.duplicate().position(_stringsPos + _data.getInt(_stringOffsetsPos + 4 * i));
+            var utf8 = new byte[varInt(b)];
+            b.get(utf8);
+            result = new String(utf8, StandardCharsets.UTF_8);
+            _strings.set(i, result);
+          }
+      }
+    return result;
+  }
+
+
+  /**
+   * Get the byte array stored at the given pool offset, null for -1.
+   */
+  private byte[] bytes(int at)
+  {
+    byte[] result = null;
+    if (at >= 0)
+      {
+        var b = pool(at);
+        result = new byte[varInt(b)];
+        b.get(result);
+      }
+    return result;
+  }
+
+
+  /**
+   * Get the int array stored at the given pool offset with elements relative
+   * to base, null for -1.
+   */
+  private int[] ints(int at, int base)
+  {
+    return at < 0 ? null : ints(pool(at), base);
+  }
+
+
+  /**
+   * Get the arrays of ints stored at the given pool offset with elements
+   * relative to base, null for -1.
+   */
+  private int[][] intss(int at, int base)
+  {
+    int[][] result = null;
+    if (at >= 0)
+      {
+        var b = pool(at);
+        result = new int[varInt(b)][];
+        for (var i = 0; i < result.length; i++)
+          {
+            result[i] = ints(b, base);
+          }
+      }
+    return result;
+  }
+
+
+  /*
+   * Accessors for the column entries of clazz cl or site s:
+   */
+  private int clazzInt(int col, int cl)
+  {
+    return _data.getInt(_clazzColumns[col] + 4 * clazzId2num(cl));
+  }
+  private int clazzByte(int col, int cl)
+  {
+    return _data.get(_clazzColumns[col] + clazzId2num(cl)) & 0xFF;
+  }
+  private boolean clazzBool(int col, int cl)
+  {
+    return clazzByte(col, cl) != 0;
+  }
+  private String clazzString(int col, int cl)
+  {
+    return string(clazzInt(col, cl));
+  }
+  private int[] clazzInts(AtomicReferenceArray<int[]> cache, int col, int cl)
+  {
+    var n = clazzId2num(cl);
+    var result = cache.get(n);
+    if (result == null)
+      {
+        result = ints(clazzInt(col, cl), NO_CLAZZ);
+        cache.set(n, result);
+      }
+    return result;
+  }
+  private int siteIndex(int col, int s)
+  {
+    return col < S_FIRST_GROUP_COLUMN
+      ? s - SITE_BASE
+      : _data.getInt(_siteColumns[S_GROUP_INDEX] + 4 * (s - SITE_BASE));
+  }
+  private int siteInt(int col, int s)
+  {
+    return _data.getInt(_siteColumns[col] + 4 * siteIndex(col, s));
+  }
+  private int siteByte(int col, int s)
+  {
+    return _data.get(_siteColumns[col] + siteIndex(col, s)) & 0xFF;
+  }
+  private boolean siteBool(int col, int s)
+  {
+    return siteByte(col, s) != 0;
+  }
+  private long siteLong(int col, int s)
+  {
+    return _data.getLong(_siteColumns[col] + 8 * siteIndex(col, s));
+  }
+  private int[] siteInts(AtomicReferenceArray<int[]> cache, int col, int s, int base)
+  {
+    var n = siteIndex(col, s);
+    var result = cache.get(n);
+    if (result == null)
+      {
+        result = ints(siteInt(col, s), base);
+        cache.set(n, result);
+      }
+    return result;
+  }
+
+
   /**
    * helper to get SourceFile from cache or compute it once
    */
@@ -111,7 +421,7 @@ public class LibraryFuir extends FUIR {
   @Override
   public int lastClazz()
   {
-    return CLAZZ_BASE+_clazzes.length-1;
+    return CLAZZ_BASE+_clazzCount-1;
   }
 
   @Override
@@ -123,55 +433,55 @@ public class LibraryFuir extends FUIR {
   @Override
   public FeatureKind clazzKind(int cl)
   {
-    return _clazzes[clazzId2num(cl)].clazzKind();
+    return FeatureKind.values()[clazzByte(C_KIND, cl)];
   }
 
   @Override
   public String clazzBaseName(int cl)
   {
-    return _clazzes[clazzId2num(cl)].clazzBaseName();
+    return clazzString(C_BASE_NAME, cl);
   }
 
   @Override
   public int clazzResultClazz(int cl)
   {
-    return _clazzes[clazzId2num(cl)].clazzResultClazz();
+    return clazzInt(C_RESULT_CLAZZ, cl);
   }
 
   @Override
   public String clazzOriginalName(int cl)
   {
-    return _clazzes[clazzId2num(cl)].clazzOriginalName();
+    return clazzString(C_ORIGINAL_NAME, cl);
   }
 
   @Override
   public String clazzName(int cl)
   {
-    return cl == NO_CLAZZ ? FuzionConstants.NO_CLAZZ : _clazzes[clazzId2num(cl)].clazzName();
+    return cl == NO_CLAZZ ? FuzionConstants.NO_CLAZZ : clazzString(C_NAME, cl);
   }
 
   @Override
   public String clazzNameHuman(int cl)
   {
-    return  cl == NO_CLAZZ ? FuzionConstants.NO_CLAZZ : _clazzes[clazzId2num(cl)].clazzNameHuman();
+    return  cl == NO_CLAZZ ? FuzionConstants.NO_CLAZZ : clazzString(C_NAME_HUMAN, cl);
   }
 
   @Override
   public int clazzOuterClazz(int cl)
   {
-    return _clazzes[clazzId2num(cl)].clazzOuterClazz();
+    return clazzInt(C_OUTER_CLAZZ, cl);
   }
 
   @Override
   public int clazzFieldCount(int cl)
   {
-    return _clazzes[clazzId2num(cl)].clazzFields().length;
+    return clazzInts(_clazzFields, C_FIELDS, cl).length;
   }
 
   @Override
   public int clazzField(int cl, int i)
   {
-    return _clazzes[clazzId2num(cl)].clazzFields()[i];
+    return clazzInts(_clazzFields, C_FIELDS, cl)[i];
   }
 
   @Override
@@ -184,79 +494,79 @@ public class LibraryFuir extends FUIR {
   @Override
   public int clazzChoiceCount(int cl)
   {
-    return _clazzes[clazzId2num(cl)].clazzChoices().length;
+    return clazzInts(_clazzChoices, C_CHOICES, cl).length;
   }
 
   @Override
   public int clazzChoice(int cl, int i)
   {
-    return _clazzes[clazzId2num(cl)].clazzChoices()[i];
+    return clazzInts(_clazzChoices, C_CHOICES, cl)[i];
   }
 
   @Override
   public int[] clazzInstantiatedHeirs(int cl)
   {
-    return _clazzes[clazzId2num(cl)].clazzInstantiatedHeirs();
+    return clazzInts(_clazzInstantiatedHeirs, C_INSTANTIATED_HEIRS, cl);
   }
 
   @Override
   public int clazzArgCount(int cl)
   {
-    return _clazzes[clazzId2num(cl)].clazzArgs().length;
+    return clazzInts(_clazzArgs, C_ARGS, cl).length;
   }
 
   @Override
   public int clazzArg(int cl, int arg)
   {
-    return _clazzes[clazzId2num(cl)].clazzArgs()[arg];
+    return clazzInts(_clazzArgs, C_ARGS, cl)[arg];
   }
 
   @Override
   public int clazzResultField(int cl)
   {
-    return _clazzes[clazzId2num(cl)].clazzResultField();
+    return clazzInt(C_RESULT_FIELD, cl);
   }
 
   @Override
   public int clazzOuterRef(int cl)
   {
-    return _clazzes[clazzId2num(cl)].clazzOuterRef();
+    return clazzInt(C_OUTER_REF, cl);
   }
 
   @Override
   public int clazzCode(int cl)
   {
-    return _clazzes[clazzId2num(cl)].clazzCode();
+    return clazzInt(C_CODE, cl);
   }
 
   @Override
   public boolean clazzNeedsCode(int cl)
   {
-    return _clazzes[clazzId2num(cl)].clazzNeedsCode();
+    return clazzBool(C_NEEDS_CODE, cl);
   }
 
   @Override
   public boolean clazzIsRef(int cl)
   {
-    return _clazzes[clazzId2num(cl)].clazzIsRef();
+    return clazzBool(C_IS_REF, cl);
   }
 
   @Override
   public boolean clazzIsBoxed(int cl)
   {
-    return _clazzes[clazzId2num(cl)].clazzIsBoxed();
+    return clazzBool(C_IS_BOXED, cl);
   }
 
   @Override
   public int clazzAsValue(int cl)
   {
-    return _clazzes[clazzId2num(cl)].clazzAsValue();
+    return clazzInt(C_AS_VALUE, cl);
   }
 
   @Override
   public byte[] clazzTypeName(int cl)
   {
-    return _clazzes[clazzId2num(cl)].clazzTypeName();
+    return bytes(clazzInt(C_TYPE_NAME, cl));
   }
 
   @Override
@@ -282,11 +592,11 @@ public class LibraryFuir extends FUIR {
   public int clazzRefConstString()
   {
     var cs = clazz(SpecialClazzes.c_const_string);
-    for (int i = 0; i < _clazzes.length; i++)
+    for (int cl = firstClazz(); cl <= lastClazz(); cl++)
       {
-        if (_clazzes[i].clazzIsRef() && _clazzes[i].clazzAsValue() == cs)
+        if (clazzIsRef(cl) && clazzAsValue(cl) == cs)
           {
-            return i + CLAZZ_BASE;
+            return cl;
           }
       }
     Errors.fatal("clazz_ref_const_string");
@@ -296,19 +606,19 @@ public class LibraryFuir extends FUIR {
   @Override
   public int lookupJavaRef(int cl)
   {
-    return _clazzes[clazzId2num(cl)].lookupJavaRef();
+    return clazzInt(C_LOOKUP_JAVA_REF, cl);
   }
 
   @Override
   public int lookupCall(int cl)
   {
-    return _clazzes[clazzId2num(cl)].lookupCall();
+    return clazzInt(C_LOOKUP_CALL, cl);
   }
 
   @Override
   public int lookupStaticFinally(int cl)
   {
-    return _clazzes[clazzId2num(cl)].lookupStaticFinally();
+    return clazzInt(C_LOOKUP_STATIC_FINALLY, cl);
   }
 
   @Override
@@ -329,13 +639,13 @@ public class LibraryFuir extends FUIR {
   @Override
   public int lookupCause(int ecl)
   {
-    return _clazzes[clazzId2num(ecl)].lookupCause();
+    return clazzInt(C_LOOKUP_CAUSE, ecl);
   }
 
   @Override
   public boolean clazzIsUnitType(int cl)
   {
-    return _clazzes[clazzId2num(cl)].clazzIsUnitType();
+    return clazzBool(C_IS_UNIT_TYPE, cl);
   }
 
   @Override
@@ -347,19 +657,20 @@ public class LibraryFuir extends FUIR {
   @Override
   public int clazzActualGeneric(int cl, int gix)
   {
-    return _clazzes[clazzId2num(cl)].clazzActualGenerics()[gix];
+    return clazzInts(_clazzActualGenerics, C_ACTUAL_GENERICS, cl)[gix];
   }
 
   @Override
   public LifeTime lifeTime(int cl)
   {
-    return _clazzes[clazzId2num(cl)].lifeTime();
+    var lt = clazzByte(C_LIFE_TIME, cl);
+    return lt == NULL_ENUM ? null : LifeTime.values()[lt];
   }
 
   @Override
   public int clazzAt(int s)
   {
-    return _sites[s-SITE_BASE].clazzAt();
+    return siteInt(S_CLAZZ_AT, s);
   }
 
   @Override
@@ -370,7 +681,7 @@ public class LibraryFuir extends FUIR {
       {
         res = "** NO_SITE **";
       }
-    else if (s >= SITE_BASE && s < SITE_BASE+_sites.length)
+    else if (s >= SITE_BASE && s < SITE_BASE+_siteCount)
       {
         var cl = clazzAt(s);
         var p = sitePos(s);
@@ -386,37 +697,58 @@ public class LibraryFuir extends FUIR {
   @Override
   public ExprKind codeAt(int s)
   {
-    return _sites[s-SITE_BASE].codeAt();
+    var e = siteByte(S_CODE_AT, s);
+    return e == NULL_ENUM ? null : ExprKind.values()[e];
   }
 
   @Override
   public int tagValueClazz(int s)
   {
-    return _sites[s-SITE_BASE].tagValueClazz();
+    if (PRECONDITIONS) require
+      (withinCode(s),
+       codeAt(s) == ExprKind.Tag);
+
+    return siteInt(S_TAG_VALUE_CLAZZ, s);
   }
 
   @Override
   public int tagNewClazz(int s)
   {
-    return _sites[s-SITE_BASE].tagNewClazz();
+    if (PRECONDITIONS) require
+      (withinCode(s),
+       codeAt(s) == ExprKind.Tag);
+
+    return siteInt(S_TAG_NEW_CLAZZ, s);
   }
 
   @Override
   public int tagTagNum(int s)
   {
-    return _sites[s-SITE_BASE].tagTagNum();
+    if (PRECONDITIONS) require
+      (withinCode(s),
+       codeAt(s) == ExprKind.Tag);
+
+    return siteInt(S_TAG_TAG_NUM, s);
   }
 
   @Override
   public int boxValueClazz(int s)
   {
-    return _sites[s-SITE_BASE].boxValueClazz();
+    if (PRECONDITIONS) require
+      (withinCode(s),
+       codeAt(s) == ExprKind.Box);
+
+    return siteInt(S_BOX_VALUE_CLAZZ, s);
   }
 
   @Override
   public int boxResultClazz(int s)
   {
-    return _sites[s-SITE_BASE].boxResultClazz();
+    if (PRECONDITIONS) require
+      (withinCode(s),
+       codeAt(s) == ExprKind.Box);
+
+    return siteInt(S_BOX_RESULT_CLAZZ, s);
   }
 
   @Override
@@ -428,117 +760,172 @@ public class LibraryFuir extends FUIR {
   @Override
   public int accessedClazz(int s)
   {
-    return _sites[s-SITE_BASE].accessedClazz();
+    if (PRECONDITIONS) require
+      (withinCode(s),
+       codeAt(s).isCallOrAssign());
+
+    return siteInt(S_ACCESSED_CLAZZ, s);
   }
 
   @Override
   public int assignedType(int s)
   {
-    return _sites[s-SITE_BASE].assignedType();
+    if (PRECONDITIONS) require
+      (withinCode(s),
+       codeAt(s) == ExprKind.Assign);
+
+    return siteInt(S_ASSIGNED_TYPE, s);
   }
 
   @Override
   public int[] accessedClazzes(int s)
   {
-    return _sites[s-SITE_BASE].accessedClazzes();
+    if (PRECONDITIONS) require
+      (withinCode(s),
+       codeAt(s).isCallOrAssign());
+
+    return siteInts(_accessedClazzes, S_ACCESSED_CLAZZES, s, NO_CLAZZ);
   }
 
   @Override
   public boolean accessIsDynamic(int s)
   {
-    return _sites[s-SITE_BASE].accessIsDynamic();
+    if (PRECONDITIONS) require
+      (withinCode(s),
+       codeAt(s).isCallOrAssign());
+
+    return siteBool(S_ACCESS_IS_DYNAMIC, s);
   }
 
   @Override
   public int accessTargetClazz(int s)
   {
-    return _sites[s-SITE_BASE].accessTargetClazz();
+    if (PRECONDITIONS) require
+      (withinCode(s),
+       codeAt(s).isCallOrAssign());
+
+    return siteInt(S_ACCESS_TARGET_CLAZZ, s);
   }
 
   @Override
   public int constClazz(int s)
   {
-    return _sites[s-SITE_BASE].constClazz();
+    if (PRECONDITIONS) require
+      (withinCode(s),
+       codeAt(s) == ExprKind.Const);
+
+    return siteInt(S_CONST_CLAZZ, s);
   }
 
   @Override
   public byte[] constData(int s)
   {
-    return _sites[s-SITE_BASE].constData();
+    if (PRECONDITIONS) require
+      (withinCode(s),
+       codeAt(s) == ExprKind.Const);
+
+    return bytes(siteInt(S_CONST_DATA, s));
   }
 
   @Override
   public int matchCaseCount(int s)
   {
-    return _sites[s-SITE_BASE].matchCaseCount();
+    if (PRECONDITIONS) require
+      (withinCode(s),
+       codeAt(s) == ExprKind.Match);
+
+    return siteInt(S_MATCH_CASE_COUNT, s);
   }
 
   @Override
   public int matchStaticSubject(int s)
   {
-    return _sites[s-SITE_BASE].matchStaticSubject();
+    if (PRECONDITIONS) require
+      (withinCode(s),
+       codeAt(s) == ExprKind.Match);
+
+    return siteInt(S_MATCH_STATIC_SUBJECT, s);
   }
 
   @Override
   public int matchCaseField(int s, int cix)
   {
-    return _sites[s-SITE_BASE].matchCaseField()[cix];
+    if (PRECONDITIONS) require
+      (withinCode(s),
+       codeAt(s) == ExprKind.Match);
+
+    return siteInts(_matchCaseField, S_MATCH_CASE_FIELD, s, NO_CLAZZ)[cix];
   }
 
 
   @Override
   public int[] matchCaseTags(int s, int cix)
   {
-    return _sites[s-SITE_BASE].matchCaseTags()[cix];
+    if (PRECONDITIONS) require
+      (withinCode(s),
+       codeAt(s) == ExprKind.Match);
+
+    var n = siteIndex(S_MATCH_CASE_TAGS, s);
+    var result = _matchCaseTags.get(n);
+    if (result == null)
+      {
+        result = intss(siteInt(S_MATCH_CASE_TAGS, s), 0);
+        _matchCaseTags.set(n, result);
+      }
+    return result[cix];
   }
 
   @Override
   public int matchCaseCode(int s, int cix)
   {
-    return _sites[s-SITE_BASE].matchCaseCode()[cix];
+    if (PRECONDITIONS) require
+      (withinCode(s),
+       codeAt(s) == ExprKind.Match);
+
+    return siteInts(_matchCaseCode, S_MATCH_CASE_CODE, s, NO_SITE)[cix];
   }
 
   @Override
   public boolean alwaysResultsInVoid(int s)
   {
-    return s==NO_SITE || s<0 ? false : _sites[s-SITE_BASE].alwaysResultsInVoid();
+    return s==NO_SITE || s<0 ? false : siteBool(S_ALWAYS_RESULTS_IN_VOID, s);
   }
 
   @Override
   public boolean doesResultEscape(int s)
   {
-    return s==NO_SITE || s<0 ? false : _sites[s-SITE_BASE].doesResultEscape();
+    return s==NO_SITE || s<0 ? false : siteBool(S_DOES_RESULT_ESCAPE, s);
   }
 
   @Override
   public SourcePosition sitePos(int s)
   {
-    return s==NO_SITE || _sites[s-SITE_BASE].module() == null
+    var m = s==NO_SITE ? null : string(siteInt(S_MODULE, s));
+    return m == null
       ? SourcePosition.notAvailable
-      : _mainModule.pos(_sites[s-SITE_BASE].module(), _sites[s-SITE_BASE].bytePos());
+      : _mainModule.pos(m, siteLong(S_BYTE_POS, s));
   }
 
 
   @Override
   public String clazzSrcFile(int cl)
   {
-    return _clazzes[clazzId2num(cl)].clazzSrcFile();
+    return clazzString(C_SRC_FILE, cl);
   }
 
 
   @Override
   public SourcePosition clazzDeclarationPos(int cl)
   {
-    var r = _clazzes[clazzId2num(cl)];
-    return new SourcePosition(sourceFile(r.clazzSrcFile()),
-                              r.clazzSrcBytePos());
+    return new SourcePosition(sourceFile(clazzSrcFile(cl)),
+                              clazzInt(C_SRC_BYTE_POS, cl));
   }
 
 
   @Override
   public boolean withinCode(int s)
   {
-    return s != NO_SITE && _sites[s - SITE_BASE].codeAt() != null;
+    return s != NO_SITE && siteByte(S_CODE_AT, s) != NULL_ENUM;
   }
 
    /**
@@ -554,7 +941,7 @@ public class LibraryFuir extends FUIR {
   {
     var c = site - SITE_BASE;
     var result = c;
-    while (result > 0 && _sites[result-1].codeAt() != null)
+    while (result > 0 && siteByte(S_CODE_AT, result-1+SITE_BASE) != NULL_ENUM)
       {
         result--;
       }
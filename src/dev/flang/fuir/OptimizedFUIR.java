@@ -27,11 +27,11 @@ Fuzion language implementation.  If not, see <https://www.gnu.org/licenses/>.
 
 package dev.flang.fuir;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
-import java.io.ObjectOutputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
+
+import dev.flang.util.IntMap;
 
 
 public class OptimizedFUIR extends GeneratingFUIR {
@@ -43,6 +43,40 @@ public class OptimizedFUIR extends GeneratingFUIR {
   private final GeneratingFUIR _original;
 
 
+  /**
+   * Clazzes found by the optimizer to be worth inlining, indexed by
+   * clazzId2num.
+   */
+  private final BitSet _inlineCandidates;
+
+
+  /**
+   * Routines found by the optimizer to be unreachable, indexed by
+   * clazzId2num.
+   */
+  private final BitSet _unreachableRoutines;
+
+
+  /**
+   * Fields found by the optimizer to be never read, indexed by clazzId2num.
+   */
+  private final BitSet _unreadFields;
+
+
+  /**
+   * For clazzes that contain fields that are never read, the remaining
+   * fields.
+   */
+  private final IntMap<int[]> _fields;
+
+
+  /**
+   * Dynamic accesses found by the optimizer to have only one target, indexed
+   * by site-SITE_BASE.
+   */
+  private final BitSet _monomorphicSites;
+
+
   /**
    * Clone this FUIR such that modifications can be made by optimizers.  An heir
    * of FUIR can use this to redefine methods.
@@ -50,9 +84,61 @@ public class OptimizedFUIR extends GeneratingFUIR {
    * @param original the original FUIR instance that we are cloning.
    */
   public OptimizedFUIR(GeneratingFUIR original)
+  {
+    this(original, new BitSet(), new BitSet(), new BitSet(), new BitSet());
+  }
+
+
+  /**
+   * Clone this FUIR adding the results of the optimizer.
+   *
+   * @param original the original FUIR instance that we are cloning.
+   *
+   * @param inlineCandidates the clazzes, indexed by clazzId2num, that should
+   * be inlined.
+   *
+   * @param unreachableRoutines the routines, indexed by clazzId2num, that are
+   * never called.
+   *
+   * @param unreadFields the fields, indexed by clazzId2num, that are never
+   * read.
+   *
+   * @param monomorphicSites the dynamic accesses, indexed by site-SITE_BASE,
+   * that have only one target and are performed as static accesses.
+   */
+  public OptimizedFUIR(GeneratingFUIR original,
+                       BitSet inlineCandidates,
+                       BitSet unreachableRoutines,
+                       BitSet unreadFields,
+                       BitSet monomorphicSites)
   {
     super(original);
     _original = original;
+    _inlineCandidates = inlineCandidates;
+    _unreachableRoutines = unreachableRoutines;
+    _unreadFields = unreadFields;
+    _monomorphicSites = monomorphicSites;
+    _fields = new IntMap<>();
+    for (var cl = firstClazz(); cl <= lastClazz(); cl++)
+      {
+        if (_unreadFields.get(clazzId2num(cl)))
+          {
+            var o = clazzOuterClazz(cl);
+            if (_fields.get(o) == null)
+              {
+                var fields = new ArrayList<Integer>();
+                for (var i = 0; i < super.clazzFieldCount(o); i++)
+                  {
+                    var f = super.clazzField(o, i);
+                    if (!isUnreadField(f))
+                      {
+                        fields.add(f);
+                      }
+                  }
+                _fields.put(o, fields.stream().mapToInt(Integer::intValue).toArray());
+              }
+          }
+      }
   }
 
   // passthrough methods that DFA overrides
@@ -60,10 +146,155 @@ public class OptimizedFUIR extends GeneratingFUIR {
   @Override public boolean doesResultEscape(int s) { return _original.doesResultEscape(s); }
   @Override public boolean alwaysResultsInVoid(int s){ return _original.alwaysResultsInVoid(s); }
   @Override public int[] matchCaseTags(int s, int cix){ return _original.matchCaseTags(s, cix); }
-  @Override public int matchCaseField(int s, int cix){ return _original.matchCaseField(s, cix); }
   @Override public boolean clazzIsUnitType(int cl){ return _original.clazzIsUnitType(cl); }
   @Override public int clazzOuterRef(int cl){  return _original.clazzOuterRef(cl); }
-  @Override public int accessedClazz(int s){ return _original.accessedClazz(s); }
+
+
+  /**
+   * The number of fields in clazz cl, excluding fields that are never read.
+   */
+  @Override
+  public int clazzFieldCount(int cl)
+  {
+    var fields = _fields.get(cl);
+    return fields != null ? fields.length : super.clazzFieldCount(cl);
+  }
+
+
+  /**
+   * Field #i in clazz cl, excluding fields that are never read.
+   */
+  @Override
+  public int clazzField(int cl, int i)
+  {
+    var fields = _fields.get(cl);
+    return fields != null ? fields[i] : super.clazzField(cl, i);
+  }
+
+
+  /**
+   * The field that receives the matched value for case cix of the match at
+   * site s.  NO_CLAZZ if this field is never read.
+   */
+  @Override
+  public int matchCaseField(int s, int cix)
+  {
+    var result = _original.matchCaseField(s, cix);
+    return isUnreadField(result) ? NO_CLAZZ : result;
+  }
+
+
+  /**
+   * The clazz accessed at site s.  For a dynamic access with only one target,
+   * this is the clazz accessed for this target.  NO_CLAZZ for assignments to
+   * fields that are never read, such that backends drop these assignments.
+   */
+  @Override
+  public int accessedClazz(int s)
+  {
+    var result = isMonomorphic(s)
+      ? _original.accessedClazzes(s)[1]
+      : _original.accessedClazz(s);
+    return result != NO_CLAZZ && assignsUnreadField(s)
+      ? NO_CLAZZ
+      : result;
+  }
+
+
+  /**
+   * Is the access at site s dynamic?  false for dynamic accesses with only one
+   * target.
+   */
+  @Override
+  public boolean accessIsDynamic(int s)
+  {
+    return _original.accessIsDynamic(s) && !isMonomorphic(s);
+  }
+
+
+  /**
+   * The target clazzes and accessed clazzes at site s.  For dynamic accesses
+   * with only one target, this is the pair found by the DFA.  Empty for
+   * assignments to fields that are never read.
+   */
+  @Override
+  public int[] accessedClazzes(int s)
+  {
+    return assignsUnreadField(s) ? new int[0]
+      : isMonomorphic(s)         ? _original.accessedClazzes(s)
+                                 : super.accessedClazzes(s);
+  }
+
+
+  /**
+   * Is field f never read?
+   *
+   * @param f a field or NO_CLAZZ.
+   */
+  private boolean isUnreadField(int f)
+  {
+    return f != NO_CLAZZ && f <= lastClazz() && _unreadFields.get(clazzId2num(f));
+  }
+
+
+  /**
+   * Is the code at site s an assignment to a field that is never read?  For a
+   * dynamic assignment, this is the case if the fields of all targets are
+   * never read.  The optimizer ensures that these fields are either all read
+   * or all unread.
+   */
+  private boolean assignsUnreadField(int s)
+  {
+    var result = false;
+    if (codeAt(s) == ExprKind.Assign)
+      {
+        if (_original.accessIsDynamic(s))
+          {
+            var ccs = _original.accessedClazzes(s);
+            result = true;
+            for (var cci = 1; cci < ccs.length; cci += 2)
+              {
+                result = result && isUnreadField(ccs[cci]);
+              }
+          }
+        else
+          {
+            result = isUnreadField(_original.accessedClazz(s));
+          }
+      }
+    return result;
+  }
+
+
+  /**
+   * Was the access at site s found by the optimizer to be dynamic with only one
+   * target?
+   */
+  private boolean isMonomorphic(int s)
+  {
+    return _monomorphicSites.get(s - SITE_BASE);
+  }
+
+
+  /**
+   * Does the given clazz need code?  false for routines that are never called.
+   */
+  @Override
+  public boolean clazzNeedsCode(int cl)
+  {
+    return super.clazzNeedsCode(cl) && !_unreachableRoutines.get(clazzId2num(cl));
+  }
+
+
+  /**
+   * Is this a small, non-recursive routine that was found by the optimizer to
+   * be worth inlining at its static call sites?
+   */
+  @Override
+  public boolean clazzIsInlineCandidate(int cl)
+  {
+    return _inlineCandidates.get(clazzId2num(cl));
+  }
 
 
   /*----------------------  serializing FUIR  ----------------------*/
@@ -161,6 +392,8 @@ public class OptimizedFUIR extends GeneratingFUIR {
   /**
    * serialize the FUIR to a byte array
    * which can be written to a file.
+   *
+   * See FuirOut for the file format.
    */
   public byte[] serialize()
   {
@@ -168,110 +401,92 @@ public class OptimizedFUIR extends GeneratingFUIR {
     var lastClazz = lastClazz();
     var siteCount = siteCount();
 
-    var baos = new ByteArrayOutputStream();
-    /**
-     * NYI: UNDER DEVELOPMENT:
-     * replace by custom serialization of FUIR
-     */
-    try (ObjectOutputStream oos = new ObjectOutputStream(baos))
+    var out = new FuirOut(mainClazz(), specialClazzes());
+    for (int cl = firstClazz; cl <= lastClazz; cl++)
       {
-        oos.writeInt(mainClazz());
-        var clazzes = new ClazzRecord[lastClazz-firstClazz+1];
-        for (int cl = firstClazz; cl <= lastClazz; cl++)
+        var clazzKind = clazzKind(cl);
+        var isRoutine = clazzKind == FeatureKind.Routine;
+        var needsCode = isRoutine && clazzNeedsCode(cl);
+        out.clazz(new ClazzRecord(
+            clazzBaseName(cl),
+            clazzOuterClazz(cl),
+            clazzIsBoxed(cl),
+            clazzArgs(cl),
+            clazzKind,
+            clazzOuterRef(cl),
+            clazzResultClazz(cl),
+            clazzIsRef(cl),
+            clazzIsUnitType(cl),
+            clazzAsValue(cl),
+            clazzChoices(cl),
+            clazzInstantiatedHeirs(cl),
+            clazzNeedsCode(cl),
+            clazzFields(cl),
+            needsCode ? clazzCode(cl) : NO_SITE,
+            clazzResultField(cl),
+            clazzOriginalName(cl),
+            clazzActualGenerics(cl),
+            lookupCall(cl),
+            lookupStaticFinally(cl),
+            isRoutine ? lifeTime(cl) : null,
+            clazzTypeName(cl),
+            clazzName(cl),
+            clazzNameHuman(cl),
+            clazzSrcFile(cl),
+            clazzDeclarationPos(cl).bytePos(),
+            lookupJavaRef(cl),
+            lookupCause(cl)
+            ));
+      }
+
+    for (int s = SITE_BASE; s < SITE_BASE+siteCount; s++)
+      {
+        if (invalidSite(s))
           {
-            var clazzKind = clazzKind(cl);
-            var isRoutine = clazzKind == FeatureKind.Routine;
-            var needsCode = isRoutine && clazzNeedsCode(cl);
-            clazzes[clazzId2num(cl)] = new ClazzRecord(
-                clazzBaseName(cl),
-                clazzOuterClazz(cl),
-                clazzIsBoxed(cl),
-                clazzArgs(cl),
-                clazzKind,
-                clazzOuterRef(cl),
-                clazzResultClazz(cl),
-                clazzIsRef(cl),
-                clazzIsUnitType(cl),
-                clazzAsValue(cl),
-                clazzChoices(cl),
-                clazzInstantiatedHeirs(cl),
-                clazzNeedsCode(cl),
-                clazzFields(cl),
-                needsCode ? clazzCode(cl) : NO_SITE,
-                clazzResultField(cl),
-                clazzOriginalName(cl),
-                clazzActualGenerics(cl),
-                lookupCall(cl),
-                lookupStaticFinally(cl),
-                isRoutine ? lifeTime(cl) : null,
-                clazzTypeName(cl),
-                clazzName(cl),
-                clazzNameHuman(cl),
-                clazzSrcFile(cl),
-                clazzDeclarationPos(cl).bytePos(),
-                lookupJavaRef(cl),
-                lookupCause(cl)
-                );
+            out.site(new SiteRecord(
+              clazzAt(s), false, false, null, NO_CLAZZ, null, NO_CLAZZ, null,
+              NO_CLAZZ, NO_SITE, NO_SITE, NO_SITE, NO_CLAZZ, NO_SITE, siteCount,
+              null, null, NO_CLAZZ, -1, null, false, null, -1));
           }
-        oos.writeObject(clazzes);
-
-        var sites = new SiteRecord[siteCount];
-        for (int s = SITE_BASE; s < SITE_BASE+siteCount; s++)
+        else
           {
-            if (invalidSite(s))
-              {
-                sites[s-SITE_BASE] = new SiteRecord(
-                  clazzAt(s), false, false, null, NO_CLAZZ, null, NO_CLAZZ, null,
-                  NO_CLAZZ, NO_SITE, NO_SITE, NO_SITE, NO_CLAZZ, NO_SITE, siteCount,
-                  null, null, NO_CLAZZ, -1, null, false, null, -1);
-              }
-            else
-              {
-                var codeAt = codeAt(s);
-                var sitePos = sitePos(s);
-                var accessedClazz =
-                  codeAt.isCallOrAssign() && accessedClazz(s) <= lastClazz
-                    ? accessedClazz(s)
-                    : NO_CLAZZ;
-
-                sites[s-SITE_BASE] = new SiteRecord(
-                    clazzAt(s),
-                    alwaysResultsInVoid(s),
-                    doesResultEscape(s),
-                    codeAt,
-                    codeAt != ExprKind.Const ? NO_CLAZZ : constClazz(s),
-                    codeAt == ExprKind.Const ? constData(s) : null,
-                    accessedClazz,
-                    accessedClazz != NO_CLAZZ ? accessedClazzes(s) : null,
-                    codeAt.isCallOrAssign() ? accessTargetClazz(s) : NO_CLAZZ,
-                    codeAt != ExprKind.Tag ? NO_CLAZZ : tagValueClazz(s),
-                    codeAt != ExprKind.Assign ? NO_CLAZZ : assignedType(s),
-                    codeAt != ExprKind.Box ? NO_CLAZZ : boxValueClazz(s),
-                    codeAt != ExprKind.Box ? NO_CLAZZ : boxResultClazz(s),
-                    codeAt != ExprKind.Match ? NO_CLAZZ : matchStaticSubject(s),
-                    codeAt == ExprKind.Match ? matchCaseCount(s) : -1,
-                    codeAt == ExprKind.Match ? matchCaseTags(s) : null,
-                    codeAt == ExprKind.Match ? matchCaseCode(s) : null,
-                    codeAt != ExprKind.Tag ? NO_CLAZZ : tagNewClazz(s),
-                    codeAt != ExprKind.Tag ? -1 : tagTagNum(s),
-                    codeAt != ExprKind.Match ? null : matchCaseFields(s),
-                    codeAt.isCallOrAssign() ? accessIsDynamic(s) : false,
-                    sitePos == null || sitePos.globalPos() == null
-                      ? null : sitePos.globalPos().v0(),
-                    sitePos == null || sitePos.globalPos() == null
-                      ? -1 : sitePos.globalPos().v1()
-                  );
-              }
+            var codeAt = codeAt(s);
+            var sitePos = sitePos(s);
+            var accessedClazz =
+              codeAt.isCallOrAssign() && accessedClazz(s) <= lastClazz
+                ? accessedClazz(s)
+                : NO_CLAZZ;
+
+            out.site(new SiteRecord(
+                clazzAt(s),
+                alwaysResultsInVoid(s),
+                doesResultEscape(s),
+                codeAt,
+                codeAt != ExprKind.Const ? NO_CLAZZ : constClazz(s),
+                codeAt == ExprKind.Const ? constData(s) : null,
+                accessedClazz,
+                accessedClazz != NO_CLAZZ ? accessedClazzes(s) : null,
+                codeAt.isCallOrAssign() ? accessTargetClazz(s) : NO_CLAZZ,
+                codeAt != ExprKind.Tag ? NO_CLAZZ : tagValueClazz(s),
+                codeAt != ExprKind.Assign ? NO_CLAZZ : assignedType(s),
+                codeAt != ExprKind.Box ? NO_CLAZZ : boxValueClazz(s),
+                codeAt != ExprKind.Box ? NO_CLAZZ : boxResultClazz(s),
+                codeAt != ExprKind.Match ? NO_CLAZZ : matchStaticSubject(s),
+                codeAt == ExprKind.Match ? matchCaseCount(s) : -1,
+                codeAt == ExprKind.Match ? matchCaseTags(s) : null,
+                codeAt == ExprKind.Match ? matchCaseCode(s) : null,
+                codeAt != ExprKind.Tag ? NO_CLAZZ : tagNewClazz(s),
+                codeAt != ExprKind.Tag ? -1 : tagTagNum(s),
+                codeAt != ExprKind.Match ? null : matchCaseFields(s),
+                codeAt.isCallOrAssign() ? accessIsDynamic(s) : false,
+                sitePos == null || sitePos.globalPos() == null
+                  ? null : sitePos.globalPos().v0(),
+                sitePos == null || sitePos.globalPos() == null
+                  ? -1 : sitePos.globalPos().v1()
+              ));
           }
-        oos.writeObject(sites);
-
-        oos.writeObject(specialClazzes());
-      }
-    catch(IOException e)
-      {
-        e.printStackTrace();
       }
-    return baos.toByteArray();
+    return out.data();
   }
 
 
@@ -26,13 +26,10 @@ Fuzion language implementation.  If not, see <https://www.gnu.org/licenses/>.
 
 package dev.flang.fuir;
 
-import java.io.Serializable;
-
 import dev.flang.ir.IR.ExprKind;
 
 /**
- * NYI: UNDER DEVELOPMENT:
- * remove this once we have custom serialization of FUIR
+ * The data of one site as it is written to a .fuir file by FuirOut.
  */
 public record SiteRecord(
   int clazzAt,
@@ -58,7 +55,6 @@ public record SiteRecord(
   boolean accessIsDynamic,
   String module,
   long bytePos
-) implements Serializable
+)
 {
-  private static final long serialVersionUID = 1L;
 }
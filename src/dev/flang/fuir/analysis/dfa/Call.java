@@ -195,6 +195,20 @@ public class Call extends ANY implements Comparable<Call>, Context
   }
 
 
+  /**
+   * Hash consistent with {@code envCompare}.
+   */
+  int envHash()
+  {
+    return DFA.TRACE_ALL_EFFECT_ENVS
+      ? Env.idHash(env())
+      : Env.hash(_dfa._real
+                 ? _dfa._effectsRequiredByClazz.get(calledClazz())
+                 : _group._usedEffects,
+                 env());
+  }
+
+
   /**
    * Compare this to another Call.
    */
@@ -209,6 +223,20 @@ public class Call extends ANY implements Comparable<Call>, Context
   }
 
 
+  /**
+   * Hash consistent with compareTo.
+   */
+  int hash()
+  {
+    var h = _group.hash();
+    if (_dfa._real)
+      {
+        h = h * 31 + envHash();
+      }
+    return h;
+  }
+
+
   /**
    * For debugging: Why did {@code compareTo(other)} return a value != 0?
    */
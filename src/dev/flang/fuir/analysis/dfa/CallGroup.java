@@ -190,6 +190,16 @@ public class CallGroup extends ANY implements Comparable<CallGroup>
   }
 
 
+  /**
+   * Hash consistent with compareTo.  The site is not included since whether
+   * it is relevant depends on {@code _dfa.siteSensitive(_cc)}.
+   */
+  int hash()
+  {
+    return _quickHash != -1 ? Long.hashCode(_quickHash) : _cc * 31 + _target._id;
+  }
+
+
   /**
    * For debugging: Why did {@code compareTo(other)} return a value != 0?
    */
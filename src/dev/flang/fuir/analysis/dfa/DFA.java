@@ -37,6 +37,7 @@ import java.util.TreeSet;
 
 import java.util.function.BiFunction;
 import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
 
 import java.util.stream.Stream;
 
@@ -94,6 +95,13 @@ public class DFA extends ANY
   public final Set<Long> _takenMatchCases = new TreeSet<>();
 
 
+  /**
+   * Record the tags of match subjects that were found by the DFA, key is site
+   * and tag number.
+   */
+  public final Set<Long> _takenMatchTags = new TreeSet<>();
+
+
   /**
    * Statement processor used with AbstractInterpreter to perform DFA analysis
    */
@@ -331,11 +339,11 @@ public class DFA extends ANY
         }
       else
         {
-          var instantiatedAt = _calls.keySet().stream()
+          var instantiatedAt = _calls.values().stream()
             .filter(c -> (c.calledClazz() == _fuir.clazzAsValue(t_cl) ||  // NYI: CLEANUP would be nice if c.calledClazz() would be a ref already, should have been boxed at some point
                           c.calledClazz() == t_cl                       ) && c.site() != NO_SITE)
+            .min(Call::compareTo)
             .map(c -> c.site())
-            .findAny()
             .orElse(NO_SITE);
           _fuir.recordAbstractMissing(t_cl, _fuir.accessedClazz(s), instantiatedAt, _call.contextString(),
                                       s);
@@ -623,6 +631,7 @@ public class DFA extends ANY
           var vals = new List<Value>();
           for (var t : _fuir.matchCaseTags(s, mc))
             {
+              var n = vals.size();
               subv.value().forAll(v ->  {
                 var tv = (TaggedValue)v;
                 if (tv._tag == t)
@@ -630,6 +639,10 @@ public class DFA extends ANY
                     vals.add(tv._original);
                   }
               });
+              if (vals.size() > n)
+                {
+                  DFA.this._takenMatchTags.add(((long)s<<32)|((long)t));
+                }
             }
           var taken = !vals.isEmpty();
           if (taken)
@@ -894,7 +907,7 @@ public class DFA extends ANY
   /**
    * Values created during DFA analysis that are cached via cache(Value).
    */
-  TreeMap<Value, Value> _cachedValues = new TreeMap<>(Value.COMPARATOR);
+  InternTable<Value> _cachedValues = new InternTable<>(Value::hash, Value.COMPARATOR);
 
 
   /**
@@ -947,13 +960,13 @@ public class DFA extends ANY
   /**
    * CallGroups created during DFA analysis.
    */
-  TreeMap<CallGroup, CallGroup> _callGroups = new TreeMap<>();
+  InternTable<CallGroup> _callGroups = new InternTable<>(CallGroup::hash, CallGroup::compareTo);
 
 
   /**
    * Calls created during DFA analysis.
    */
-  TreeMap<Call, Call> _calls = new TreeMap<>();
+  InternTable<Call> _calls = new InternTable<>(Call::hash, Call::compareTo);
 
 
   /**
@@ -977,6 +990,13 @@ public class DFA extends ANY
   List<Call> _hotCalls = new List<>();
 
 
+  /**
+   * Number of analyses of calls to routines performed so far, used for
+   * metrics to see how much work the fix point iterations required.
+   */
+  int _analyzedCalls = 0;
+
+
   /**
    * Current number of recursive analysis of newly created Calls, see {@code analyzeNewCall} for
    * details.
@@ -998,7 +1018,7 @@ public class DFA extends ANY
    * Envs created during DFA analysis.  The envs are compared insensitive to the
    * order in which they are installed.
    */
-  TreeMap<Env, Env> _envs = new TreeMap<>();
+  InternTable<Env> _envs = new InternTable<>(Env::hash, Env::compareTo);
 
 
   /**
@@ -1013,7 +1033,7 @@ public class DFA extends ANY
    * id, Value._envId, and they are compared differently using
    * Value.ENV_COMPARATOR to avoid env value explosion.
    */
-  TreeMap<Value, Value> _envValues = new TreeMap<>(Value.ENV_COMPARATOR);
+  InternTable<Value> _envValues = new InternTable<>(Value::envHash, Value.ENV_COMPARATOR);
 
 
   /**
@@ -1259,11 +1279,37 @@ public class DFA extends ANY
         }
 
 
+        /**
+         * The tags of a match case, excluding all tags that were never found
+         * for the subject by the DFA.  Empty if the case is never taken.
+         */
         @Override
         public int[] matchCaseTags(int s, int cix)
         {
           var key = ((long)s<<32)|((long)cix);
-          return _takenMatchCases.contains(key) ? super.matchCaseTags(s, cix) : new int[0];
+          var tags = _takenMatchCases.contains(key) ? super.matchCaseTags(s, cix) : new int[0];
+          var n = 0;
+          for (var t : tags)
+            {
+              if (_takenMatchTags.contains(((long)s<<32)|((long)t)))
+                {
+                  n++;
+                }
+            }
+          if (n < tags.length)
+            {
+              var taken = new int[n];
+              n = 0;
+              for (var t : tags)
+                {
+                  if (_takenMatchTags.contains(((long)s<<32)|((long)t)))
+                    {
+                      taken[n++] = t;
+                    }
+                }
+              tags = taken;
+            }
+          return tags;
         };
 
 
@@ -1333,7 +1379,7 @@ public class DFA extends ANY
         g.saveEffects();
       }
 
-    _cachedValues = new TreeMap<>(Value.COMPARATOR);
+    _cachedValues = new InternTable<>(Value::hash, Value.COMPARATOR);
     _numUniqueValues = 0;
     _uniqueValues = new List<Value>();
     _instancesForSite = new List<>();
@@ -1347,8 +1393,8 @@ public class DFA extends ANY
     _trueX = null; _falseX = null; _boolX = null;
 
     _callsQuick = new LongMap<>();
-    _calls = new TreeMap<>();
-    _callGroups = new TreeMap<>();
+    _calls = new InternTable<>(Call::hash, Call::compareTo);
+    _callGroups = new InternTable<>(CallGroup::hash, CallGroup::compareTo);
 
     _oneInstanceOfClazz = new List<>();
     _unitCalls = new IntMap<>();
@@ -1358,7 +1404,7 @@ public class DFA extends ANY
     var realIter = findFixPoint();
     _options.timer("dfa_real");
 
-    _options.verbosePrintln(2, "DFA needed " + (preIter+realIter) +  " iterations (pre/real) ("+ preIter + "/" + realIter + ").");
+    _options.verbosePrintln(2, "DFA needed " + (preIter+realIter) +  " iterations (pre/real) ("+ preIter + "/" + realIter + "), " + _analyzedCalls + " analyses of calls.");
 
     if (preIter+realIter > MAX_ITERATIONS)
       {
@@ -1376,6 +1422,7 @@ public class DFA extends ANY
                            preIter,
                            realIter,
                            _calls.size(),
+                           _analyzedCalls,
                            _numUniqueValues,
                            _fuir.clazzName(_fuir.mainClazz()));
       }
@@ -1666,6 +1713,7 @@ public class DFA extends ANY
         check
           (c._args.size() == _fuir.clazzArgCount(cc));
 
+        _analyzedCalls++;
         var ai = new AbstractInterpreter2<Val>(_fuir, new Analyze(c));
         var r = ai.processClazz(cc);
         if (r != null)
@@ -1925,50 +1973,50 @@ public class DFA extends ANY
 
     put("fuzion.sys.fatal_fault0"        , cl-> null );
 
-    put("i8.prefix -°"                   , cl -> genericNumResult(cl) );
-    put("i16.prefix -°"                  , cl -> genericNumResult(cl) );
-    put("i32.prefix -°"                  , cl -> genericNumResult(cl) );
-    put("i64.prefix -°"                  , cl -> genericNumResult(cl) );
+    put("i8.prefix -°"                   , cl -> calc(cl, v0 -> (long)(byte) (-v0)));
+    put("i16.prefix -°"                  , cl -> calc(cl, v0 -> (long)(short) (-v0)));
+    put("i32.prefix -°"                  , cl -> calc(cl, v0 -> (long)(int) (-v0)));
+    put("i64.prefix -°"                  , cl -> calc(cl, v0 -> -v0));
     put("i8.infix -°"                    , cl -> calc(cl, (v0,v1) -> (long)(byte) (v0-v1)));
     put("i16.infix -°"                   , cl -> calc(cl, (v0,v1) -> (long)(short) (v0-v1)));
     put("i32.infix -°"                   , cl -> calc(cl, (v0,v1) -> (long)(int) (v0-v1)));
-    put("i64.infix -°"                   , cl -> calc(cl, (v0,v1) -> v0-v1) );
+    put("i64.infix -°"                   , cl -> calc(cl, (v0,v1) -> v0-v1));
     put("i8.infix +°"                    , cl -> calc(cl, (v0,v1) -> (long)(byte) (v0+v1)));
     put("i16.infix +°"                   , cl -> calc(cl, (v0,v1) -> (long)(short) (v0+v1)));
     put("i32.infix +°"                   , cl -> calc(cl, (v0,v1) -> (long)(int) (v0+v1)));
-    put("i64.infix +°"                   , cl -> calc(cl, (v0,v1) -> v0+v1) );
-    put("i8.infix *°"                    , cl -> genericNumResult(cl) );
-    put("i16.infix *°"                   , cl -> genericNumResult(cl) );
-    put("i32.infix *°"                   , cl -> genericNumResult(cl) );
-    put("i64.infix *°"                   , cl -> genericNumResult(cl) );
-    put("i8.div"                         , cl -> genericNumResult(cl) );
-    put("i16.div"                        , cl -> genericNumResult(cl) );
-    put("i32.div"                        , cl -> genericNumResult(cl) );
-    put("i64.div"                        , cl -> genericNumResult(cl) );
-    put("i8.mod"                         , cl -> genericNumResult(cl) );
-    put("i16.mod"                        , cl -> genericNumResult(cl) );
-    put("i32.mod"                        , cl -> genericNumResult(cl) );
-    put("i64.mod"                        , cl -> genericNumResult(cl) );
-    put("i8.infix <<"                    , cl -> genericNumResult(cl) );
-    put("i16.infix <<"                   , cl -> genericNumResult(cl) );
-    put("i32.infix <<"                   , cl -> genericNumResult(cl) );
-    put("i64.infix <<"                   , cl -> genericNumResult(cl) );
-    put("i8.infix >>"                    , cl -> genericNumResult(cl) );
-    put("i16.infix >>"                   , cl -> genericNumResult(cl) );
-    put("i32.infix >>"                   , cl -> genericNumResult(cl) );
-    put("i64.infix >>"                   , cl -> genericNumResult(cl) );
-    put("i8.infix &"                     , cl -> genericNumResult(cl) );
-    put("i16.infix &"                    , cl -> genericNumResult(cl) );
-    put("i32.infix &"                    , cl -> genericNumResult(cl) );
-    put("i64.infix &"                    , cl -> genericNumResult(cl) );
-    put("i8.infix |"                     , cl -> genericNumResult(cl) );
-    put("i16.infix |"                    , cl -> genericNumResult(cl) );
-    put("i32.infix |"                    , cl -> genericNumResult(cl) );
-    put("i64.infix |"                    , cl -> genericNumResult(cl) );
-    put("i8.infix ^"                     , cl -> genericNumResult(cl) );
-    put("i16.infix ^"                    , cl -> genericNumResult(cl) );
-    put("i32.infix ^"                    , cl -> genericNumResult(cl) );
-    put("i64.infix ^"                    , cl -> genericNumResult(cl) );
+    put("i64.infix +°"                   , cl -> calc(cl, (v0,v1) -> v0+v1));
+    put("i8.infix *°"                    , cl -> calc(cl, (v0,v1) -> (long)(byte) (v0*v1)));
+    put("i16.infix *°"                   , cl -> calc(cl, (v0,v1) -> (long)(short) (v0*v1)));
+    put("i32.infix *°"                   , cl -> calc(cl, (v0,v1) -> (long)(int) (v0*v1)));
+    put("i64.infix *°"                   , cl -> calc(cl, (v0,v1) -> v0*v1));
+    put("i8.div"                         , cl -> calc(cl, (v0,v1) -> v1 == 0 || v1 == -1 ? null : (long)(byte) (v0/v1)));
+    put("i16.div"                        , cl -> calc(cl, (v0,v1) -> v1 == 0 || v1 == -1 ? null : (long)(short) (v0/v1)));
+    put("i32.div"                        , cl -> calc(cl, (v0,v1) -> v1 == 0 || v1 == -1 ? null : (long)(int) (v0/v1)));
+    put("i64.div"                        , cl -> calc(cl, (v0,v1) -> v1 == 0 || v1 == -1 ? null : v0/v1));
+    put("i8.mod"                         , cl -> calc(cl, (v0,v1) -> v1 == 0 || v1 == -1 ? null : (long)(byte) (v0%v1)));
+    put("i16.mod"                        , cl -> calc(cl, (v0,v1) -> v1 == 0 || v1 == -1 ? null : (long)(short) (v0%v1)));
+    put("i32.mod"                        , cl -> calc(cl, (v0,v1) -> v1 == 0 || v1 == -1 ? null : (long)(int) (v0%v1)));
+    put("i64.mod"                        , cl -> calc(cl, (v0,v1) -> v1 == 0 || v1 == -1 ? null : v0%v1));
+    put("i8.infix <<"                    , cl -> calc(cl, (v0,v1) -> v1 < 0 || v1 >= 8 ? null : (long)(byte) (v0 << v1)));
+    put("i16.infix <<"                   , cl -> calc(cl, (v0,v1) -> v1 < 0 || v1 >= 16 ? null : (long)(short) (v0 << v1)));
+    put("i32.infix <<"                   , cl -> calc(cl, (v0,v1) -> v1 < 0 || v1 >= 32 ? null : (long)(int) (v0 << v1)));
+    put("i64.infix <<"                   , cl -> calc(cl, (v0,v1) -> v1 < 0 || v1 >= 64 ? null : v0 << v1));
+    put("i8.infix >>"                    , cl -> calc(cl, (v0,v1) -> v1 < 0 || v1 >= 8 ? null : v0 >> v1));
+    put("i16.infix >>"                   , cl -> calc(cl, (v0,v1) -> v1 < 0 || v1 >= 16 ? null : v0 >> v1));
+    put("i32.infix >>"                   , cl -> calc(cl, (v0,v1) -> v1 < 0 || v1 >= 32 ? null : v0 >> v1));
+    put("i64.infix >>"                   , cl -> calc(cl, (v0,v1) -> v1 < 0 || v1 >= 64 ? null : v0 >> v1));
+    put("i8.infix &"                     , cl -> calc(cl, (v0,v1) -> (long)(byte) (v0 & v1)));
+    put("i16.infix &"                    , cl -> calc(cl, (v0,v1) -> (long)(short) (v0 & v1)));
+    put("i32.infix &"                    , cl -> calc(cl, (v0,v1) -> (long)(int) (v0 & v1)));
+    put("i64.infix &"                    , cl -> calc(cl, (v0,v1) -> v0 & v1));
+    put("i8.infix |"                     , cl -> calc(cl, (v0,v1) -> (long)(byte) (v0 | v1)));
+    put("i16.infix |"                    , cl -> calc(cl, (v0,v1) -> (long)(short) (v0 | v1)));
+    put("i32.infix |"                    , cl -> calc(cl, (v0,v1) -> (long)(int) (v0 | v1)));
+    put("i64.infix |"                    , cl -> calc(cl, (v0,v1) -> v0 | v1));
+    put("i8.infix ^"                     , cl -> calc(cl, (v0,v1) -> (long)(byte) (v0 ^ v1)));
+    put("i16.infix ^"                    , cl -> calc(cl, (v0,v1) -> (long)(short) (v0 ^ v1)));
+    put("i32.infix ^"                    , cl -> calc(cl, (v0,v1) -> (long)(int) (v0 ^ v1)));
+    put("i64.infix ^"                    , cl -> calc(cl, (v0,v1) -> v0 ^ v1));
 
     put("i8.type.equality"               , cl -> numericEquality(cl) );
     put("i16.type.equality"              , cl -> numericEquality(cl) );
@@ -1979,50 +2027,50 @@ public class DFA extends ANY
     put("i32.type.lteq"                  , cl -> numericLteq(cl) );
     put("i64.type.lteq"                  , cl -> numericLteq(cl) );
 
-    put("u8.prefix -°"                   , cl -> genericNumResult(cl) );
-    put("u16.prefix -°"                  , cl -> genericNumResult(cl) );
-    put("u32.prefix -°"                  , cl -> genericNumResult(cl) );
-    put("u64.prefix -°"                  , cl -> genericNumResult(cl) );
+    put("u8.prefix -°"                   , cl -> calc(cl, v0 -> (-v0) & 0xff));
+    put("u16.prefix -°"                  , cl -> calc(cl, v0 -> (-v0) & 0xffff));
+    put("u32.prefix -°"                  , cl -> calc(cl, v0 -> (long)(int) (-v0)));
+    put("u64.prefix -°"                  , cl -> calc(cl, v0 -> -v0));
     put("u8.infix -°"                    , cl -> calc(cl, (v0,v1) -> (v0-v1) & 0xff));
     put("u16.infix -°"                   , cl -> calc(cl, (v0,v1) -> (v0-v1) & 0xffff));
-    put("u32.infix -°"                   , cl -> calc(cl, (v0,v1) -> (v0-v1) & 0xffffffff));
-    put("u64.infix -°"                   , cl -> calc(cl, (v0,v1) -> v0-v1) );
+    put("u32.infix -°"                   , cl -> calc(cl, (v0,v1) -> (long)(int) (v0-v1)));
+    put("u64.infix -°"                   , cl -> calc(cl, (v0,v1) -> v0-v1));
     put("u8.infix +°"                    , cl -> calc(cl, (v0,v1) -> (v0+v1) & 0xff));
     put("u16.infix +°"                   , cl -> calc(cl, (v0,v1) -> (v0+v1) & 0xffff));
-    put("u32.infix +°"                   , cl -> calc(cl, (v0,v1) -> (v0+v1) & 0xffffffff));
-    put("u64.infix +°"                   , cl -> calc(cl, (v0,v1) -> v0+v1) );
-    put("u8.infix *°"                    , cl -> genericNumResult(cl) );
-    put("u16.infix *°"                   , cl -> genericNumResult(cl) );
-    put("u32.infix *°"                   , cl -> genericNumResult(cl) );
-    put("u64.infix *°"                   , cl -> genericNumResult(cl) );
-    put("u8.div"                         , cl -> genericNumResult(cl) );
-    put("u16.div"                        , cl -> genericNumResult(cl) );
-    put("u32.div"                        , cl -> genericNumResult(cl) );
-    put("u64.div"                        , cl -> genericNumResult(cl) );
-    put("u8.mod"                         , cl -> genericNumResult(cl) );
-    put("u16.mod"                        , cl -> genericNumResult(cl) );
-    put("u32.mod"                        , cl -> genericNumResult(cl) );
-    put("u64.mod"                        , cl -> genericNumResult(cl) );
-    put("u8.infix <<"                    , cl -> genericNumResult(cl) );
-    put("u16.infix <<"                   , cl -> genericNumResult(cl) );
-    put("u32.infix <<"                   , cl -> genericNumResult(cl) );
-    put("u64.infix <<"                   , cl -> genericNumResult(cl) );
-    put("u8.infix >>"                    , cl -> genericNumResult(cl) );
-    put("u16.infix >>"                   , cl -> genericNumResult(cl) );
-    put("u32.infix >>"                   , cl -> genericNumResult(cl) );
-    put("u64.infix >>"                   , cl -> genericNumResult(cl) );
-    put("u8.infix &"                     , cl -> genericNumResult(cl) );
-    put("u16.infix &"                    , cl -> genericNumResult(cl) );
-    put("u32.infix &"                    , cl -> genericNumResult(cl) );
-    put("u64.infix &"                    , cl -> genericNumResult(cl) );
-    put("u8.infix |"                     , cl -> genericNumResult(cl) );
-    put("u16.infix |"                    , cl -> genericNumResult(cl) );
-    put("u32.infix |"                    , cl -> genericNumResult(cl) );
-    put("u64.infix |"                    , cl -> genericNumResult(cl) );
-    put("u8.infix ^"                     , cl -> genericNumResult(cl) );
-    put("u16.infix ^"                    , cl -> genericNumResult(cl) );
-    put("u32.infix ^"                    , cl -> genericNumResult(cl) );
-    put("u64.infix ^"                    , cl -> genericNumResult(cl) );
+    put("u32.infix +°"                   , cl -> calc(cl, (v0,v1) -> (long)(int) (v0+v1)));
+    put("u64.infix +°"                   , cl -> calc(cl, (v0,v1) -> v0+v1));
+    put("u8.infix *°"                    , cl -> calc(cl, (v0,v1) -> (v0*v1) & 0xff));
+    put("u16.infix *°"                   , cl -> calc(cl, (v0,v1) -> (v0*v1) & 0xffff));
+    put("u32.infix *°"                   , cl -> calc(cl, (v0,v1) -> (long)(int) (v0*v1)));
+    put("u64.infix *°"                   , cl -> calc(cl, (v0,v1) -> v0*v1));
+    put("u8.div"                         , cl -> calc(cl, (v0,v1) -> v1 == 0 ? null : v0/v1));
+    put("u16.div"                        , cl -> calc(cl, (v0,v1) -> v1 == 0 ? null : v0/v1));
+    put("u32.div"                        , cl -> calc(cl, (v0,v1) -> v1 == 0 ? null : (long) Integer.divideUnsigned(v0.intValue(), v1.intValue())));
+    put("u64.div"                        , cl -> calc(cl, (v0,v1) -> v1 == 0 ? null : Long.divideUnsigned(v0, v1)));
+    put("u8.mod"                         , cl -> calc(cl, (v0,v1) -> v1 == 0 ? null : v0%v1));
+    put("u16.mod"                        , cl -> calc(cl, (v0,v1) -> v1 == 0 ? null : v0%v1));
+    put("u32.mod"                        , cl -> calc(cl, (v0,v1) -> v1 == 0 ? null : (long) Integer.remainderUnsigned(v0.intValue(), v1.intValue())));
+    put("u64.mod"                        , cl -> calc(cl, (v0,v1) -> v1 == 0 ? null : Long.remainderUnsigned(v0, v1)));
+    put("u8.infix <<"                    , cl -> calc(cl, (v0,v1) -> v1 < 0 || v1 >= 8 ? null : (v0 << v1) & 0xff));
+    put("u16.infix <<"                   , cl -> calc(cl, (v0,v1) -> v1 < 0 || v1 >= 16 ? null : (v0 << v1) & 0xffff));
+    put("u32.infix <<"                   , cl -> calc(cl, (v0,v1) -> v1 < 0 || v1 >= 32 ? null : (long)(int) (v0 << v1)));
+    put("u64.infix <<"                   , cl -> calc(cl, (v0,v1) -> v1 < 0 || v1 >= 64 ? null : v0 << v1));
+    put("u8.infix >>"                    , cl -> calc(cl, (v0,v1) -> v1 < 0 || v1 >= 8 ? null : v0 >> v1));
+    put("u16.infix >>"                   , cl -> calc(cl, (v0,v1) -> v1 < 0 || v1 >= 16 ? null : v0 >> v1));
+    put("u32.infix >>"                   , cl -> calc(cl, (v0,v1) -> v1 < 0 || v1 >= 32 ? null : (long) (v0.intValue() >>> v1)));
+    put("u64.infix >>"                   , cl -> calc(cl, (v0,v1) -> v1 < 0 || v1 >= 64 ? null : v0 >>> v1));
+    put("u8.infix &"                     , cl -> calc(cl, (v0,v1) -> (v0 & v1) & 0xff));
+    put("u16.infix &"                    , cl -> calc(cl, (v0,v1) -> (v0 & v1) & 0xffff));
+    put("u32.infix &"                    , cl -> calc(cl, (v0,v1) -> (long)(int) (v0 & v1)));
+    put("u64.infix &"                    , cl -> calc(cl, (v0,v1) -> v0 & v1));
+    put("u8.infix |"                     , cl -> calc(cl, (v0,v1) -> (v0 | v1) & 0xff));
+    put("u16.infix |"                    , cl -> calc(cl, (v0,v1) -> (v0 | v1) & 0xffff));
+    put("u32.infix |"                    , cl -> calc(cl, (v0,v1) -> (long)(int) (v0 | v1)));
+    put("u64.infix |"                    , cl -> calc(cl, (v0,v1) -> v0 | v1));
+    put("u8.infix ^"                     , cl -> calc(cl, (v0,v1) -> (v0 ^ v1) & 0xff));
+    put("u16.infix ^"                    , cl -> calc(cl, (v0,v1) -> (v0 ^ v1) & 0xffff));
+    put("u32.infix ^"                    , cl -> calc(cl, (v0,v1) -> (long)(int) (v0 ^ v1)));
+    put("u64.infix ^"                    , cl -> calc(cl, (v0,v1) -> v0 ^ v1));
 
     put("u8.type.equality"               , cl -> numericEquality(cl) );
     put("u16.type.equality"              , cl -> numericEquality(cl) );
@@ -2363,7 +2411,7 @@ public class DFA extends ANY
     var v1 = (cl._args.get(1).value() instanceof NumericValue nv) ? nv._value : null;
     return v0 == null || v1 == null
       ? cl._dfa.bool()
-      : cl._dfa.boolAsVal(v0 == v1);
+      : cl._dfa.boolAsVal(v0.longValue() == v1.longValue());
   }
 
 
@@ -2373,13 +2421,43 @@ public class DFA extends ANY
   }
 
 
+  /**
+   * Result of a binary numeric intrinsic: the constant result if the values of
+   * target and argument are known, a generic numeric result otherwise.
+   *
+   * @param cl the call to the intrinsic
+   *
+   * @param calc computes the result from the target and argument.  The
+   * result must be normalized the same way as in NumericValue.create, i.e.,
+   * u8 and u16 zero-extended, all other types sign-extended to long.  May
+   * return null if the result cannot be determined, e.g., for a division by
+   * zero.
+   */
   private static NumericValue calc(Call cl, BiFunction<Long, Long, Long> calc)
   {
     var v0 = (cl.target() instanceof NumericValue nv) ? nv._value : null;
     var v1 = (cl._args.get(0).value() instanceof NumericValue nv) ? nv._value : null;
-    return v0 == null || v1 == null
+    var r = v0 == null || v1 == null ? null : calc.apply(v0, v1);
+    return r == null
       ? genericNumResult(cl)
-      : NumericValue.create(cl._dfa, fuir(cl).clazzResultClazz(cl.calledClazz()), calc.apply(v0, v1));
+      : NumericValue.create(cl._dfa, fuir(cl).clazzResultClazz(cl.calledClazz()), r);
+  }
+
+
+  /**
+   * Result of a unary numeric intrinsic: the constant result if the value of
+   * the target is known, a generic numeric result otherwise.
+   *
+   * @param cl the call to the intrinsic
+   *
+   * @param calc computes the normalized result from the target.
+   */
+  private static NumericValue calc(Call cl, UnaryOperator<Long> calc)
+  {
+    var v0 = (cl.target() instanceof NumericValue nv) ? nv._value : null;
+    return v0 == null
+      ? genericNumResult(cl)
+      : NumericValue.create(cl._dfa, fuir(cl).clazzResultClazz(cl.calledClazz()), calc.apply(v0));
   }
 
 
@@ -2905,11 +2983,9 @@ public class DFA extends ANY
    */
   Value cache(Value r)
   {
-    var e = _cachedValues.get(r);
-    if (e == null)
+    var e = _cachedValues.intern(r);
+    if (e == r)
       {
-        _cachedValues.put(r, r);
-        e = r;
         makeUnique(e);
       }
     return e;
@@ -3328,7 +3404,7 @@ public class DFA extends ANY
   Call newCall(Call from, int cl, int site, Value tvalue, List<Val> args, Env env, Context context)
   {
     var ng = new CallGroup(this, cl, site, tvalue);
-    var g = _callGroups.computeIfAbsent(ng, k->ng);
+    var g = _callGroups.intern(ng);
 
     Call e, r;
     r = _unitCalls.get(cl);
@@ -3365,7 +3441,7 @@ public class DFA extends ANY
           }
         else
           {
-            // TreeMap fallback in case we failed to pack the key into a long.
+            // InternTable fallback in case we failed to pack the key into a long.
             //
             // NYI: OPTIMIZATION: We might find a more efficient way for this case,
             // maybe two nested LongMaps?
@@ -3375,7 +3451,7 @@ public class DFA extends ANY
       }
     if (e == null)
       {
-        _calls.put(r, r);
+        _calls.intern(r);
         r._instance = newInstance(cl, site, r);
         if (r._instance instanceof Instance riv)
           {
@@ -3510,10 +3586,9 @@ public class DFA extends ANY
     var vid = ev._envId;
     if (vid < 0)
       {
-        var v = _envValues.get(ev);
-        if (v == null)
+        var v = _envValues.intern(ev);
+        if (v == ev)
           {
-            _envValues.put(ev, ev);
             ev._envId = _envValues.size();
           }
         else
@@ -3598,11 +3673,9 @@ public class DFA extends ANY
         env = env.filterPos(effectTypePosition(ecl));
       }
     var newEnv = new Env(this, env, ecl, ev);
-    var e = _envs.get(newEnv);
-    if (e == null)
+    var e = _envs.intern(newEnv);
+    if (e == newEnv)
       {
-        _envs.put(newEnv, newEnv);
-        e = newEnv;
         e._id = _envs.size()+1;
         wasChanged(() -> "DFA.newEnv for " + newEnv);
       }
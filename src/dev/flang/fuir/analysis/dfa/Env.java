@@ -234,6 +234,32 @@ public class Env extends ANY implements Comparable<Env>
   }
 
 
+  /**
+   * Hash consistent with {@code compare(which, a, b)}.
+   *
+   * @param which set of clazz ids of effect types to take into account
+   *
+   * @param a an environment or null
+   */
+  static int hash(Set<Integer> which, Env a)
+  {
+    var h = 0;
+    if (DFA.TRACE_ALL_EFFECT_ENVS)
+      {
+        h = idHash(a);
+      }
+    else if (a != null && which != null)
+      {
+        for (var e : which)
+          {
+            var av = a.get(e);
+            h = h * 31 + (av == null ? 0 : Value.envHash(av) + 1);
+          }
+      }
+    return h;
+  }
+
+
   /*-----------------------------  methods  -----------------------------*/
 
 
@@ -332,6 +358,15 @@ public class Env extends ANY implements Comparable<Env>
   }
 
 
+  /**
+   * Hash consistent with {@code compare(a, b)}.
+   */
+  static int idHash(Env a)
+  {
+    return a == null ? 0 : a._id;
+  }
+
+
   /**
    * Compare this env to another Env.
    */
@@ -363,6 +398,24 @@ public class Env extends ANY implements Comparable<Env>
   }
 
 
+  /**
+   * Hash consistent with compareTo.
+   */
+  int hash()
+  {
+    var h = _types.length;
+    for (var t : _types)
+      {
+        h = h * 31 + t;
+      }
+    for (var v : _initialEffectValues)
+      {
+        h = h * 31 + Value.envHash(v);
+      }
+    return h;
+  }
+
+
   /**
    * Create human-readable string from this Env.
    */
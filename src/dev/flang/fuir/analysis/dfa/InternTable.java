@@ -0,0 +1,262 @@
+/*
+
+This file is part of the Fuzion language implementation.
+
+The Fuzion language implementation is free software: you can redistribute it
+and/or modify it under the terms of the GNU General Public License as published
+by the Free Software Foundation, version 3 of the License.
+
+The Fuzion language implementation is distributed in the hope that it will be
+useful, but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public
+License for more details.
+
+You should have received a copy of the GNU General Public License along with The
+Fuzion language implementation.  If not, see <https://www.gnu.org/licenses/>.
+
+*/
+
+/*-----------------------------------------------------------------------
+ *
+ * Tokiwa Software GmbH, Germany
+ *
+ * Source of class InternTable
+ *
+ *---------------------------------------------------------------------*/
+
+package dev.flang.fuir.analysis.dfa;
+
+import java.util.Comparator;
+import java.util.function.ToIntFunction;
+
+import dev.flang.util.ANY;
+import dev.flang.util.List;
+
+
+/**
+ * InternTable is a hash-consing table used by the DFA to find an existing
+ * instance that is structurally equal to a newly created one.
+ *
+ * Lookup uses open addressing with linear probing on a structural hash, the
+ * actual equality check is done using the comparator that defined the order
+ * of the TreeMap this replaces.  The hash function must hence be consistent
+ * with that comparator: elements that compare as equal must have the same
+ * hash.
+ *
+ * Iteration via {@code values()} is in insertion order, so it does not depend
+ * on memory layout or hash values and the analysis remains reproducible.
+ */
+class InternTable<T> extends ANY
+{
+
+
+  /*----------------------------  constants  ----------------------------*/
+
+
+  /**
+   * Initial number of slots, must be a power of two.
+   */
+  private static final int INITIAL_CAPACITY = 64;
+
+
+  /*----------------------------  variables  ----------------------------*/
+
+
+  /**
+   * Structural hash function, consistent with _equal.
+   */
+  private final ToIntFunction<T> _hash;
+
+
+  /**
+   * Comparator used to check for structural equality.
+   */
+  private final Comparator<T> _equal;
+
+
+  /**
+   * The hash table, length is a power of two, at most half of the slots are
+   * used.
+   */
+  private Object[] _table = new Object[INITIAL_CAPACITY];
+
+
+  /**
+   * The cached hash values of the entries in _table.
+   */
+  private int[] _hashes = new int[INITIAL_CAPACITY];
+
+
+  /**
+   * All entries in the order they were added.
+   */
+  private final List<T> _values = new List<>();
+
+
+  /*--------------------------  constructors  ---------------------------*/
+
+
+  /**
+   * Create an empty table.
+   *
+   * @param hash structural hash function
+   *
+   * @param equal comparator that returns 0 for structurally equal entries.
+   */
+  InternTable(ToIntFunction<T> hash, Comparator<T> equal)
+  {
+    _hash = hash;
+    _equal = equal;
+  }
+
+
+  /*-----------------------------  methods  -----------------------------*/
+
+
+  /**
+   * Spread the bits of the given hash value such that the lower bits used for
+   * the table index depend on all bits.
+   */
+  private static int spread(int h)
+  {
+    h *= 0x9E3779B9;
+    return h ^ (h >>> 16);
+  }
+
+
+  /**
+   * Find the slot for an entry equal to v, or the free slot where v would be
+   * added.
+   */
+  @SuppressWarnings("unchecked")
+  private int slot(T v, int h)
+  {
+    var mask = _table.length - 1;
+    var i = spread(h) & mask;
+    Object e;
+    while ((e = _table[i]) != null &&
+           (e != v && (_hashes[i] != h || _equal.compare((T) e, v) != 0)))
+      {
+        i = (i + 1) & mask;
+      }
+    return i;
+  }
+
+
+  /**
+   * Get the entry that is equal to v.
+   *
+   * @return the existing entry or null if none.
+   */
+  @SuppressWarnings("unchecked")
+  T get(T v)
+  {
+    return (T) _table[slot(v, _hash.applyAsInt(v))];
+  }
+
+
+  /**
+   * Get the entry that is equal to v or add v if there is no such entry.
+   *
+   * @return the existing entry or v if v was added.
+   */
+  @SuppressWarnings("unchecked")
+  T intern(T v)
+  {
+    var h = _hash.applyAsInt(v);
+    var i = slot(v, h);
+    var e = (T) _table[i];
+    if (e == null)
+      {
+        _table[i] = v;
+        _hashes[i] = h;
+        _values.add(v);
+        e = v;
+        if (2 * _values.size() > _table.length)
+          {
+            grow();
+          }
+      }
+    return e;
+  }
+
+
+  /**
+   * Remove the entry that is equal to v, if any.
+   *
+   * This uses backward shift deletion such that no tombstones are needed and
+   * the probe sequences of the remaining entries stay intact.
+   */
+  void remove(T v)
+  {
+    var i = slot(v, _hash.applyAsInt(v));
+    var e = _table[i];
+    if (e != null)
+      {
+        _values.removeIf(x -> x == e);
+        var mask = _table.length - 1;
+        _table[i] = null;
+        var j = i;
+        while (_table[j = (j + 1) & mask] != null)
+          {
+            var k = spread(_hashes[j]) & mask;
+            var stays = i <= j ? i < k && k <= j
+                               : i < k || k <= j;
+            if (!stays)
+              {
+                _table[i] = _table[j];
+                _hashes[i] = _hashes[j];
+                _table[j] = null;
+                i = j;
+              }
+          }
+      }
+  }
+
+
+  /**
+   * Double the size of the table and rehash all entries.
+   */
+  private void grow()
+  {
+    var ot = _table;
+    var oh = _hashes;
+    _table = new Object[ot.length * 2];
+    _hashes = new int[ot.length * 2];
+    var mask = _table.length - 1;
+    for (var j = 0; j < ot.length; j++)
+      {
+        if (ot[j] != null)
+          {
+            var i = spread(oh[j]) & mask;
+            while (_table[i] != null)
+              {
+                i = (i + 1) & mask;
+              }
+            _table[i] = ot[j];
+            _hashes[i] = oh[j];
+          }
+      }
+  }
+
+
+  /**
+   * Number of entries in this table.
+   */
+  int size()
+  {
+    return _values.size();
+  }
+
+
+  /**
+   * All entries in the order they were added.
+   */
+  List<T> values()
+  {
+    return _values;
+  }
+
+}
+
+/* end of file */
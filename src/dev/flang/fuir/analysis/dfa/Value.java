@@ -301,6 +301,68 @@ public class Value extends Val
   }
 
 
+  /**
+   * Structural hash of a Value that is consistent with COMPARATOR, i.e.,
+   * values that compare as equal have the same hash.
+   *
+   * The elements of a SysArray may change, so only its element clazz is used.
+   */
+  static int hash(Value v)
+  {
+    if (v instanceof TaggedValue tv)
+      {
+        return (tv._clazz * 31 + tv._tag) * 31 + hash(tv._original);
+      }
+    else if (v instanceof ValueSet vs)
+      {
+        var h = vs._componentsArray.length;
+        for (var x : vs._componentsArray)
+          {
+            h = h * 31 + hash(x);
+          }
+        return h;
+      }
+    else if (v instanceof SysArray sa)
+      {
+        return sa._elementClazz;
+      }
+    else
+      {
+        return v._id;
+      }
+  }
+
+
+  /**
+   * Structural hash of an effect value that is consistent with
+   * ENV_COMPARATOR, i.e., values that compare as equal have the same hash.
+   */
+  static int envHash(Value v)
+  {
+    if (v instanceof Instance i)
+      {
+        return i._clazz * 31 + i._site;
+      }
+    else if (v instanceof RefValue rv)
+      {
+        return rv._clazz * 31 + envHash(rv._original);
+      }
+    else if (v instanceof ValueSet vs)
+      {
+        var h = vs._componentsArray.length;
+        for (var x : vs._componentsArray)
+          {
+            h = h * 31 + envHash(x);
+          }
+        return h;
+      }
+    else
+      {
+        return 0;
+      }
+  }
+
+
   /*-----------------------------  methods  -----------------------------*/
 
 
@@ -31,6 +31,7 @@ import java.util.TreeMap;
 import java.util.TreeSet;
 
 import dev.flang.fuir.FUIR;
+import static dev.flang.ir.IR.NO_CLAZZ;
 import dev.flang.util.ANY;
 import dev.flang.util.Errors;
 import dev.flang.util.FuzionConstants;
@@ -160,6 +161,7 @@ public class CFG extends ANY
           {
           case Routine   -> createCallGraphForRoutine(cl);
           case Intrinsic -> createCallGraphForIntrinsic(cl);
+          case Native    -> createCallGraphForNative(cl);
           default        -> {}
           }
       }
@@ -204,6 +206,24 @@ public class CFG extends ANY
   }
 
 
+  /**
+   * Create call graph for given native clazz cl.  Lambdas passed as arguments
+   * to a native may be called back from native code.
+   *
+   * @param cl id of clazz to create call graph for
+   */
+  void createCallGraphForNative(int cl)
+  {
+    if (PRECONDITIONS) require
+      (_fuir.clazzKind(cl) == FUIR.FeatureKind.Native);
+
+    for (var i = 0; i < _fuir.clazzArgCount(cl); i++)
+      {
+        call(cl, _fuir.lookupCall(_fuir.clazzArgClazz(cl, i)));
+      }
+  }
+
+
   static
   {
     put("Type.name"                      , (cfg, cl) -> { } );
@@ -389,7 +409,11 @@ public class CFG extends ANY
     put("fuzion.sys.env_vars.has0"       , (cfg, cl) -> { } );
     put("fuzion.sys.env_vars.get0"       , (cfg, cl) -> { } );
     put("fuzion.sys.thread.current"      , (cfg, cl) -> { } );
-    put("fuzion.sys.thread.spawn0"       , (cfg, cl) -> { } );
+    put("fuzion.sys.thread.spawn0"       , (cfg, cl) ->
+        {
+          var oc  = cfg._fuir.clazzActualGeneric(cl, 0);
+          cfg.call(cl, cfg._fuir.lookupCall(oc));
+        });
     put("fuzion.sys.thread.join0"        , (cfg, cl) -> { } );
     put("fuzion.sys.thread.set_policy"   , (cfg, cl) -> { } );
     put("fuzion.sys.thread.set_affinity0", (cfg, cl) -> { } );
@@ -397,12 +421,10 @@ public class CFG extends ANY
     put("effect.type.instate_at_singularity0", (cfg, cl) -> { } );
     put(FuzionConstants.EFFECT_INSTATE_NAME , (cfg, cl) ->
         {
-          var oc  = cfg._fuir.clazzActualGeneric(cl, 1);
-          var call = cfg._fuir.lookupCall(oc);
-          if (cfg._fuir.clazzNeedsCode(call))
-            {
-              cfg.addToCallGraph(cl, call);
-            }
+          var ecl = cfg._fuir.effectTypeFromIntrinsic(cl);
+          cfg.call(cl, cfg._fuir.lookupCall(cfg._fuir.clazzActualGeneric(cl, 0)));
+          cfg.call(cl, cfg._fuir.lookupCall(cfg._fuir.clazzActualGeneric(cl, 1)));
+          cfg.call(cl, cfg._fuir.lookupStaticFinally(ecl));
         });
     put("effect.type.set0"                  , (cfg, cl) -> { } );
     put("effect.type.remove0"               , (cfg, cl) -> { } );
@@ -454,10 +476,12 @@ public class CFG extends ANY
    */
   void createCallGraphForBlock(int cl, int s0)
   {
-    for (var s = s0; /* NYI: !containsVoid(stack) &&*/ _fuir.withinCode(s); s = s + _fuir.codeSizeAt(s))
+    var diverges = false;
+    for (var s = s0; !diverges && _fuir.withinCode(s); s = s + _fuir.codeSizeAt(s))
       {
         var e = _fuir.codeAt(s);
         createCallGraphForExpr(cl, s, e);
+        diverges = _fuir.alwaysResultsInVoid(s);
       }
   }
 
@@ -480,7 +504,11 @@ public class CFG extends ANY
       case Match -> {
         for (var mc = 0; mc < _fuir.matchCaseCount(s); mc++)
           {
-            createCallGraphForBlock(cl, _fuir.matchCaseCode(s, mc));
+            // cases that were found to be unreachable have no tags
+            if (_fuir.matchCaseTags(s, mc).length > 0)
+              {
+                createCallGraphForBlock(cl, _fuir.matchCaseCode(s, mc));
+              }
           }
       }
       default -> {
@@ -510,7 +538,7 @@ public class CFG extends ANY
             call(cl, cc);
           }
       }
-    else if (_fuir.clazzNeedsCode(cc0))
+    else if (cc0 != NO_CLAZZ && _fuir.clazzNeedsCode(cc0))
       {
         call(cl, cc0);
       }
@@ -522,11 +550,11 @@ public class CFG extends ANY
    *
    * @param cl clazz id of the call
    *
-   * @param cc clazz that is called
+   * @param cc clazz that is called, may be NO_CLAZZ.
    */
   void call(int cl, int cc)
   {
-    if (_fuir.clazzNeedsCode(cc))
+    if (cc != NO_CLAZZ && _fuir.clazzNeedsCode(cc))
       {
         addToCallGraph(cl, cc);
       }
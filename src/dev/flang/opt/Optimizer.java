@@ -26,11 +26,17 @@ Fuzion language implementation.  If not, see <https://www.gnu.org/licenses/>.
 
 package dev.flang.opt;
 
+import java.util.BitSet;
+import java.util.function.IntConsumer;
+
+import dev.flang.fuir.FUIR;
 import dev.flang.fuir.GeneratingFUIR;
 import dev.flang.fuir.OptimizedFUIR;
+import dev.flang.fuir.cfg.CFG;
 
 import dev.flang.util.ANY;
 import dev.flang.util.FuzionOptions;
+import dev.flang.util.List;
 
 
 /**
@@ -42,6 +48,23 @@ public class Optimizer extends ANY
 {
 
 
+  /*----------------------------  constants  ----------------------------*/
+
+
+  /**
+   * Maximum number of expressions of a routine that is inlined independent of
+   * the number of its call sites.
+   */
+  static final int INLINE_MAX_SIZE = 8;
+
+
+  /**
+   * Maximum number of expressions of a routine that is inlined if it is called
+   * from only one call site.
+   */
+  static final int INLINE_MAX_SIZE_SINGLE_CALLER = 32;
+
+
   /*----------------------------  variables  ----------------------------*/
 
 
@@ -59,8 +82,14 @@ public class Optimizer extends ANY
   public Optimizer(FuzionOptions options, GeneratingFUIR fuir)
   {
     _options = options;
-    // NYI: UNDER DEVELOPMENT: optimizer implementation still missing
-    _fuir = new OptimizedFUIR(fuir);
+    var cfg = new CFG(fuir);
+    cfg.createCallGraph();
+    _fuir = new OptimizedFUIR(fuir,
+                              inlineCandidates(fuir, cfg),
+                              unreachableRoutines(fuir, cfg),
+                              unreadFields(fuir),
+                              monomorphicSites(fuir));
+    reportDecidedMatches(_fuir);
   }
 
 
@@ -73,6 +102,460 @@ public class Optimizer extends ANY
   }
 
 
+  /**
+   * Determine the routines that should be inlined.
+   *
+   * A routine is inlined if it is small, i.e., its code consists of at most
+   * INLINE_MAX_SIZE expressions or of at most INLINE_MAX_SIZE_SINGLE_CALLER
+   * expressions if it is called from one call site only, and if all the
+   * routines it calls are inlined as well.  The latter ensures that recursive
+   * routines are never inlined.  Routines that are only called back from
+   * intrinsics have no call sites and are not inlined.
+   *
+   * This does not change the code, the result is a hint used by the C backend
+   * only, see FUIR.clazzIsInlineCandidate.
+   *
+   * @param fuir the intermediate code after DFA
+   *
+   * @param cfg the call graph of fuir
+   *
+   * @return set of clazzes, indexed by clazzId2num, that should be inlined.
+   */
+  private BitSet inlineCandidates(FUIR fuir, CFG cfg)
+  {
+    var g = cfg._callGraph;
+    var callSites = callSites(fuir);
+
+    var candidates = new List<Integer>();
+    for (var cl = fuir.firstClazz(); cl <= fuir.lastClazz(); cl++)
+      {
+        if (fuir.clazzKind(cl) == FUIR.FeatureKind.Routine &&
+            fuir.clazzNeedsCode(cl) &&
+            cl != fuir.mainClazz())
+          {
+            var sites = callSites[fuir.clazzId2num(cl)];
+            var size = codeSize(fuir, fuir.clazzCode(cl));
+            if (sites > 0 &&
+                (size <= INLINE_MAX_SIZE ||
+                 size <= INLINE_MAX_SIZE_SINGLE_CALLER && sites == 1))
+              {
+                candidates.add(cl);
+              }
+          }
+      }
+
+    var result = new BitSet();
+    var changed = true;
+    while (changed)
+      {
+        changed = false;
+        for (var cl : candidates)
+          {
+            if (!result.get(fuir.clazzId2num(cl)) &&
+                g.successors(cl)
+                 .stream()
+                 .allMatch(cc -> result.get(fuir.clazzId2num(cc)) ||
+                                 fuir.clazzKind(cc) != FUIR.FeatureKind.Routine && g.successors(cc).isEmpty()))
+              {
+                result.set(fuir.clazzId2num(cl));
+                changed = true;
+              }
+          }
+      }
+    _options.verbosePrintln(2, "Optimizer: " + result.cardinality() + " of " + candidates.size() + " small routines will be inlined.");
+    return result;
+  }
+
+
+  /**
+   * Count the call sites of all clazzes in the code of the routines that need
+   * code.  A dynamic call counts as a call site of each of its targets.
+   *
+   * @param fuir the intermediate code after DFA
+   *
+   * @return the number of call sites, indexed by clazzId2num.
+   */
+  private int[] callSites(FUIR fuir)
+  {
+    var result = new int[fuir.lastClazz() - fuir.firstClazz() + 1];
+    for (var cl = fuir.firstClazz(); cl <= fuir.lastClazz(); cl++)
+      {
+        if (fuir.clazzKind(cl) == FUIR.FeatureKind.Routine &&
+            fuir.clazzNeedsCode(cl))
+          {
+            forAllSites(fuir, fuir.clazzCode(cl), s ->
+              {
+                if (fuir.codeAt(s) == FUIR.ExprKind.Call)
+                  {
+                    if (fuir.accessIsDynamic(s))
+                      {
+                        var ccs = fuir.accessedClazzes(s);
+                        for (var cci = 1; cci < ccs.length; cci += 2)
+                          {
+                            result[fuir.clazzId2num(ccs[cci])]++;
+                          }
+                      }
+                    else if (fuir.accessedClazz(s) != FUIR.NO_CLAZZ)
+                      {
+                        result[fuir.clazzId2num(fuir.accessedClazz(s))]++;
+                      }
+                  }
+              });
+          }
+      }
+    return result;
+  }
+
+
+  /**
+   * Determine the routines that need code according to the DFA, but that are
+   * not reachable from the main clazz in the call graph.  This happens for
+   * routines that are called only from code that the DFA found to be dead,
+   * e.g., match cases that are never taken, or only from other unreachable
+   * routines.
+   *
+   * @param fuir the intermediate code after DFA
+   *
+   * @param cfg the call graph of fuir
+   *
+   * @return set of clazzes, indexed by clazzId2num, that do not need code.
+   */
+  private BitSet unreachableRoutines(FUIR fuir, CFG cfg)
+  {
+    var reached = new BitSet();
+    var worklist = new List<Integer>(fuir.mainClazz());
+    reached.set(fuir.clazzId2num(fuir.mainClazz()));
+    while (worklist.size() > 0)
+      {
+        var cl = worklist.removeLast();
+        for (var cc : cfg._callGraph.successors(cl))
+          {
+            var n = fuir.clazzId2num(cc);
+            if (!reached.get(n))
+              {
+                reached.set(n);
+                worklist.add(cc);
+              }
+          }
+      }
+
+    var result = new BitSet();
+    var routines = 0;
+    for (var cl = fuir.firstClazz(); cl <= fuir.lastClazz(); cl++)
+      {
+        if (fuir.clazzKind(cl) == FUIR.FeatureKind.Routine &&
+            fuir.clazzNeedsCode(cl))
+          {
+            routines++;
+            if (cl != fuir.clazzUniverse() &&
+                !reached.get(fuir.clazzId2num(cl)))
+              {
+                result.set(fuir.clazzId2num(cl));
+              }
+          }
+      }
+    _options.verbosePrintln(2, "Optimizer: removed " + result.cardinality() + " of " + routines + " routines that are unreachable.");
+    return result;
+  }
+
+
+  /**
+   * Determine the fields that the DFA found to be never read.  Instances do
+   * not need to store these fields and assignments to them can be removed.
+   *
+   * Argument fields, outer refs and result fields are kept even if they are
+   * never read since backends access them directly when passing arguments,
+   * calling inner features or returning from a routine.
+   *
+   * The fields assigned by a dynamic assignment are either all kept or all
+   * removed, such that the assignment is either performed for all targets or
+   * removed completely.
+   *
+   * @param fuir the intermediate code after DFA
+   *
+   * @return set of clazzes, indexed by clazzId2num, of unread fields.
+   */
+  private BitSet unreadFields(FUIR fuir)
+  {
+    var kept = new BitSet();
+    for (var cl = fuir.firstClazz(); cl <= fuir.lastClazz(); cl++)
+      {
+        if (fuir.clazzKind(cl) != FUIR.FeatureKind.Field)
+          {
+            for (var i = 0; i < fuir.clazzArgCount(cl); i++)
+              {
+                keep(fuir, kept, fuir.clazzArg(cl, i));
+              }
+            keep(fuir, kept, fuir.clazzResultField(cl));
+            if (fuir.clazzKind(cl) == FUIR.FeatureKind.Routine &&
+                fuir.clazzNeedsCode(cl))
+              {
+                keepDynamicallyAssigned(fuir, fuir.clazzCode(cl), kept);
+              }
+          }
+      }
+
+    var result = new BitSet();
+    var fields = 0;
+    for (var cl = fuir.firstClazz(); cl <= fuir.lastClazz(); cl++)
+      {
+        if (fuir.clazzKind(cl) == FUIR.FeatureKind.Field)
+          {
+            fields++;
+            if (!fuir.clazzNeedsCode(cl) &&
+                !fuir.clazzIsOuterRef(cl) &&
+                !kept.get(fuir.clazzId2num(cl)))
+              {
+                result.set(fuir.clazzId2num(cl));
+              }
+          }
+      }
+    _options.verbosePrintln(2, "Optimizer: removed " + result.cardinality() + " of " + fields + " fields that are never read.");
+    return result;
+  }
+
+
+  /**
+   * Helper for unreadFields to keep all fields assigned by a dynamic assignment
+   * in the code block starting at s0 if any of these fields is read.
+   *
+   * @param fuir the intermediate code
+   *
+   * @param s0 site of the code block
+   *
+   * @param kept set of fields that are kept, indexed by clazzId2num.
+   */
+  private void keepDynamicallyAssigned(FUIR fuir, int s0, BitSet kept)
+  {
+    forAllSites(fuir, s0, s ->
+      {
+        if (fuir.codeAt(s) == FUIR.ExprKind.Assign && fuir.accessIsDynamic(s))
+          {
+            var ccs = fuir.accessedClazzes(s);
+            var read = false;
+            for (var cci = 1; cci < ccs.length; cci += 2)
+              {
+                read = read || fuir.clazzNeedsCode(ccs[cci]);
+              }
+            for (var cci = 1; read && cci < ccs.length; cci += 2)
+              {
+                keep(fuir, kept, ccs[cci]);
+              }
+          }
+      });
+  }
+
+
+  /**
+   * Perform f for all sites in the code block starting at s0, including nested
+   * matches in cases that may be taken, up to the first expression that always
+   * results in void.
+   *
+   * @param fuir the intermediate code
+   *
+   * @param s0 site of the code block
+   *
+   * @param f the operation to perform for each site.
+   */
+  private void forAllSites(FUIR fuir, int s0, IntConsumer f)
+  {
+    var diverges = false;
+    for (var s = s0; !diverges && fuir.withinCode(s); s = s + fuir.codeSizeAt(s))
+      {
+        f.accept(s);
+        if (fuir.codeAt(s) == FUIR.ExprKind.Match)
+          {
+            for (var mc = 0; mc < fuir.matchCaseCount(s); mc++)
+              {
+                if (fuir.matchCaseTags(s, mc).length > 0)
+                  {
+                    forAllSites(fuir, fuir.matchCaseCode(s, mc), f);
+                  }
+              }
+          }
+        diverges = fuir.alwaysResultsInVoid(s);
+      }
+  }
+
+
+  /**
+   * Helper for unreadFields to add field f to the set of fields that are kept.
+   *
+   * @param fuir the intermediate code
+   *
+   * @param kept set of fields that are kept, indexed by clazzId2num.
+   *
+   * @param f a field or NO_CLAZZ.
+   */
+  private void keep(FUIR fuir, BitSet kept, int f)
+  {
+    if (f != FUIR.NO_CLAZZ)
+      {
+        kept.set(fuir.clazzId2num(f));
+      }
+  }
+
+
+  /**
+   * Determine the dynamic accesses that have only one possible target after
+   * DFA.  These accesses can be performed as static accesses.
+   *
+   * An access is only made static if the target clazz found by the DFA is the
+   * outer clazz of the accessed clazz, i.e., if the target does not need to be
+   * unboxed.
+   *
+   * @param fuir the intermediate code after DFA
+   *
+   * @return set of sites, indexed by site-SITE_BASE, of accesses that are not
+   * dynamic.
+   */
+  private BitSet monomorphicSites(FUIR fuir)
+  {
+    var result = new BitSet();
+    var counts = new int[1];
+    for (var cl = fuir.firstClazz(); cl <= fuir.lastClazz(); cl++)
+      {
+        if (fuir.clazzKind(cl) == FUIR.FeatureKind.Routine &&
+            fuir.clazzNeedsCode(cl))
+          {
+            monomorphicSites(fuir, fuir.clazzCode(cl), result, counts);
+          }
+      }
+    _options.verbosePrintln(2, "Optimizer: " + result.cardinality() + " of " + counts[0] + " dynamic accesses are static.");
+    return result;
+  }
+
+
+  /**
+   * Helper for monomorphicSites to find the monomorphic dynamic accesses in
+   * the code block starting at s0, including nested matches in cases that may
+   * be taken.
+   *
+   * @param fuir the intermediate code
+   *
+   * @param s0 site of the code block
+   *
+   * @param result set of monomorphic sites, indexed by site-SITE_BASE.
+   *
+   * @param counts array to add the number of dynamic accesses to.
+   */
+  private void monomorphicSites(FUIR fuir, int s0, BitSet result, int[] counts)
+  {
+    var diverges = false;
+    for (var s = s0; !diverges && fuir.withinCode(s); s = s + fuir.codeSizeAt(s))
+      {
+        var e = fuir.codeAt(s);
+        if (e.isCallOrAssign() && fuir.accessIsDynamic(s))
+          {
+            counts[0]++;
+            var ccs = fuir.accessedClazzes(s);
+            if (ccs.length == 2 && ccs[0] == fuir.clazzOuterClazz(ccs[1]))
+              {
+                result.set(s - FUIR.SITE_BASE);
+              }
+          }
+        else if (e == FUIR.ExprKind.Match)
+          {
+            for (var mc = 0; mc < fuir.matchCaseCount(s); mc++)
+              {
+                if (fuir.matchCaseTags(s, mc).length > 0)
+                  {
+                    monomorphicSites(fuir, fuir.matchCaseCode(s, mc), result, counts);
+                  }
+              }
+          }
+        diverges = fuir.alwaysResultsInVoid(s);
+      }
+  }
+
+
+  /**
+   * Report the number of matches that were decided statically.
+   *
+   * The DFA folds intrinsic arithmetic and comparisons on constant numeric
+   * values and removes the tags of match subjects that never occur from
+   * matchCaseTags.  A match with only one case left does not need to inspect
+   * its subject at runtime, backends will emit the code of that case only.
+   *
+   * @param fuir the intermediate code after DFA
+   */
+  private void reportDecidedMatches(FUIR fuir)
+  {
+    if (_options.verbose(2))
+      {
+        var counts = new int[2];
+        for (var cl = fuir.firstClazz(); cl <= fuir.lastClazz(); cl++)
+          {
+            if (fuir.clazzKind(cl) == FUIR.FeatureKind.Routine &&
+                fuir.clazzNeedsCode(cl))
+              {
+                countDecidedMatches(fuir, fuir.clazzCode(cl), counts);
+              }
+          }
+        _options.verbosePrintln(2, "Optimizer: " + counts[1] + " of " + counts[0] + " matches are decided statically.");
+      }
+  }
+
+
+  /**
+   * Count the matches and the matches with only one case left in the code block
+   * starting at s0, including nested matches in cases that may be taken.
+   *
+   * @param fuir the intermediate code
+   *
+   * @param s0 site of the code block
+   *
+   * @param counts array to add the number of matches (at index 0) and the
+   * number of decided matches (at index 1) to.
+   */
+  private void countDecidedMatches(FUIR fuir, int s0, int[] counts)
+  {
+    for (var s = s0; fuir.withinCode(s); s = s + fuir.codeSizeAt(s))
+      {
+        if (fuir.codeAt(s) == FUIR.ExprKind.Match)
+          {
+            var taken = 0;
+            for (var mc = 0; mc < fuir.matchCaseCount(s); mc++)
+              {
+                if (fuir.matchCaseTags(s, mc).length > 0)
+                  {
+                    taken++;
+                    countDecidedMatches(fuir, fuir.matchCaseCode(s, mc), counts);
+                  }
+              }
+            counts[0]++;
+            counts[1] += taken == 1 ? 1 : 0;
+          }
+      }
+  }
+
+
+  /**
+   * Number of expressions in the code block starting at s, including the
+   * code of the cases of nested matches.
+   *
+   * @param fuir the intermediate code
+   *
+   * @param s0 site of the code block
+   */
+  private int codeSize(FUIR fuir, int s0)
+  {
+    var result = 0;
+    for (var s = s0; fuir.withinCode(s); s = s + fuir.codeSizeAt(s))
+      {
+        result++;
+        if (fuir.codeAt(s) == FUIR.ExprKind.Match)
+          {
+            for (var mc = 0; mc < fuir.matchCaseCount(s); mc++)
+              {
+                result += codeSize(fuir, fuir.matchCaseCode(s, mc));
+              }
+          }
+      }
+    return result;
+  }
+
+
 }
 
 /* end of file */
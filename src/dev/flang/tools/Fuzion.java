@@ -26,14 +26,16 @@ Fuzion language implementation.  If not, see <https://www.gnu.org/licenses/>.
 
 package dev.flang.tools;
 
-import java.io.FileOutputStream;
 import java.io.IOException;
 
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 
 import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.Optional;
 import java.util.TreeMap;
 
@@ -43,6 +45,7 @@ import dev.flang.be.c.COptions;
 import dev.flang.be.effects.Effects;
 
 import dev.flang.be.interpreter.Interpreter;
+import dev.flang.be.interpreter.InterpreterOptions;
 
 import dev.flang.be.jvm.JVM;
 import dev.flang.be.jvm.JVMOptions;
@@ -96,6 +99,10 @@ public class Fuzion extends Tool
   static boolean _debugBuild_ = false;
   static String  _jvmOutName_ = null;
   static String  _jvmLib_ = null;
+  static boolean _jvmCDS_ = false;
+  static boolean _jvmVirtualThreads_ = false;
+  static boolean _jvmScalarReplacement_ = false;
+  static boolean _interpreterClosures_ = false;
 
 
   /**
@@ -148,13 +155,27 @@ public class Fuzion extends Tool
   {
     interpreter("-interpreter")
     {
+      String usage()
+      {
+        return "[-Xclosures=(on|off)] ";
+      }
+      boolean handleOption(Fuzion f, String o)
+      {
+        boolean result = false;
+        if (o.startsWith("-Xclosures="))
+          {
+            _interpreterClosures_ = parseOnOffArg(o);
+            result = true;
+          }
+        return result;
+      }
       boolean takesApplicationArgs()
       {
         return true;
       }
       void process(FuzionOptions options, FUIR fuir)
       {
-        new Interpreter(options, fuir).run();
+        new Interpreter(new InterpreterOptions(options, _interpreterClosures_), fuir).run();
       }
       boolean serializeFuir()
       {
@@ -265,7 +286,7 @@ public class Fuzion extends Tool
     {
       String usage()
       {
-        return "[-JLibraries=<e.g. openssl>] ";
+        return "[-JLibraries=<e.g. openssl>] [-virtualThreads] [-scalarReplacement] ";
       }
       boolean handleOption(Fuzion f, String o)
       {
@@ -275,13 +296,28 @@ public class Fuzion extends Tool
             _jvmLib_ = o.substring(12);
             result = true;
           }
+        else if (o.equals("-virtualThreads"))
+          {
+            _jvmVirtualThreads_ = true;
+            result = true;
+          }
+        else if (o.equals("-scalarReplacement"))
+          {
+            _jvmScalarReplacement_ = true;
+            result = true;
+          }
         return result;
       }
+      @Override
+      public boolean needsEscapeAnalysis()
+      {
+        return _jvmScalarReplacement_ || JVMOptions.scalarReplacement();
+      }
       void process(FuzionOptions options, FUIR fuir)
       {
         try
           {
-            new JVM(new JVMOptions(options, /* run */ true, /* save classes */ false, /* save JAR */ false, Optional.empty(), Optional.ofNullable(_jvmLib_)), fuir).compile();
+            new JVM(new JVMOptions(options, /* run */ true, /* save classes */ false, /* save JAR */ false, /* CDS */ false, /* virtual threads */ _jvmVirtualThreads_, /* scalar replacement */ _jvmScalarReplacement_, Optional.empty(), Optional.ofNullable(_jvmLib_)), fuir).compile();
           }
         catch (QuietThreadTermination e)
           {
@@ -302,7 +338,7 @@ public class Fuzion extends Tool
     {
       String usage()
       {
-        return "[-o=<outputName>] [-JLibraries=<e.g. openssl>] ";
+        return "[-o=<outputName>] [-JLibraries=<e.g. openssl>] [-virtualThreads] [-scalarReplacement] ";
       }
       boolean handleOption(Fuzion f, String o)
       {
@@ -312,6 +348,16 @@ public class Fuzion extends Tool
             _jvmOutName_ = o.substring(3);
             result = true;
           }
+        else if (o.equals("-virtualThreads"))
+          {
+            _jvmVirtualThreads_ = true;
+            result = true;
+          }
+        else if (o.equals("-scalarReplacement"))
+          {
+            _jvmScalarReplacement_ = true;
+            result = true;
+          }
         else if (o.startsWith("-JLibraries="))
           {
             _jvmLib_ = o.substring(12);
@@ -319,9 +365,14 @@ public class Fuzion extends Tool
           }
         return result;
       }
+      @Override
+      public boolean needsEscapeAnalysis()
+      {
+        return _jvmScalarReplacement_ || JVMOptions.scalarReplacement();
+      }
       void process(FuzionOptions options, FUIR fuir)
       {
-        new JVM(new JVMOptions(options, /* run */ false, /* save classes */ true, /* save JAR */ false, Optional.ofNullable(_jvmOutName_), Optional.ofNullable(_jvmLib_)), fuir).compile();
+        new JVM(new JVMOptions(options, /* run */ false, /* save classes */ true, /* save JAR */ false, /* CDS */ false, /* virtual threads */ _jvmVirtualThreads_, /* scalar replacement */ _jvmScalarReplacement_, Optional.ofNullable(_jvmOutName_), Optional.ofNullable(_jvmLib_)), fuir).compile();
       }
       boolean serializeFuir()
       {
@@ -334,7 +385,7 @@ public class Fuzion extends Tool
     {
       String usage()
       {
-        return "[-o=<outputName>] ";
+        return "[-o=<outputName>] [-cds] [-virtualThreads] [-scalarReplacement] ";
       }
       boolean handleOption(Fuzion f, String o)
       {
@@ -344,6 +395,21 @@ public class Fuzion extends Tool
             _jvmOutName_ = o.substring(3);
             result = true;
           }
+        else if (o.equals("-cds"))
+          {
+            _jvmCDS_ = true;
+            result = true;
+          }
+        else if (o.equals("-virtualThreads"))
+          {
+            _jvmVirtualThreads_ = true;
+            result = true;
+          }
+        else if (o.equals("-scalarReplacement"))
+          {
+            _jvmScalarReplacement_ = true;
+            result = true;
+          }
         else if (o.startsWith("-JLibraries="))
           {
             _jvmLib_ = o.substring(12);
@@ -351,9 +417,14 @@ public class Fuzion extends Tool
           }
         return result;
       }
+      @Override
+      public boolean needsEscapeAnalysis()
+      {
+        return _jvmScalarReplacement_ || JVMOptions.scalarReplacement();
+      }
       void process(FuzionOptions options, FUIR fuir)
       {
-        new JVM(new JVMOptions(options, /* run */ false, /* save classes */ false, /* save JAR */ true, Optional.ofNullable(_jvmOutName_), Optional.ofNullable(_jvmLib_)), fuir).compile();
+        new JVM(new JVMOptions(options, /* run */ false, /* save classes */ false, /* save JAR */ true, /* CDS */ _jvmCDS_, /* virtual threads */ _jvmVirtualThreads_, /* scalar replacement */ _jvmScalarReplacement_, Optional.ofNullable(_jvmOutName_), Optional.ofNullable(_jvmLib_)), fuir).compile();
       }
       boolean serializeFuir()
       {
@@ -1203,26 +1274,23 @@ public class Fuzion extends Tool
             if(CHECKS) check
               (options.needsEscapeAnalysis() == true, _backend != Backend.effects);
 
-            Path fuirFile = fuirFile(options);
-            if (!Files.exists(fuirFile))
+            var cache = options.fuirCache();
+            var fuirName = fuirFileName(options);
+            var fuirFile = cache.path(fuirName);
+            if (!cache.use(fuirName) ||
+                !cache.use(options.serializationHash() + FuzionConstants.MODULE_FILE_SUFFIX) ||
+                !LibraryFuir.hasCurrentFormat(fuirFile))
               {
                 var fe = new FrontEnd(options);                   timer("fe");
                 Errors.showAndExit();
                 var data = fuir(this, fe).serialize();            timer("serializeFUIR");
-
-                try (FileOutputStream stream = new FileOutputStream(fuirFile.toFile()))
-                  {
-                    stream.write(data);
-                  }
-                catch (IOException e)
-                  {
-                    Errors.fatal(e);
-                  }
+                cache.write(fuirName, data);
+                cache.evict(fuirName, options.serializationHash() + FuzionConstants.MODULE_FILE_SUFFIX);
               }
-            try
+            try (var ch = (FileChannel) Files.newByteChannel(fuirFile, EnumSet.of(StandardOpenOption.READ)))
               {
                 var fuir = new LibraryFuir(
-                  Files.readAllBytes(fuirFile),
+                  ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size()),
                   FrontEnd.loadMainModule(options));
                 timer("loadFUIR");
                 _backend.process(options, fuir);
@@ -1255,15 +1323,14 @@ public class Fuzion extends Tool
 
 
   /**
-   * determine the path of the .fuir-file
+   * determine the name of the .fuir-file in the FUIR cache
    *
-   * The filename that is automatically chosen is currently
-   * Arrays.hashCode() over the (first/main) code
-   * and the file extension fuir.
+   * The filename is the hash over all inputs of the front end, see
+   * FrontEndOptions.serializationHash(), with the file extension fuir.
    */
-  private Path fuirFile(FrontEndOptions options)
+  private String fuirFileName(FrontEndOptions options)
   {
-    return Path.of(options.serializationHash() + ".fuir");
+    return options.serializationHash() + ".fuir";
   }
 
 
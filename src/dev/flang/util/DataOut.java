@@ -130,6 +130,32 @@ public class DataOut extends ANY
   }
 
 
+  /**
+   * Write given long to this buffer and increase offset by 8.
+   */
+  public void writeLong(long l)
+  {
+    writeInt((int) (l >> 32));
+    writeInt((int)  l       );
+  }
+
+
+  /**
+   * Write given int as an unsigned variable length integer, i.e., in groups of
+   * 7 bits starting with the least significant bits, the highest bit of each
+   * byte set if more bytes follow.  Increases offset by 1 to 5.
+   */
+  public void writeVarInt(int i)
+  {
+    while ((i & ~0x7F) != 0)
+      {
+        writeByte((i & 0x7F) | 0x80);
+        i = i >>> 7;
+      }
+    writeByte(i);
+  }
+
+
   /**
    * Write given bytes to this buffer and increase offset by a.length.
    */
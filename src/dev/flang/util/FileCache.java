@@ -0,0 +1,306 @@
+/*
+
+This file is part of the Fuzion language implementation.
+
+The Fuzion language implementation is free software: you can redistribute it
+and/or modify it under the terms of the GNU General Public License as published
+by the Free Software Foundation, version 3 of the License.
+
+The Fuzion language implementation is distributed in the hope that it will be
+useful, but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public
+License for more details.
+
+You should have received a copy of the GNU General Public License along with The
+Fuzion language implementation.  If not, see <https://www.gnu.org/licenses/>.
+
+*/
+
+/*-----------------------------------------------------------------------
+ *
+ * Tokiwa Software GmbH, Germany
+ *
+ * Source of class FileCache
+ *
+ *---------------------------------------------------------------------*/
+
+package dev.flang.util;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.function.Consumer;
+
+
+/**
+ * FileCache manages a directory of cached files whose names are derived from
+ * a hash of all the inputs used to create them.
+ *
+ * Entries are written atomically, i.e., they are first written to a temporary
+ * file in the cache directory that is then moved to its final name, such that
+ * concurrent processes never see partially written entries.
+ *
+ * The last modification time of an entry is updated whenever it is used.  If
+ * the total size of the cache exceeds its maximum size, the least recently
+ * used entries are deleted.
+ */
+public class FileCache extends ANY
+{
+
+
+  /*----------------------------  constants  ----------------------------*/
+
+
+  /**
+   * Suffix of temporary files used while writing entries.
+   */
+  private static final String TMP_SUFFIX = ".tmp";
+
+
+  /**
+   * Age in milliseconds after which a temporary file is considered to be left
+   * over by a process that was terminated while writing an entry.
+   */
+  private static final long TMP_MAX_AGE = 60L * 60L * 1000L;
+
+
+  /*----------------------------  variables  ----------------------------*/
+
+
+  /**
+   * The directory containing the cached files.
+   */
+  private final Path _dir;
+
+
+  /**
+   * The maximum total size of all cached files in bytes.
+   */
+  private final long _maxSize;
+
+
+  /*--------------------------  constructors  ---------------------------*/
+
+
+  /**
+   * Create a cache in the given directory.  The directory is created when the
+   * first entry is written.
+   *
+   * @param dir the cache directory
+   *
+   * @param maxSize the maximum total size of the cached files in bytes.
+   */
+  public FileCache(Path dir, long maxSize)
+  {
+    if (PRECONDITIONS) require
+      (dir != null,
+       maxSize >= 0);
+
+    _dir = dir;
+    _maxSize = maxSize;
+  }
+
+
+  /*-----------------------------  methods  -----------------------------*/
+
+
+  /**
+   * The cache directory.
+   */
+  public Path dir()
+  {
+    return _dir;
+  }
+
+
+  /**
+   * The path of the entry with the given name, whether or not it exists.
+   */
+  public Path path(String name)
+  {
+    return _dir.resolve(name);
+  }
+
+
+  /**
+   * Check if the entry with the given name exists and, if so, mark it as
+   * recently used.
+   *
+   * @param name the file name of the entry
+   *
+   * @return true iff the entry exists.
+   */
+  public boolean use(String name)
+  {
+    var p = path(name);
+    var result = Files.isRegularFile(p);
+    if (result)
+      {
+        try
+          {
+            Files.setLastModifiedTime(p, FileTime.fromMillis(System.currentTimeMillis()));
+          }
+        catch (IOException e)
+          {
+            // the entry might have been evicted concurrently, so it cannot be used
+            result = false;
+          }
+      }
+    return result;
+  }
+
+
+  /**
+   * Atomically create or replace the entry with the given name.
+   *
+   * @param name the file name of the entry
+   *
+   * @param writer code that writes the contents of the entry to the given
+   * temporary path.
+   */
+  public void write(String name, Consumer<Path> writer)
+  {
+    try
+      {
+        Files.createDirectories(_dir);
+        var tmp = Files.createTempFile(_dir, name, TMP_SUFFIX);
+        try
+          {
+            writer.accept(tmp);
+            Files.move(tmp, path(name), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+          }
+        finally
+          {
+            Files.deleteIfExists(tmp);
+          }
+      }
+    catch (IOException e)
+      {
+        Errors.fatal("I/O error when writing to cache directory",
+                     "While trying to write '" + path(name) + "' received '" + e + "'");
+      }
+  }
+
+
+  /**
+   * Atomically create or replace the entry with the given name with the given
+   * data.
+   *
+   * @param name the file name of the entry
+   *
+   * @param data the contents of the entry.
+   */
+  public void write(String name, byte[] data)
+  {
+    write(name, p ->
+      {
+        try
+          {
+            Files.write(p, data);
+          }
+        catch (IOException e)
+          {
+            Errors.fatal("I/O error when writing to cache directory",
+                         "While trying to write '" + p + "' received '" + e + "'");
+          }
+      });
+  }
+
+
+  /**
+   * Delete the least recently used entries until the total size of the cache
+   * does not exceed its maximum size.  Temporary files that were left over by
+   * processes that terminated while writing an entry are deleted as well.
+   *
+   * Errors are ignored since a concurrent process might be evicting the same
+   * entries.
+   *
+   * @param inUse the file names of entries that are currently used and must
+   * not be deleted, even if this means that the cache exceeds its maximum
+   * size.
+   */
+  public void evict(String... inUse)
+  {
+    var keep = Arrays.asList(inUse);
+    var now = System.currentTimeMillis();
+    try (var files = Files.list(_dir))
+      {
+        var entries = files
+          .filter(p -> Files.isRegularFile(p))
+          .map(p -> new Pair<>(p, lastModified(p)))
+          .sorted(Comparator.comparingLong(e -> e.v1()))
+          .toList();
+        var size = 0L;
+        for (var e : entries)
+          {
+            size = size + size(e.v0());
+          }
+        for (var i = 0; i < entries.size(); i++)
+          {
+            var p = entries.get(i).v0();
+            var n = p.getFileName().toString();
+            var tmp = n.endsWith(TMP_SUFFIX);
+            if (tmp  && now - entries.get(i).v1() > TMP_MAX_AGE ||
+                !tmp && size > _maxSize && !keep.contains(n))
+              {
+                var s = size(p);
+                try
+                  {
+                    if (Files.deleteIfExists(p))
+                      {
+                        size = size - s;
+                      }
+                  }
+                catch (IOException e)
+                  {
+                    // ignore, see above
+                  }
+              }
+          }
+      }
+    catch (IOException e)
+      {
+        // ignore, see above
+      }
+  }
+
+
+  /**
+   * Helper for evict to get the last modification time of p, 0 if not
+   * available.
+   */
+  private static long lastModified(Path p)
+  {
+    try
+      {
+        return Files.getLastModifiedTime(p).toMillis();
+      }
+    catch (IOException e)
+      {
+        return 0;
+      }
+  }
+
+
+  /**
+   * Helper for evict to get the size of p, 0 if not available.
+   */
+  private static long size(Path p)
+  {
+    try
+      {
+        return Files.size(p);
+      }
+    catch (IOException e)
+      {
+        return 0;
+      }
+  }
+
+}
+
+/* end of file */
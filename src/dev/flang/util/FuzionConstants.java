@@ -603,6 +603,12 @@ public class FuzionConstants extends ANY
   public static final int FUIR_FILE_MAGIC0 = 0xF710DEED;  // FuZIOn DEED, fuzion IR, .fuir
   public static final byte[] FUIR_FILE_MAGIC = int2Bytes(FUIR_FILE_MAGIC0);
 
+  /**
+   * Version of the .fuir file format, to be incremented on every incompatible
+   * change of the format written by dev.flang.fuir.FuirOut.
+   */
+  public static final int FUIR_FILE_VERSION = 2;
+
   public static final String NO_CLAZZ = "-- no clazz --";
 
 
@@ -74,16 +74,17 @@ public class Metrics extends ANY {
       }
   }
 
-  public static void dfaMetrics(long startTime, int preIter, int realIter, int calls, int values, String mainClazz)
+  public static void dfaMetrics(long startTime, int preIter, int realIter, int calls, int analyzedCalls, int values, String mainClazz)
   {
     var elapsedMillis = System.currentTimeMillis() - startTime;
     var data = String.format(
-      "dfa,main_name=%s elapsed_time=%s,pre_iter=%s,real_iter=%s,calls=%s,unique_values=%s",
+      "dfa,main_name=%s elapsed_time=%s,pre_iter=%s,real_iter=%s,calls=%s,analyzed_calls=%s,unique_values=%s",
       escape(mainClazz),
       elapsedMillis,
       preIter,
       realIter,
       calls,
+      analyzedCalls,
       values);
     postToInflux(data);
   }
@@ -35,6 +35,7 @@
 FUZION_OPTIONS ?=
 FUZION_JVM_BACKEND_OPTIONS ?=
 FUZION_C_BACKEND_OPTIONS ?=
+FUZION_INT_BACKEND_OPTIONS ?=
 FUZION_DEPENDENCIES ?=
 FUZION ?= ../../bin/fz
 FUZION_RUN = $(FUZION) $(FUZION_OPTIONS)
@@ -46,6 +47,7 @@ ENV = \
   $(if $(FUZION_OPTIONS)            , FUZION_OPTIONS="$(FUZION_OPTIONS)"                        ,) \
   $(if $(FUZION_JVM_BACKEND_OPTIONS), FUZION_JVM_BACKEND_OPTIONS="$(FUZION_JVM_BACKEND_OPTIONS)",) \
   $(if $(FUZION_C_BACKEND_OPTIONS)  , FUZION_C_BACKEND_OPTIONS="$(FUZION_C_BACKEND_OPTIONS)"    ,) \
+  $(if $(FUZION_INT_BACKEND_OPTIONS), FUZION_INT_BACKEND_OPTIONS="$(FUZION_INT_BACKEND_OPTIONS)",) \
   $(if $(FUZION_DEPENDENCIES)       , FUZION_OPTIONS="$(FUZION_DEPENDENCIES)"                   ,) \
 
 all: jvm int c